@@ -0,0 +1,89 @@
+package com.garbagemule.MobArena.formula;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares evaluation of the parsed formula trees with evaluation of the
+ * compiled postfix programs, using the macros shipped in formulas.yml.
+ * <p>
+ * The variables are registered as constant lambdas rather than going
+ * through a (mocked) arena, so the numbers only reflect the cost of the
+ * formulas themselves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormulaBenchmark {
+
+    @Param({
+        "global.wave-squared",
+        "global.wave-inverted",
+        "global.top-up",
+        "wave-growth.old",
+        "wave-growth.medium",
+        "swarm-amount.low",
+        "boss-health.medium",
+    })
+    public String macro;
+
+    private Formula tree;
+    private Formula compiled;
+
+    @Setup
+    public void setup() throws Exception {
+        Environment env = Environment.createDefault();
+        env.registerVariable("current-wave", a -> 11);
+        env.registerVariable("final-wave", a -> 13);
+        env.registerVariable("initial-players", a -> 7);
+        env.registerVariable("live-players", a -> 5);
+        env.registerVariable("dead-players", a -> 2);
+        env.registerVariable("min-players", a -> 3);
+        env.registerVariable("max-players", a -> 10);
+        env.registerVariable("live-monsters", a -> 9);
+
+        String source = lookup(macro);
+        Lexer lexer = new Lexer(env);
+        Parser parser = new Parser(env);
+
+        tree = parser.parse(source, lexer.tokenize(source));
+        compiled = new Compiler().compile(tree);
+    }
+
+    @Benchmark
+    public double tree() {
+        return tree.evaluate(null);
+    }
+
+    @Benchmark
+    public double compiled() {
+        return compiled.evaluate(null);
+    }
+
+    private static String lookup(String macro) throws Exception {
+        String[] parts = macro.split("\\.", 2);
+        try (InputStream in = FormulaBenchmark.class.getResourceAsStream("/formulas.yml")) {
+            Map<?, ?> sections = new Yaml().load(in);
+            Map<?, ?> section = (Map<?, ?>) sections.get(parts[0]);
+            return String.valueOf(section.get(parts[1]));
+        }
+    }
+
+}
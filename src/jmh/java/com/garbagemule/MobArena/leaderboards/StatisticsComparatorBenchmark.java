@@ -0,0 +1,95 @@
+package com.garbagemule.MobArena.leaderboards;
+
+import com.garbagemule.MobArena.ArenaPlayerStatistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.garbagemule.MobArena.StatisticsFixtures.stats;
+
+/**
+ * Sorting of player statistics with the built-in comparators, and the
+ * incremental leaderboard ranking that the leaderboards use instead of
+ * re-sorting on every update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatisticsComparatorBenchmark {
+
+    @Param({"8", "64"})
+    public int players;
+
+    private List<ArenaPlayerStatistics> stats;
+    private LeaderboardRanking ranking;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        random = new Random(1337);
+        stats = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            ArenaPlayerStatistics s = stats("player" + i);
+            for (int j = random.nextInt(20); j > 0; j--) {
+                s.inc(Stats.LAST_WAVE);
+            }
+            s.add(Stats.KILLS, random.nextInt(200));
+            s.add(Stats.DAMAGE_DONE, random.nextInt(5000));
+            stats.add(s);
+        }
+        ranking = new LeaderboardRanking(ArenaPlayerStatistics.waveComparator());
+        ranking.reset(stats);
+    }
+
+    @Benchmark
+    public List<ArenaPlayerStatistics> sortByKills() {
+        List<ArenaPlayerStatistics> copy = new ArrayList<>(stats);
+        copy.sort(ArenaPlayerStatistics.killComparator());
+        return copy;
+    }
+
+    @Benchmark
+    public List<ArenaPlayerStatistics> sortByWave() {
+        List<ArenaPlayerStatistics> copy = new ArrayList<>(stats);
+        copy.sort(ArenaPlayerStatistics.waveComparator());
+        return copy;
+    }
+
+    @Benchmark
+    public List<ArenaPlayerStatistics> sortByDamageDone() {
+        List<ArenaPlayerStatistics> copy = new ArrayList<>(stats);
+        copy.sort(ArenaPlayerStatistics.dmgDoneComparator());
+        return copy;
+    }
+
+    /**
+     * A typical leaderboard tick: one player got a kill since last time.
+     */
+    @Benchmark
+    public boolean rankingRefreshOneChanged() {
+        stats.get(random.nextInt(players)).inc(Stats.KILLS);
+        return ranking.refresh();
+    }
+
+    @Benchmark
+    public boolean rankingRefreshNoneChanged() {
+        return ranking.refresh();
+    }
+
+}
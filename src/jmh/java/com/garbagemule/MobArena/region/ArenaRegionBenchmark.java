@@ -0,0 +1,147 @@
+package com.garbagemule.MobArena.region;
+
+import com.garbagemule.MobArena.MobArena;
+import com.garbagemule.MobArena.framework.Arena;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Region containment checks, both for a single region and for finding
+ * the arena at a location among many arenas via the region index.
+ * <p>
+ * Worlds, arenas, and the plugin are stub-only Mockito mocks; locations
+ * and configuration sections are the real Bukkit classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArenaRegionBenchmark {
+
+    @Param({"1", "20", "80"})
+    public int arenas;
+
+    private ArenaRegion region;
+    private ArenaRegionIndex index;
+    private List<ArenaRegion> regions;
+
+    private Location inside;
+    private Location lobby;
+    private Location outside;
+    private Location otherWorld;
+
+    @Setup
+    public void setup() {
+        World world = world("world");
+        MobArena plugin = mock(MobArena.class, withSettings().stubOnly());
+
+        // One arena every 200 blocks along the x-axis
+        List<Arena> all = new ArrayList<>();
+        regions = new ArrayList<>();
+        for (int i = 0; i < arenas; i++) {
+            int x = i * 200;
+            Arena arena = mock(Arena.class, withSettings().stubOnly());
+            when(arena.getWorld()).thenReturn(world);
+            when(arena.getPlugin()).thenReturn(plugin);
+
+            MemoryConfiguration config = new MemoryConfiguration();
+            config.set("coords.p1", x + ",0,0");
+            config.set("coords.p2", (x + 100) + ",64,100");
+            config.set("coords.l1", (x + 110) + ",0,0");
+            config.set("coords.l2", (x + 130) + ",10,20");
+            ArenaRegion region = new ArenaRegion(config, arena);
+            when(arena.getRegion()).thenReturn(region);
+
+            all.add(arena);
+            regions.add(region);
+        }
+        region = regions.get(regions.size() - 1);
+
+        index = new ArenaRegionIndex();
+        index.refresh(all);
+
+        int last = (arenas - 1) * 200;
+        inside = new Location(world, last + 50, 32, 50);
+        lobby = new Location(world, last + 120, 5, 10);
+        outside = new Location(world, last + 50, 32, 5000);
+        otherWorld = new Location(world("world_nether"), last + 50, 32, 50);
+    }
+
+    @Benchmark
+    public boolean containsInside() {
+        return region.contains(inside);
+    }
+
+    @Benchmark
+    public boolean containsLobby() {
+        return region.contains(lobby);
+    }
+
+    @Benchmark
+    public boolean containsOutside() {
+        return region.contains(outside);
+    }
+
+    @Benchmark
+    public boolean containsOtherWorld() {
+        return region.contains(otherWorld);
+    }
+
+    @Benchmark
+    public boolean containsWithRadius() {
+        return region.contains(outside, 10);
+    }
+
+    @Benchmark
+    public void scanAllRegions(Blackhole bh) {
+        for (ArenaRegion r : regions) {
+            bh.consume(r.contains(inside));
+        }
+    }
+
+    @Benchmark
+    public void indexedLookup(Blackhole bh) {
+        for (Arena arena : index.getCandidates(inside)) {
+            bh.consume(arena.getRegion().contains(inside));
+        }
+    }
+
+    @Benchmark
+    public void indexedMiss(Blackhole bh) {
+        for (Arena arena : index.getCandidates(outside)) {
+            bh.consume(arena.getRegion().contains(outside));
+        }
+    }
+
+    private static World world(String name) {
+        World world = mock(World.class, withSettings().stubOnly());
+        when(world.getName()).thenReturn(name);
+        when(world.getUID()).thenReturn(UUID.nameUUIDFromBytes(name.getBytes()));
+        return world;
+    }
+
+}
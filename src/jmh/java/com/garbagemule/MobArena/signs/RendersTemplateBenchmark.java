@@ -0,0 +1,172 @@
+package com.garbagemule.MobArena.signs;
+
+import com.garbagemule.MobArena.framework.Arena;
+import com.garbagemule.MobArena.waves.WaveManager;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Rendering of arena sign templates with variables and player lists, for
+ * an arena in the lobby state and an arena in the running state, with the
+ * compiled renderer and the legacy regex and replace chain renderer. The
+ * batch benchmarks render a wall of signs for one arena, sharing a single
+ * render context like an arena update does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RendersTemplateBenchmark {
+
+    private static final int BATCH = 16;
+
+    private RendersTemplate subject;
+    private LegacyRendersTemplate legacy;
+    private Template status;
+    private Template players;
+    private Arena joining;
+    private Arena running;
+
+    @Setup
+    public void setup() {
+        subject = new RendersTemplate();
+        legacy = new LegacyRendersTemplate();
+
+        status = new Template.Builder("status")
+            .withBase(new String[]{
+                "&a<arena-name>",
+                "<live-players>/<max-players>",
+                "Wave: <current-wave>",
+                "Ready: <ready-players>",
+            })
+            .build();
+        players = new Template.Builder("players")
+            .withBase(new String[]{
+                "<lobby-1>",
+                "<lobby-2>",
+                "<lobby-3>",
+                "<lobby-4>",
+            })
+            .withRunning(new String[]{
+                "<arena-1>",
+                "<arena-2>",
+                "<arena-3>",
+                "<arena-4>",
+            })
+            .build();
+
+        Set<Player> all = players(12);
+        Set<Player> ready = players(6);
+
+        WaveManager waves = mock(WaveManager.class, withSettings().stubOnly());
+        when(waves.getWaveNumber()).thenReturn(7);
+        when(waves.getFinalWave()).thenReturn(20);
+
+        joining = arena(false, all, ready, waves);
+        running = arena(true, all, ready, waves);
+    }
+
+    @Benchmark
+    public String[] statusJoining() {
+        return subject.render(status, joining);
+    }
+
+    @Benchmark
+    public String[] statusRunning() {
+        return subject.render(status, running);
+    }
+
+    @Benchmark
+    public String[] playersJoining() {
+        return subject.render(players, joining);
+    }
+
+    @Benchmark
+    public String[] playersRunning() {
+        return subject.render(players, running);
+    }
+
+    @Benchmark
+    public String[] legacyStatusJoining() {
+        return legacy.render(status, joining);
+    }
+
+    @Benchmark
+    public String[] legacyStatusRunning() {
+        return legacy.render(status, running);
+    }
+
+    @Benchmark
+    public String[] legacyPlayersJoining() {
+        return legacy.render(players, joining);
+    }
+
+    @Benchmark
+    public String[] legacyPlayersRunning() {
+        return legacy.render(players, running);
+    }
+
+    @Benchmark
+    public void batchRunning(Blackhole bh) {
+        RenderContext context = new RenderContext(running);
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(subject.render(status, context));
+            bh.consume(subject.render(players, context));
+        }
+    }
+
+    @Benchmark
+    public void legacyBatchRunning(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(legacy.render(status, running));
+            bh.consume(legacy.render(players, running));
+        }
+    }
+
+    private static Arena arena(boolean isRunning, Set<Player> all, Set<Player> ready, WaveManager waves) {
+        Arena arena = mock(Arena.class, withSettings().stubOnly());
+        when(arena.configName()).thenReturn("castle");
+        when(arena.getMinPlayers()).thenReturn(2);
+        when(arena.getMaxPlayers()).thenReturn(16);
+        when(arena.isRunning()).thenReturn(isRunning);
+        when(arena.getPlayerCount()).thenReturn(all.size());
+        when(arena.getPlayersInArena()).thenReturn(all);
+        when(arena.getPlayersInLobby()).thenReturn(all);
+        when(arena.getReadyPlayersInLobby()).thenReturn(ready);
+        when(arena.getNonreadyPlayers()).thenReturn(new ArrayList<>(ready));
+        when(arena.getWaveManager()).thenReturn(waves);
+        return arena;
+    }
+
+    private static Set<Player> players(int count) {
+        Set<Player> result = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            Player player = mock(Player.class, withSettings().stubOnly());
+            when(player.getName()).thenReturn("player" + i);
+            result.add(player);
+        }
+        return result;
+    }
+
+}
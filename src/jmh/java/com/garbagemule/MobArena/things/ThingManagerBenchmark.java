@@ -0,0 +1,78 @@
+package com.garbagemule.MobArena.things;
+
+import com.garbagemule.MobArena.MobArena;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Parsing of long, comma-separated thing lists, the way class items and
+ * upgrade waves are parsed from the config-file.
+ * <p>
+ * Items go through every core parser before reaching the item parser,
+ * so the mix leans heavily towards items, with a few commands and
+ * permissions thrown in.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ThingManagerBenchmark {
+
+    private static final String[] SAMPLES = {
+        "diamond_sword",
+        "iron_chestplate",
+        "bow",
+        "arrow:64",
+        "cooked_beef:8",
+        "golden_apple:2",
+        "stone_axe",
+        "cmd:/say hello",
+        "perm:mobarena.use.join",
+        "shield",
+    };
+
+    @Param({"10", "100"})
+    public int length;
+
+    private ThingManager subject;
+    private String input;
+
+    @Setup
+    public void setup() {
+        subject = new ThingManager(mock(MobArena.class, withSettings().stubOnly()));
+
+        List<String> things = new ArrayList<>();
+        for (int i = 0; i < length; i++) {
+            things.add(SAMPLES[i % SAMPLES.length]);
+        }
+        input = String.join(", ", things);
+    }
+
+    @Benchmark
+    public List<Thing> parseList() {
+        List<Thing> result = new ArrayList<>();
+        for (String value : input.split(",")) {
+            result.add(subject.parse(value.trim()));
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.garbagemule.MobArena.waves;
+
+import com.garbagemule.MobArena.MobArena;
+import com.garbagemule.MobArena.formula.FormulaMacros;
+import com.garbagemule.MobArena.formula.FormulaManager;
+import com.garbagemule.MobArena.framework.Arena;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Wave selection on large generated wave configs.
+ * <p>
+ * The recurrent waves get frequencies 1 through N and the single waves
+ * are placed on every other wave number, so most wave numbers match a
+ * handful of recurrent waves and a good chunk also hit a single wave.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WaveManagerBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int waves;
+
+    private WaveManager subject;
+
+    @Setup
+    public void setup() {
+        MobArena plugin = mock(MobArena.class, withSettings().stubOnly());
+        when(plugin.getFormulaManager()).thenReturn(FormulaManager.createDefault());
+        when(plugin.getFormulaMacros()).thenReturn(mock(FormulaMacros.class, withSettings().stubOnly()));
+        when(plugin.getLogger()).thenReturn(Logger.getLogger("WaveManagerBenchmark"));
+
+        Arena arena = mock(Arena.class, withSettings().stubOnly());
+        when(arena.getPlugin()).thenReturn(plugin);
+        when(arena.configName()).thenReturn("benchmark");
+
+        MemoryConfiguration config = new MemoryConfiguration();
+        config.set("settings.final-wave", 0);
+        ConfigurationSection section = config.createSection("waves");
+        for (int i = 1; i <= waves; i++) {
+            ConfigurationSection wave = section.createSection("recurrent.r" + i);
+            wave.set("type", "default");
+            wave.set("priority", i);
+            wave.set("frequency", i);
+            wave.set("wave", i);
+            wave.set("growth", "<initial-players> + <current-wave> * " + i);
+            wave.set("monsters.zombie", 10);
+            wave.set("monsters.skeleton", 5);
+        }
+        for (int i = 1; i <= waves; i++) {
+            ConfigurationSection wave = section.createSection("single.s" + i);
+            wave.set("type", "default");
+            wave.set("wave", i * 2);
+            wave.set("monsters.spider", 10);
+        }
+
+        subject = new WaveManager(arena, section);
+    }
+
+    /**
+     * Start every measurement iteration from wave 0, such that the single
+     * waves are back in play.
+     */
+    @Setup(Level.Iteration)
+    public void reset() {
+        subject.reset();
+    }
+
+    @Benchmark
+    public Wave next() {
+        return subject.next();
+    }
+
+    @Benchmark
+    public Wave getNext() {
+        return subject.getNext();
+    }
+
+    @Benchmark
+    public WaveManager resetSession() {
+        subject.reset();
+        return subject;
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.garbagemule.MobArena;
+
+import com.garbagemule.MobArena.framework.Arena;
+import org.bukkit.entity.Entity;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Global reverse lookup from entities to the arena that owns them.
+ * <p>
+ * Every monster, boss, pet, mount and golem that a {@link MonsterManager}
+ * keeps track of is registered here, which allows the global listener to
+ * route entity events straight to the owning arena, and to throw away
+ * events for entities that have nothing to do with MobArena in a single
+ * hash lookup.
+ * <p>
+ * The index is maintained by the monster managers; it should not be
+ * modified directly by anything else.
+ */
+public class ArenaEntityIndex
+{
+    private final Map<UUID, Arena> owners;
+
+    public ArenaEntityIndex() {
+        this.owners = new HashMap<>();
+    }
+
+    /**
+     * Get the arena that owns the given entity.
+     *
+     * @param entity an entity, may be null
+     * @return the owning arena, or null if the entity isn't an arena entity
+     */
+    public Arena get(Entity entity) {
+        if (entity == null || owners.isEmpty()) {
+            return null;
+        }
+        return owners.get(entity.getUniqueId());
+    }
+
+    void put(Entity entity, Arena arena) {
+        owners.put(entity.getUniqueId(), arena);
+    }
+
+    void remove(Entity entity, Arena arena) {
+        owners.remove(entity.getUniqueId(), arena);
+    }
+
+    void removeAll(Arena arena) {
+        owners.values().removeIf(owner -> owner == arena);
+    }
+}
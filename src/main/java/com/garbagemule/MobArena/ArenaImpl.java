@@ -19,9 +19,13 @@ import com.garbagemule.MobArena.events.ArenaStartEvent;
 import com.garbagemule.MobArena.framework.Arena;
 import com.garbagemule.MobArena.leaderboards.Leaderboard;
 import com.garbagemule.MobArena.region.ArenaRegion;
+import com.garbagemule.MobArena.region.RegionSnapshot;
+import com.garbagemule.MobArena.repairable.BlockJournal;
+import com.garbagemule.MobArena.repairable.BlockKeySet;
 import com.garbagemule.MobArena.repairable.Repairable;
 import com.garbagemule.MobArena.repairable.RepairableComparator;
 import com.garbagemule.MobArena.repairable.RepairableContainer;
+import com.garbagemule.MobArena.repairable.RestoreScheduler;
 import com.garbagemule.MobArena.things.InvalidThingInputString;
 import com.garbagemule.MobArena.things.Thing;
 import com.garbagemule.MobArena.things.ThingPicker;
@@ -115,11 +119,14 @@ public class ArenaImpl implements Arena
 
     // Blocks and pets
     private PriorityBlockingQueue<Repairable> repairQueue;
-    private Set<Block>             blocks;
+    private BlockKeySet            blocks;
+    private BlockJournal           journal;
     private LinkedList<Repairable> repairables, containables;
+    private RestoreScheduler restoreScheduler;
 
     // Monster stuff
     private MonsterManager monsterManager;
+    private PlayerPositions playerPositions;
 
     // Wave stuff
     private WaveManager   waveManager;
@@ -198,12 +205,19 @@ public class ArenaImpl implements Arena
 
         // Blocks and pets
         this.repairQueue  = new PriorityBlockingQueue<>(100, new RepairableComparator());
-        this.blocks       = new HashSet<>();
+        this.blocks       = new BlockKeySet();
+        this.journal      = new BlockJournal();
         this.repairables  = new LinkedList<>();
         this.containables = new LinkedList<>();
+        this.restoreScheduler = new RestoreScheduler(plugin);
+        this.restoreScheduler.setLimits(
+            settings.getInt("restores-per-tick", 0),
+            settings.getDouble("restore-tick-budget-ms", 0)
+        );
 
         // Monster stuff
-        this.monsterManager = new MonsterManager();
+        this.monsterManager = new MonsterManager(this, plugin.getArenaMaster().getEntityIndex());
+        this.playerPositions = new PlayerPositions(this);
 
         // Wave stuff
         this.waveManager  = new WaveManager(this, section.getConfigurationSection("waves"));
@@ -399,17 +413,24 @@ public class ArenaImpl implements Arena
 
     @Override
     public Set<Block> getBlocks() {
-        return blocks;
+        Set<Block> result = new HashSet<>();
+        blocks.forEach(key -> result.add(world.getBlockAt(BlockKeySet.keyX(key), BlockKeySet.keyY(key), BlockKeySet.keyZ(key))));
+        return result;
+    }
+
+    @Override
+    public boolean hasBlock(Block b) {
+        return blocks.contains(BlockKeySet.key(b));
     }
 
     @Override
     public void addBlock(Block b) {
-        blocks.add(b);
+        blocks.add(BlockKeySet.key(b));
     }
 
     @Override
     public boolean removeBlock(Block b) {
-        return blocks.remove(b);
+        return blocks.remove(BlockKeySet.key(b));
     }
 
     @Override
@@ -442,6 +463,11 @@ public class ArenaImpl implements Arena
         return monsterManager;
     }
 
+    @Override
+    public PlayerPositions getPlayerPositions() {
+        return playerPositions;
+    }
+
     @Override
     public ClassLimitManager getClassLimitManager() {
         return limitManager;
@@ -500,6 +526,12 @@ public class ArenaImpl implements Arena
             return false;
         }
 
+        // Make sure the inventory backups are on disk before the fun begins
+        if (!plugin.getInventoryJournal().flush()) {
+            plugin.getLogger().severe("Not starting arena " + configName() + " because the inventory backups could not be saved.");
+            return false;
+        }
+
         // Stop the auto-start-timer regardless
         autoStartTimer.stop();
 
@@ -513,8 +545,14 @@ public class ArenaImpl implements Arena
         // Store all chest contents.
         storeContainerContents();
 
+        // Make sure the region snapshot is ready by the end of the session
+        if (settings.getBoolean("snapshot-restore", false)) {
+            region.loadSnapshot();
+        }
+
         // Populate arenaPlayers and clear the lobby.
         arenaPlayers.addAll(lobbyPlayers);
+        playerPositions.invalidate();
         lobbyPlayers.clear();
         readyPlayers.clear();
 
@@ -637,6 +675,9 @@ public class ArenaImpl implements Arena
         if (settings.getBoolean("soft-restore", false)) {
             restoreRegion();
         }
+        if (settings.getBoolean("snapshot-restore", false)) {
+            resetRegion();
+        }
 
         // Restore chests
         restoreContainerContents();
@@ -810,6 +851,7 @@ public class ArenaImpl implements Arena
 
         // Clear inventory if player is an arena player, and unmount
         if (arenaPlayers.contains(p)) {
+            recordStats(p);
             unmount(p);
             clearInv(p);
         }
@@ -866,6 +908,8 @@ public class ArenaImpl implements Arena
 
         // Clear the player's inventory, and unmount
         if (arenaPlayers.remove(p)) {
+            playerPositions.invalidate();
+            recordStats(p);
             unmount(p);
             clearInv(p);
         }
@@ -874,6 +918,14 @@ public class ArenaImpl implements Arena
         endArena();
     }
 
+    private void recordStats(Player p) {
+        ArenaPlayer ap = arenaPlayerMap.get(p);
+        if (!running || ap == null || ap.getStats() == null) {
+            return;
+        }
+        plugin.getStatsStore().record(this, p, ap.getStats());
+    }
+
     private void clearInv(Player p) {
         InventoryView view = p.getOpenInventory();
         if (view != null) {
@@ -1101,9 +1153,14 @@ public class ArenaImpl implements Arena
     @Override
     public void restoreContainerContents()
     {
-        for (Repairable r : containables) {
-            r.repair();
+        if (containables.isEmpty()) {
+            return;
         }
+
+        // As a batch, so the contents go back after any region reset
+        List<Repairable> contents = new ArrayList<>(containables);
+        restoreScheduler.addBatches(Collections.singletonList(contents).iterator());
+        containables.clear();
     }
 
     @Override
@@ -1133,6 +1190,7 @@ public class ArenaImpl implements Arena
         arenaPlayers.remove(p);
         lobbyPlayers.remove(p);
         arenaPlayerMap.remove(p);
+        playerPositions.invalidate();
 
         scoreboard.removePlayer(p);
 
@@ -1142,8 +1200,9 @@ public class ArenaImpl implements Arena
     @Override
     public void repairBlocks()
     {
-        while (!repairQueue.isEmpty())
-            repairQueue.poll().repair();
+        List<Repairable> drained = new ArrayList<>(repairQueue.size());
+        repairQueue.drainTo(drained);
+        restoreScheduler.add(drained);
     }
 
     @Override
@@ -1152,6 +1211,11 @@ public class ArenaImpl implements Arena
         repairQueue.add(r);
     }
 
+    @Override
+    public BlockJournal getBlockJournal() {
+        return journal;
+    }
+
 
 
     /*////////////////////////////////////////////////////////////////////
@@ -1374,9 +1438,7 @@ public class ArenaImpl implements Arena
     }
 
     private void removeBlocks() {
-        for (Block b : blocks) {
-            b.setType(Material.AIR);
-        }
+        blocks.forEach(key -> world.getBlockAt(BlockKeySet.keyX(key), BlockKeySet.keyY(key), BlockKeySet.keyZ(key)).setType(Material.AIR));
         blocks.clear();
     }
 
@@ -1404,6 +1466,7 @@ public class ArenaImpl implements Arena
 
     private void clearPlayers() {
         arenaPlayers.clear();
+        playerPositions.invalidate();
         arenaPlayerMap.clear();
         lobbyPlayers.clear();
         readyPlayers.clear();
@@ -1420,10 +1483,41 @@ public class ArenaImpl implements Arena
     @Override
     public void restoreRegion()
     {
-        Collections.sort(repairables, new RepairableComparator());
+        restoreScheduler.add(journal.drain(world));
+        restoreScheduler.add(repairables);
+        repairables.clear();
+    }
+
+    private void resetRegion()
+    {
+        // Keep players out until the diff is queued up
+        restoreScheduler.hold();
+        region.withSnapshot(snapshot -> {
+            restoreScheduler.release();
+            resetRegion(snapshot);
+        });
+    }
 
-        for (Repairable r : repairables)
-            r.repair();
+    private void resetRegion(RegionSnapshot snapshot)
+    {
+        if (snapshot == null) {
+            plugin.getLogger().warning("Arena " + configName() + " has snapshot-restore enabled, but no region snapshot. Use /ma snapshot " + configName() + " to take one.");
+            return;
+        }
+        if (running) {
+            plugin.getLogger().warning("Arena " + configName() + " started again before its region snapshot was loaded, so the region was not reset.");
+            return;
+        }
+        if (!snapshot.getWorldName().equals(world.getName())) {
+            plugin.getLogger().warning("The region snapshot of arena " + configName() + " is of a different world. Take a new one with /ma snapshot " + configName() + ".");
+            return;
+        }
+        restoreScheduler.addBatches(snapshot.diff(world));
+    }
+
+    @Override
+    public RestoreScheduler getRestoreScheduler() {
+        return restoreScheduler;
     }
 
 
@@ -1588,6 +1682,8 @@ public class ArenaImpl implements Arena
             messenger.tell(p, Msg.JOIN_ALREADY_PLAYING);
         else if (running)
             messenger.tell(p, Msg.JOIN_ARENA_IS_RUNNING);
+        else if (restoreScheduler.isRestoring())
+            messenger.tell(p, Msg.JOIN_ARENA_IS_RESTORING);
         else if (!hasPermission(p))
             messenger.tell(p, Msg.JOIN_ARENA_PERMISSION);
         else if (getMaxPlayers() > 0 && lobbyPlayers.size() >= getMaxPlayers())
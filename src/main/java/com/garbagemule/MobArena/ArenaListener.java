@@ -3,9 +3,11 @@ package com.garbagemule.MobArena;
 import com.garbagemule.MobArena.events.ArenaKillEvent;
 import com.garbagemule.MobArena.framework.Arena;
 import com.garbagemule.MobArena.leaderboards.Leaderboard;
+import com.garbagemule.MobArena.leaderboards.Stats;
 import com.garbagemule.MobArena.listeners.MAGlobalListener.TeleportResponse;
 import com.garbagemule.MobArena.region.ArenaRegion;
 import com.garbagemule.MobArena.region.RegionPoint;
+import com.garbagemule.MobArena.repairable.BlockJournal;
 import com.garbagemule.MobArena.repairable.Repairable;
 import com.garbagemule.MobArena.repairable.RepairableAttachable;
 import com.garbagemule.MobArena.repairable.RepairableBed;
@@ -26,6 +28,8 @@ import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.block.BlockState;
 import org.bukkit.block.Sign;
+import org.bukkit.block.data.Bisected;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.AbstractHorse;
 import org.bukkit.entity.AnimalTamer;
@@ -99,7 +103,6 @@ import org.bukkit.projectiles.ProjectileSource;
 
 import java.util.EnumSet;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
@@ -234,19 +237,7 @@ public class ArenaListener
             return true;
 
         if (softRestore) {
-            BlockState state = b.getState();
-            Repairable r = null;
-
-            if (state instanceof InventoryHolder)
-                r = new RepairableContainer(state);
-            else if (state instanceof Sign)
-                r = new RepairableSign(state);
-            else if (state.getData() instanceof Attachable)
-                r = new RepairableAttachable(state);
-            else
-                r = new RepairableBlock(state);
-
-            arena.addRepairable(r);
+            journal(b);
 
             if (!softRestoreDrops)
                 b.setType(Material.AIR);
@@ -467,8 +458,7 @@ public class ArenaListener
 
         // If the arena isn't destructible, just clear the blocklist.
         if (!softRestore && protect) {
-            List<Block> blocks = new LinkedList<>(arena.getBlocks());
-            event.blockList().retainAll(blocks);
+            event.blockList().removeIf(b -> !arena.hasBlock(b));
             return;
         }
 
@@ -477,43 +467,69 @@ public class ArenaListener
 
         // Handle all the blocks in the block list.
         for (Block b : event.blockList()) {
-            BlockState state = b.getState();
-
-            if (state.getData() instanceof Door && ((Door) state.getData()).isTopHalf()) {
-                state = b.getRelative(BlockFace.DOWN).getState();
-            }
-            else if (state.getData() instanceof Bed && ((Bed) state.getData()).isHeadOfBed()) {
-                state = b.getRelative(((Bed) state.getData()).getFacing().getOppositeFace()).getState();
-            }
-
-            // Create a Repairable from the block.
-            Repairable r = null;
-            if (state instanceof InventoryHolder)
-                r = new RepairableContainer(state);
-            else if (state instanceof Sign)
-                r = new RepairableSign(state);
-            else if (state.getData() instanceof Bed)
-                r = new RepairableBed(state);
-            else if (state.getData() instanceof Door)
-                r = new RepairableDoor(state);
-            else if (state.getData() instanceof Attachable || state.getData() instanceof Redstone)
-                r = new RepairableAttachable(state);
-            else
-                r = new RepairableBlock(state);
-
             // Cakes and liquids should just get removed. If player-placed block, drop as item.
-            Material mat = state.getType();
+            Material mat = b.getType();
             if (mat == Material.CAKE || mat == Material.WATER || mat == Material.LAVA)
                 arena.removeBlock(b);
             else if (arena.removeBlock(b))
-                arena.getWorld().dropItemNaturally(b.getLocation(), new ItemStack(state.getType(), 1));
+                arena.getWorld().dropItemNaturally(b.getLocation(), new ItemStack(mat, 1));
             else if (softRestore)
-                arena.addRepairable(r);
+                journal(b);
             else
-                arena.queueRepairable(r);
+                arena.queueRepairable(createRepairable(b));
         }
     }
 
+    /**
+     * Record the original state of a block about to be destroyed in the
+     * block journal, along with the other half of doors and beds.
+     * Containers are emptied so their contents don't drop.
+     */
+    private void journal(Block b) {
+        BlockJournal journal = arena.getBlockJournal();
+        BlockState state = b.getState();
+        journal.record(state);
+
+        BlockData data = state.getBlockData();
+        if (data instanceof org.bukkit.block.data.type.Door) {
+            org.bukkit.block.data.type.Door door = (org.bukkit.block.data.type.Door) data;
+            BlockFace face = (door.getHalf() == Bisected.Half.TOP) ? BlockFace.DOWN : BlockFace.UP;
+            journal.record(b.getRelative(face).getState());
+        } else if (data instanceof org.bukkit.block.data.type.Bed) {
+            org.bukkit.block.data.type.Bed bed = (org.bukkit.block.data.type.Bed) data;
+            BlockFace face = (bed.getPart() == org.bukkit.block.data.type.Bed.Part.HEAD) ? bed.getFacing().getOppositeFace() : bed.getFacing();
+            journal.record(b.getRelative(face).getState());
+        }
+
+        if (state instanceof InventoryHolder) {
+            ((InventoryHolder) state).getInventory().clear();
+        }
+    }
+
+    private Repairable createRepairable(Block b) {
+        BlockState state = b.getState();
+
+        if (state.getData() instanceof Door && ((Door) state.getData()).isTopHalf()) {
+            state = b.getRelative(BlockFace.DOWN).getState();
+        }
+        else if (state.getData() instanceof Bed && ((Bed) state.getData()).isHeadOfBed()) {
+            state = b.getRelative(((Bed) state.getData()).getFacing().getOppositeFace()).getState();
+        }
+
+        if (state instanceof InventoryHolder)
+            return new RepairableContainer(state);
+        else if (state instanceof Sign)
+            return new RepairableSign(state);
+        else if (state.getData() instanceof Bed)
+            return new RepairableBed(state);
+        else if (state.getData() instanceof Door)
+            return new RepairableDoor(state);
+        else if (state.getData() instanceof Attachable || state.getData() instanceof Redstone)
+            return new RepairableAttachable(state);
+        else
+            return new RepairableBlock(state);
+    }
+
     /******************************************************
      *
      *                  DEATH LISTENERS
@@ -606,7 +622,7 @@ public class ArenaListener
             if (ap != null) {
                 ArenaPlayerStatistics stats = ap.getStats();
                 if (stats != null) {
-                    ap.getStats().inc("kills");
+                    ap.getStats().inc(Stats.KILLS);
                     arena.getScoreboard().addKill(p);
                 }
                 MABoss boss = monsters.getBoss(damagee);
@@ -738,7 +754,7 @@ public class ArenaListener
                 return;
             }
             event.setCancelled(false);
-            arena.getArenaPlayer(player).getStats().add("dmgTaken", event.getDamage());
+            arena.getArenaPlayer(player).getStats().add(Stats.DAMAGE_TAKEN, event.getDamage());
 
             // Redirect pet aggro (but not at players)
             if (damager instanceof LivingEntity && !(damager instanceof Player)) {
@@ -788,14 +804,14 @@ public class ArenaListener
             }
 
             ArenaPlayerStatistics aps = arena.getArenaPlayer(p).getStats();
-            aps.add("dmgDone", event.getDamage());
-            aps.inc("hits");
+            aps.add(Stats.DAMAGE_DONE, event.getDamage());
+            aps.inc(Stats.HITS);
         }
         else if (arena.hasPet(damager)) {
             Player owner = arena.getMonsterManager().getOwner(damager);
             if (owner != null) {
                 ArenaPlayerStatistics aps = arena.getArenaPlayer(owner).getStats();
-                aps.add("dmgDone", event.getDamage());
+                aps.add(Stats.DAMAGE_DONE, event.getDamage());
             }
         }
         else if (monsters.getMonsters().contains(damager)) {
@@ -993,7 +1009,7 @@ public class ArenaListener
         if (!arena.isRunning() || !arena.inArena(event.getPlayer()))
             return;
 
-        arena.getArenaPlayer(event.getPlayer()).getStats().inc("swings");
+        arena.getArenaPlayer(event.getPlayer()).getStats().inc(Stats.SWINGS);
     }
 
     public void onPlayerDropItem(PlayerDropItemEvent event) {
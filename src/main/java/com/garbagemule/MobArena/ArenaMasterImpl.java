@@ -5,6 +5,7 @@ import static com.garbagemule.MobArena.util.config.ConfigUtils.parseLocation;
 
 import com.garbagemule.MobArena.framework.Arena;
 import com.garbagemule.MobArena.framework.ArenaMaster;
+import com.garbagemule.MobArena.region.ArenaRegionIndex;
 import com.garbagemule.MobArena.things.InvalidThingInputString;
 import com.garbagemule.MobArena.things.Thing;
 import com.garbagemule.MobArena.util.JoinInterruptTimer;
@@ -36,7 +37,9 @@ public class ArenaMasterImpl implements ArenaMaster
     private MobArena plugin;
 
     private List<Arena> arenas;
-    private Map<Player, Arena> arenaMap;
+    private ArenaPlayerIndex playerIndex;
+    private ArenaRegionIndex regionIndex;
+    private ArenaEntityIndex entityIndex;
 
     private Map<String, ArenaClass> classes;
 
@@ -54,7 +57,9 @@ public class ArenaMasterImpl implements ArenaMaster
         this.plugin = plugin;
 
         this.arenas = new ArrayList<>();
-        this.arenaMap = new HashMap<>();
+        this.playerIndex = new ArenaPlayerIndex();
+        this.regionIndex = new ArenaRegionIndex();
+        this.entityIndex = new ArenaEntityIndex();
 
         this.classes = new HashMap<>();
 
@@ -106,15 +111,15 @@ public class ArenaMasterImpl implements ArenaMaster
     }
 
     public void addPlayer(Player p, Arena arena) {
-        arenaMap.put(p, arena);
+        playerIndex.put(p, arena);
     }
 
     public Arena removePlayer(Player p) {
-        return arenaMap.remove(p);
+        return playerIndex.remove(p);
     }
 
     public void resetArenaMap() {
-        arenaMap.clear();
+        playerIndex.clear();
     }
 
     public boolean isAllowed(String command) {
@@ -160,12 +165,21 @@ public class ArenaMasterImpl implements ArenaMaster
     }
 
     public Arena getArenaAtLocation(Location loc) {
-        for (Arena arena : arenas)
+        for (Arena arena : getArenasNearLocation(loc))
             if (arena.getRegion().contains(loc))
                 return arena;
         return null;
     }
 
+    public List<Arena> getArenasNearLocation(Location loc) {
+        regionIndex.refresh(arenas);
+        return regionIndex.getCandidates(loc);
+    }
+
+    public ArenaRegionIndex getRegionIndex() {
+        return regionIndex;
+    }
+
     public List<Arena> getArenasInWorld(World world) {
         List<Arena> result = new ArrayList<>(arenas.size());
         for (Arena arena : arenas)
@@ -199,11 +213,11 @@ public class ArenaMasterImpl implements ArenaMaster
     }
 
     public Arena getArenaWithPlayer(Player p) {
-        return arenaMap.get(p);
+        return playerIndex.get(p);
     }
 
     public Arena getArenaWithPlayer(String playerName) {
-        return arenaMap.get(plugin.getServer().getPlayer(playerName));
+        return playerIndex.get(plugin.getServer().getPlayer(playerName));
     }
 
     public Arena getArenaWithSpectator(Player p) {
@@ -215,19 +229,31 @@ public class ArenaMasterImpl implements ArenaMaster
     }
 
     public Arena getArenaWithMonster(Entity e) {
-        for (Arena arena : arenas)
-            if (arena.getMonsterManager().getMonsters().contains(e))
-                return arena;
+        Arena arena = entityIndex.get(e);
+        if (arena != null && arena.getMonsterManager().getMonsters().contains(e))
+            return arena;
         return null;
     }
 
     public Arena getArenaWithPet(Entity e) {
-        for (Arena arena : arenas)
-            if (arena.hasPet(e))
-                return arena;
+        Arena arena = entityIndex.get(e);
+        if (arena != null && arena.hasPet(e))
+            return arena;
         return null;
     }
 
+    public Arena getArenaWithEntity(Entity e) {
+        return entityIndex.get(e);
+    }
+
+    public ArenaEntityIndex getEntityIndex() {
+        return entityIndex;
+    }
+
+    public ArenaPlayerIndex getPlayerIndex() {
+        return playerIndex;
+    }
+
     public Arena getArenaWithName(String configName) {
         return getArenaWithName(this.arenas, configName);
     }
@@ -525,6 +551,7 @@ public class ArenaMasterImpl implements ArenaMaster
         }
 
         arenas = new ArrayList<>();
+        regionIndex.invalidate();
         for (World w : Bukkit.getServer().getWorlds()) {
             loadArenasInWorld(w.getName());
         }
@@ -588,6 +615,7 @@ public class ArenaMasterImpl implements ArenaMaster
 
             arena.forceEnd();
             arenas.remove(arena);
+            regionIndex.invalidate();
         }
     }
 
@@ -615,6 +643,7 @@ public class ArenaMasterImpl implements ArenaMaster
 
         Arena arena = new ArenaImpl(plugin, section, arenaname, world);
         arenas.add(arena);
+        regionIndex.invalidate();
         plugin.getLogger().info("Loaded arena '" + arenaname + "'");
         return arena;
     }
@@ -626,6 +655,7 @@ public class ArenaMasterImpl implements ArenaMaster
 
         arena.forceEnd();
         arenas.remove(arena);
+        regionIndex.invalidate();
 
         plugin.reloadConfig();
 
@@ -661,6 +691,7 @@ public class ArenaMasterImpl implements ArenaMaster
 
     public void removeArenaNode(Arena arena) {
         arenas.remove(arena);
+        regionIndex.invalidate();
 
         FileConfiguration config = plugin.getConfig();
         config.set("arenas." + arena.configName(), null);
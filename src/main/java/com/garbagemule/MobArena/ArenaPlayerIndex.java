@@ -0,0 +1,102 @@
+package com.garbagemule.MobArena;
+
+import com.garbagemule.MobArena.framework.Arena;
+import org.bukkit.entity.Player;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global lookup from players to the arena they are in, and from arenas to
+ * the players in them.
+ * <p>
+ * Unlike most of the plugin, the index is safe to read from any thread,
+ * e.g. from async chat listeners. Writes only happen on the main thread
+ * when players join or leave an arena. Every write publishes a fresh,
+ * immutable member set for the affected arena, so readers never see a
+ * set change under them and never need a lock.
+ * <p>
+ * The index is maintained by the arena master; it should not be modified
+ * directly by anything else.
+ */
+public class ArenaPlayerIndex
+{
+    private final Map<UUID, Arena> arenas;
+    private final Map<Arena, Set<Player>> members;
+
+    public ArenaPlayerIndex() {
+        this.arenas  = new ConcurrentHashMap<>();
+        this.members = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get the arena the given player is in.
+     *
+     * @param player a player, may be null
+     * @return the arena, or null if the player isn't in an arena
+     */
+    public Arena get(Player player) {
+        if (player == null) {
+            return null;
+        }
+        return arenas.get(player.getUniqueId());
+    }
+
+    /**
+     * Get the arena the player with the given UUID is in.
+     *
+     * @param playerId a player UUID
+     * @return the arena, or null if the player isn't in an arena
+     */
+    public Arena get(UUID playerId) {
+        return arenas.get(playerId);
+    }
+
+    /**
+     * Get all the players in the given arena, i.e. lobby players, arena
+     * players and spectators.
+     *
+     * @param arena an arena
+     * @return an immutable snapshot of the players in the arena
+     */
+    public Set<Player> getMembers(Arena arena) {
+        return members.getOrDefault(arena, Collections.emptySet());
+    }
+
+    void put(Player player, Arena arena) {
+        Arena previous = arenas.put(player.getUniqueId(), arena);
+        if (previous != null && previous != arena) {
+            publish(previous, player, false);
+        }
+        publish(arena, player, true);
+    }
+
+    Arena remove(Player player) {
+        Arena previous = arenas.remove(player.getUniqueId());
+        if (previous != null) {
+            publish(previous, player, false);
+        }
+        return previous;
+    }
+
+    void clear() {
+        arenas.clear();
+        members.clear();
+    }
+
+    private void publish(Arena arena, Player player, boolean add) {
+        members.compute(arena, (key, current) -> {
+            Set<Player> next = (current != null) ? new HashSet<>(current) : new HashSet<>();
+            if (add) {
+                next.add(player);
+            } else {
+                next.remove(player);
+            }
+            return next.isEmpty() ? null : Collections.unmodifiableSet(next);
+        });
+    }
+}
@@ -1,39 +1,53 @@
 package com.garbagemule.MobArena;
 
 import com.garbagemule.MobArena.framework.Arena;
-import com.garbagemule.MobArena.util.MutableInt;
+import com.garbagemule.MobArena.leaderboards.Stats;
 import org.bukkit.entity.Player;
 
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.Map;
 
 public class ArenaPlayerStatistics
 {
+    private static final int KILLS     = Stats.KILLS.ordinal();
+    private static final int DMG_DONE  = Stats.DAMAGE_DONE.ordinal();
+    private static final int LAST_WAVE = Stats.LAST_WAVE.ordinal();
+
+    private static final Comparator<ArenaPlayerStatistics> KILL_COMPARATOR =
+        (s1, s2) -> Integer.compare(s2.values[KILLS], s1.values[KILLS]);
+
+    private static final Comparator<ArenaPlayerStatistics> WAVE_COMPARATOR =
+        (s1, s2) -> {
+            int result = Integer.compare(s2.values[LAST_WAVE], s1.values[LAST_WAVE]);
+            if (result != 0)
+                return result;
+
+            return Integer.compare(s2.values[KILLS], s1.values[KILLS]);
+        };
+
+    private static final Comparator<ArenaPlayerStatistics> DMG_DONE_COMPARATOR =
+        (s1, s2) -> Integer.compare(s2.values[DMG_DONE], s1.values[DMG_DONE]);
+
     private ArenaPlayer player;
     private String playerName, className;
-    private Map<String, MutableInt> ints;
+
+    /*
+     * One counter per stat, indexed by ordinal. The name and class stats
+     * are strings, so their slots are simply never touched.
+     */
+    private final int[] values;
+    private int version;
 
     public ArenaPlayerStatistics(ArenaPlayer player) {
         this.player = player;
         this.playerName = player.getPlayer().getName();
         this.className = player.getArenaClass().getConfigName();
-        reset();
+        this.values = new int[Stats.values().length];
     }
 
     public void reset() {
-        if (ints == null) {
-            ints = new HashMap<>();
-        }
-
-        ints.clear();
-
-        ints.put("kills", new MutableInt());
-        ints.put("dmgDone", new MutableInt());
-        ints.put("dmgTaken", new MutableInt());
-        ints.put("swings", new MutableInt());
-        ints.put("hits", new MutableInt());
-        ints.put("lastWave", new MutableInt());
+        Arrays.fill(values, 0);
+        version++;
     }
 
     public ArenaPlayerStatistics(Player p, Arena arena, MobArena plugin) {
@@ -52,75 +66,72 @@ public class ArenaPlayerStatistics
         return className;
     }
 
-    public int getInt(String s) {
-        return ints.get(s).value();
+    public int get(Stats stat) {
+        return values[stat.ordinal()];
     }
 
-    public void inc(String s) {
-        ints.get(s).inc();
+    public void inc(Stats stat) {
+        values[stat.ordinal()]++;
+        version++;
     }
 
-    public void add(String s, double amount) {
-        ints.get(s).add(amount);
+    public void add(Stats stat, double amount) {
+        values[stat.ordinal()] += amount;
+        version++;
     }
 
-    public static Comparator<ArenaPlayerStatistics> killComparator() {
-        return new Comparator<ArenaPlayerStatistics>() {
-            public int compare(ArenaPlayerStatistics s1, ArenaPlayerStatistics s2) {
-                int s1kills = s1.getInt("kills");
-                int s2kills = s2.getInt("kills");
-
-                if (s1kills == s2kills)
-                    return 0;
-
-                return (s1kills > s2kills ? -1 : 1);
-            }
-        };
+    /**
+     * Get the modification count of these statistics. The value changes
+     * every time a counter is modified, so comparing it to a previously
+     * seen value is a cheap way to check if anything has changed.
+     *
+     * @return the current modification count
+     */
+    public int getVersion() {
+        return version;
     }
 
-    public static Comparator<ArenaPlayerStatistics> waveComparator() {
-        return new Comparator<ArenaPlayerStatistics>() {
-            public int compare(ArenaPlayerStatistics s1, ArenaPlayerStatistics s2) {
-                int result = compareWaves(s1, s2);
-                if (result != 0)
-                    return result;
-
-                return compareKills(s1, s2);
-            }
-        };
+    /**
+     * @deprecated use {@link #get(Stats)} instead
+     */
+    @Deprecated
+    public int getInt(String s) {
+        return get(byShortName(s));
     }
 
-    public static Comparator<ArenaPlayerStatistics> dmgDoneComparator() {
-        return new Comparator<ArenaPlayerStatistics>() {
-            public int compare(ArenaPlayerStatistics s1, ArenaPlayerStatistics s2) {
-                int s1dmgDone = s1.getInt("dmgDone");
-                int s2dmgDone = s2.getInt("dmgDone");
-
-                if (s1dmgDone == s2dmgDone)
-                    return 0;
-
-                return (s1dmgDone > s2dmgDone ? -1 : 1);
-            }
-        };
+    /**
+     * @deprecated use {@link #inc(Stats)} instead
+     */
+    @Deprecated
+    public void inc(String s) {
+        inc(byShortName(s));
     }
 
-    private static int compareKills(ArenaPlayerStatistics s1, ArenaPlayerStatistics s2) {
-        int s1kills = s1.getInt("kills");
-        int s2kills = s2.getInt("kills");
-
-        if (s1kills == s2kills)
-            return 0;
+    /**
+     * @deprecated use {@link #add(Stats, double)} instead
+     */
+    @Deprecated
+    public void add(String s, double amount) {
+        add(byShortName(s), amount);
+    }
 
-        return (s1kills > s2kills ? -1 : 1);
+    private static Stats byShortName(String s) {
+        Stats stat = Stats.getByShortName(s);
+        if (stat == null) {
+            throw new IllegalArgumentException("Unknown stat: " + s);
+        }
+        return stat;
     }
 
-    private static int compareWaves(ArenaPlayerStatistics s1, ArenaPlayerStatistics s2) {
-        int s1wave = s1.getInt("lastWave");
-        int s2wave = s2.getInt("lastWave");
+    public static Comparator<ArenaPlayerStatistics> killComparator() {
+        return KILL_COMPARATOR;
+    }
 
-        if (s1wave == s2wave)
-            return 0;
+    public static Comparator<ArenaPlayerStatistics> waveComparator() {
+        return WAVE_COMPARATOR;
+    }
 
-        return (s1wave > s2wave ? -1 : 1);
+    public static Comparator<ArenaPlayerStatistics> dmgDoneComparator() {
+        return DMG_DONE_COMPARATOR;
     }
 }
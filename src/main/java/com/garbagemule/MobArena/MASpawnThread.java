@@ -5,6 +5,7 @@ import com.garbagemule.MobArena.events.NewWaveEvent;
 import com.garbagemule.MobArena.framework.Arena;
 import com.garbagemule.MobArena.healthbar.CreatesHealthBar;
 import com.garbagemule.MobArena.healthbar.HealthBar;
+import com.garbagemule.MobArena.leaderboards.Stats;
 import com.garbagemule.MobArena.region.ArenaRegion;
 import com.garbagemule.MobArena.things.ExperienceThing;
 import com.garbagemule.MobArena.things.Thing;
@@ -19,19 +20,24 @@ import com.garbagemule.MobArena.waves.types.SupplyWave;
 import com.garbagemule.MobArena.waves.types.UpgradeWave;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.World;
 import org.bukkit.attribute.Attribute;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
 public class MASpawnThread implements Runnable
 {
+    // Every monster is checked for death or escape once per this many ticks
+    private static final int SWEEP_PERIOD = 20;
+
     private MobArena plugin;
     private Arena arena;
     private ArenaRegion region;
@@ -44,8 +50,16 @@ public class MASpawnThread implements Runnable
     private boolean waveClear, bossClear, preBossClear, wavesAsLevel;
     private int waveInterval;
     private int nextWaveDelay;
+    private int spawnsPerTick;
+    private long spawnBudget;
 
     private BukkitTask task;
+    private BukkitTask tickTask;
+
+    // Monsters of the current wave that haven't been spawned yet
+    private final Deque<PendingSpawn> spawnQueue = new ArrayDeque<>();
+    private BukkitTask spawnTask;
+    private int spawnWave, spawnTicks, lastSpawnTicks;
 
     /**
      * Create a new monster spawner for the input arena.
@@ -60,7 +74,11 @@ public class MASpawnThread implements Runnable
         this.rewardManager = arena.getRewardManager();
         this.waveManager = arena.getWaveManager();
         this.monsterManager = arena.getMonsterManager();
-        this.createsHealthBar = new CreatesHealthBar(arena.getSettings().getString("boss-health-bar", "none"));
+        this.createsHealthBar = new CreatesHealthBar(
+            arena.getSettings().getString("boss-health-bar", "none"),
+            plugin,
+            arena.getSettings().getInt("boss-health-bar-interval", 5)
+        );
 
         reset();
     }
@@ -79,6 +97,9 @@ public class MASpawnThread implements Runnable
         wavesAsLevel = arena.getSettings().getBoolean("display-waves-as-level", false);
         waveInterval = arena.getSettings().getInt("wave-interval", 3);
         nextWaveDelay = arena.getSettings().getInt("next-wave-delay", 0);
+        spawnsPerTick = arena.getSettings().getInt("spawns-per-tick", 0);
+        spawnBudget = (long) (arena.getSettings().getDouble("spawn-tick-budget-ms", 0) * 1_000_000L);
+        lastSpawnTicks = 0;
     }
 
     public void start() {
@@ -93,6 +114,12 @@ public class MASpawnThread implements Runnable
             arena.getEventListener().pvpActivate();
             this.run();
         }, delay);
+
+        // Player positions go stale, and a slice of the monsters is swept
+        tickTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+            arena.getPlayerPositions().invalidate();
+            monsterManager.sweep(region, SWEEP_PERIOD);
+        }, 1, 1);
     }
 
     public void stop() {
@@ -105,6 +132,13 @@ public class MASpawnThread implements Runnable
 
         task.cancel();
         task = null;
+
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+
+        cancelSpawnQueue();
     }
 
     public void run() {
@@ -113,8 +147,7 @@ public class MASpawnThread implements Runnable
             return;
         }
 
-        // Clear out all dead monsters in the monster set.
-        removeDeadMonsters();
+        // Dead and escaped monsters are taken care of by the sweep task
         removeCheatingPlayers();
 
         // In case some players were removed, check again.
@@ -151,8 +184,11 @@ public class MASpawnThread implements Runnable
         // Grab the wave number.
         int nextWave = waveManager.getWaveNumber() + 1;
 
+        // Work out the monsters, spawnpoints, and rewards
+        SpawnPlan plan = SpawnPlan.build(snapshot());
+
         // Grant rewards (if any) for the wave that just ended
-        grantRewards(nextWave - 1);
+        grantRewards(plan);
 
         // Check if this is the final wave, in which case, end instead of spawn
         if (nextWave > 1 && (nextWave - 1) == waveManager.getFinalWave()) {
@@ -172,7 +208,7 @@ public class MASpawnThread implements Runnable
         }
 
         // Spawn the next wave.
-        spawnWave(nextWave);
+        spawnWave(nextWave, plan);
 
         // Update stats
         updateStats(nextWave);
@@ -181,7 +217,60 @@ public class MASpawnThread implements Runnable
         task = Bukkit.getScheduler().runTaskLater(plugin, this, waveInterval * 20);
     }
 
-    private void spawnWave(int wave) {
+    /**
+     * Take a snapshot of everything needed to plan the next wave.
+     */
+    private SpawnPlan.Snapshot snapshot() {
+        SpawnPlan.Snapshot snapshot = new SpawnPlan.Snapshot();
+        int wave = waveManager.getWaveNumber() + 1;
+        Wave source = waveManager.getNext();
+        snapshot.wave = wave;
+
+        // Upgrade waves and the wave after the final wave don't spawn anything
+        boolean spawns = source.getType() != WaveType.UPGRADE && !(wave > 1 && (wave - 1) == waveManager.getFinalWave());
+        if (spawns) {
+            snapshot.monsters = waveManager.lookAhead(() -> source.getMonstersToSpawn(wave, playerCount, arena));
+        } else {
+            snapshot.monsters = Collections.emptyMap();
+        }
+
+        snapshot.grid = region.getSpawnpointGrid();
+        List<Location> configured = source.getSpawnpoints();
+        if (configured == null || configured.isEmpty()) {
+            snapshot.candidates = snapshot.grid.getSpawnpoints();
+        } else {
+            snapshot.candidates = new ArrayList<>(configured);
+            snapshot.filter = new HashSet<>(configured);
+        }
+
+        snapshot.players = new ArrayList<>();
+        snapshot.playerIds = new ArrayList<>();
+        for (Player p : arena.getPlayersInArena()) {
+            snapshot.players.add(p.getLocation());
+            snapshot.playerIds.add(p.getUniqueId());
+        }
+
+        // Rewards are for the wave that just ended
+        snapshot.pickers = new ArrayList<>();
+        for (Map.Entry<Integer, ThingPicker> entry : arena.getEveryWaveEntrySet()) {
+            if (wave - 1 > 0 && (wave - 1) % entry.getKey() == 0) {
+                snapshot.pickers.add(entry.getValue());
+            }
+        }
+        ThingPicker after = arena.getAfterWaveReward(wave - 1);
+        if (after != null) {
+            snapshot.pickers.add(after);
+        }
+
+        snapshot.log = plugin.getLogger();
+        snapshot.arenaName = arena.configName();
+        return snapshot;
+    }
+
+    private void spawnWave(int wave, SpawnPlan plan) {
+        // Finish off the previous wave if it is still spawning
+        flushSpawnQueue();
+
         Wave w = waveManager.next();
 
         w.announce(arena, wave);
@@ -201,83 +290,161 @@ public class MASpawnThread implements Runnable
             return;
         }
 
-        Map<MACreature, Integer> monsters = w.getMonstersToSpawn(wave, playerCount, arena);
-        List<Location> spawnpoints = w.getSpawnpoints(arena);
+        // Queue up the monsters of the plan
+        for (int i = 0; i < plan.size(); i++) {
+            queueSpawn(w, plan.getCreature(i), plan.getSpawnpoint(i));
+        }
 
-        World world = arena.getWorld();
-        int totalSpawnpoints = spawnpoints.size();
-        int index = 0;
-        double mul = w.getHealthMultiplier();
+        // Spawn the first batch right away, and the rest on later ticks
+        spawnWave = wave;
+        spawnTicks = 0;
+        drainSpawnQueue();
+        if (!spawnQueue.isEmpty()) {
+            spawnTask = Bukkit.getScheduler().runTaskTimer(plugin, this::drainSpawnQueue, 1, 1);
+        }
+    }
 
-        for (Map.Entry<MACreature, Integer> entry : monsters.entrySet()) {
-            for (int i = 0; i < entry.getValue(); i++, index++) {
-                // Check if monster limit has been reached.
-                if (monsterManager.getMonsters().size() >= monsterLimit) {
-                    return;
-                }
+    void queueSpawn(Wave wave, MACreature creature, Location spawnpoint) {
+        spawnQueue.add(new PendingSpawn(wave, creature, spawnpoint));
+    }
 
-                // Grab a spawnpoint
-                Location spawnpoint = spawnpoints.get(index % totalSpawnpoints);
-
-                // Spawn the monster
-                LivingEntity e = entry.getKey().spawn(arena, world, spawnpoint);
-
-                // Add potion effects
-                e.addPotionEffects(w.getEffects());
-
-                arena.setMetadata(e);
-
-                // Add it to the arena.
-                monsterManager.addMonster(e);
-
-                // Set the health.
-                int health = (int) Math.max(1D, e.getAttribute(Attribute.GENERIC_MAX_HEALTH).getValue() * mul);
-                try {
-                    e.getAttribute(Attribute.GENERIC_MAX_HEALTH).setBaseValue(health);
-                    e.setHealth(health);
-                } catch (IllegalArgumentException ex) {
-                    // Spigot... *facepalm*
-                    plugin.getLogger().severe("Can't set health to " + health + ", using default health. If you are running Spigot, set 'maxHealth' higher in your Spigot settings.");
-                    plugin.getLogger().severe(ex.getLocalizedMessage());
-                    if (w.getType() == WaveType.BOSS) {
-                        ((BossWave) w).setBossName("SPIGOT ERROR");
-                    } else {
-                        e.setCustomName("SPIGOT ERROR");
-                    }
-                }
+    /**
+     * Spawn as many queued monsters as the per-tick limits allow. With no
+     * limits configured, the entire queue is spawned at once.
+     */
+    void drainSpawnQueue() {
+        if (!arena.isRunning()) {
+            cancelSpawnQueue();
+            return;
+        }
 
-                // Switch on the type.
-                switch (w.getType()){
-                    case BOSS:
-                        BossWave bw = (BossWave) w;
-                        double maxHealth = bw.getHealth().evaluate(arena);
-                        MABoss boss = monsterManager.addBoss(e, maxHealth);
-                        HealthBar healthbar = createsHealthBar.create(e, bw.getBossName());
-                        arena.getPlayersInArena().forEach(healthbar::addPlayer);
-                        healthbar.setProgress(1);
-                        boss.setHealthBar(healthbar);
-                        boss.setReward(bw.getReward());
-                        boss.setDrops(bw.getDrops());
-                        bw.addMABoss(boss);
-                        bw.activateAbilities(arena);
-                        if (bw.getBossName() != null) {
-                            e.setCustomName(bw.getBossName());
-                            e.setCustomNameVisible(true);
-                        }
-                        break;
-                    case SWARM:
-                        health = (int) (mul < 1D ? e.getAttribute(Attribute.GENERIC_MAX_HEALTH).getValue() * mul : 1);
-                        health = Math.max(1, health);
-                        e.setHealth(Math.min(health, e.getAttribute(Attribute.GENERIC_MAX_HEALTH).getValue()));
-                        break;
-                    case SUPPLY:
-                        SupplyWave sw = (SupplyWave) w;
-                        monsterManager.addSupplier(e, sw.getDropList());
-                        break;
-                    default:
-                        break;
-                }
+        long start = System.nanoTime();
+        int spawned = 0;
+
+        while (!spawnQueue.isEmpty()) {
+            if (spawnsPerTick > 0 && spawned >= spawnsPerTick) {
+                break;
+            }
+            if (spawnBudget > 0 && spawned > 0 && System.nanoTime() - start >= spawnBudget) {
+                break;
             }
+
+            // If the monster limit has been reached, the rest of the wave is dropped.
+            if (monsterManager.getMonsters().size() >= monsterLimit) {
+                spawnQueue.clear();
+                break;
+            }
+
+            spawnMonster(spawnQueue.poll());
+            spawned++;
+        }
+        spawnTicks++;
+
+        if (spawnQueue.isEmpty()) {
+            finishSpawnQueue();
+        }
+    }
+
+    /**
+     * Spawn everything that is left of the previous wave, ignoring the
+     * per-tick limits. Used when the next wave is due before the previous
+     * wave has fully materialized.
+     */
+    private void flushSpawnQueue() {
+        if (spawnQueue.isEmpty()) {
+            return;
+        }
+        while (!spawnQueue.isEmpty()) {
+            if (monsterManager.getMonsters().size() >= monsterLimit) {
+                spawnQueue.clear();
+                break;
+            }
+            spawnMonster(spawnQueue.poll());
+        }
+        spawnTicks++;
+        finishSpawnQueue();
+    }
+
+    private void finishSpawnQueue() {
+        if (spawnTask != null) {
+            spawnTask.cancel();
+            spawnTask = null;
+        }
+        lastSpawnTicks = spawnTicks;
+        if (spawnTicks > 1) {
+            plugin.getLogger().fine("Wave " + spawnWave + " of arena " + arena.configName() + " took " + spawnTicks + " ticks to spawn.");
+        }
+    }
+
+    private void cancelSpawnQueue() {
+        if (spawnTask != null) {
+            spawnTask.cancel();
+            spawnTask = null;
+        }
+        spawnQueue.clear();
+    }
+
+    private void spawnMonster(PendingSpawn spawn) {
+        Wave w = spawn.wave;
+        double mul = w.getHealthMultiplier();
+
+        // Spawn the monster
+        LivingEntity e = spawn.creature.spawn(arena, arena.getWorld(), spawn.spawnpoint);
+
+        // Add potion effects
+        e.addPotionEffects(w.getEffects());
+
+        arena.setMetadata(e);
+
+        // Add it to the arena.
+        monsterManager.addMonster(e);
+
+        // Set the health.
+        int health = (int) Math.max(1D, e.getAttribute(Attribute.GENERIC_MAX_HEALTH).getValue() * mul);
+        try {
+            e.getAttribute(Attribute.GENERIC_MAX_HEALTH).setBaseValue(health);
+            e.setHealth(health);
+        } catch (IllegalArgumentException ex) {
+            // Spigot... *facepalm*
+            plugin.getLogger().severe("Can't set health to " + health + ", using default health. If you are running Spigot, set 'maxHealth' higher in your Spigot settings.");
+            plugin.getLogger().severe(ex.getLocalizedMessage());
+            if (w.getType() == WaveType.BOSS) {
+                ((BossWave) w).setBossName("SPIGOT ERROR");
+            } else {
+                e.setCustomName("SPIGOT ERROR");
+            }
+        }
+
+        // Switch on the type.
+        switch (w.getType()){
+            case BOSS:
+                BossWave bw = (BossWave) w;
+                double maxHealth = bw.getHealth().evaluate(arena);
+                MABoss boss = monsterManager.addBoss(e, maxHealth);
+                HealthBar healthbar = createsHealthBar.create(e, bw.getBossName());
+                arena.getPlayersInArena().forEach(healthbar::addPlayer);
+                healthbar.setProgress(1);
+                boss.setHealthBar(healthbar);
+                boss.setReward(bw.getReward());
+                boss.setDrops(bw.getDrops());
+                bw.addMABoss(boss);
+                bw.activateAbilities(arena);
+                if (bw.getBossName() != null) {
+                    e.setCustomName(bw.getBossName());
+                    e.setCustomNameVisible(true);
+                }
+                break;
+            case SWARM:
+                health = (int) (mul < 1D ? e.getAttribute(Attribute.GENERIC_MAX_HEALTH).getValue() * mul : 1);
+                health = Math.max(1, health);
+                e.setHealth(Math.min(health, e.getAttribute(Attribute.GENERIC_MAX_HEALTH).getValue()));
+                break;
+            case SUPPLY:
+                SupplyWave sw = (SupplyWave) w;
+                monsterManager.addSupplier(e, sw.getDropList());
+                break;
+            default:
+                break;
         }
     }
 
@@ -297,9 +464,15 @@ public class MASpawnThread implements Runnable
      * Check if the wave is clear for new spawns.
      * If clear-boss-before-next: true, bosses must be dead.
      * If clear-wave-before-next: true, all monsters must be dead.
+     * The previous wave must always be done spawning.
      * @return true, if the wave is "clear" for new spawns.
      */
-    private boolean isWaveClear() {
+    boolean isWaveClear() {
+        // Check for a wave that is still spawning
+        if (!spawnQueue.isEmpty()) {
+            return false;
+        }
+
         // Check for monster limit
         if (monsterManager.getMonsters().size() >= monsterLimit) {
             return false;
@@ -328,20 +501,6 @@ public class MASpawnThread implements Runnable
         return true;
     }
 
-    private void removeDeadMonsters() {
-        List<Entity> tmp = new ArrayList<>(monsterManager.getMonsters());
-        for (Entity e : tmp) {
-            if (e == null) {
-                continue;
-            }
-
-            if (e.isDead() || !region.contains(e.getLocation())) {
-                monsterManager.remove(e);
-                e.remove();
-            }
-        }
-    }
-
     private void removeCheatingPlayers() {
         List<Player> players = new ArrayList<>(arena.getPlayersInArena());
         for (Player p : players) {
@@ -355,23 +514,19 @@ public class MASpawnThread implements Runnable
         }
     }
 
-    private void grantRewards(int wave) {
-        for (Map.Entry<Integer, ThingPicker> entry : arena.getEveryWaveEntrySet()) {
-            if (wave > 0 && wave % entry.getKey() == 0) {
-                addReward(entry.getValue());
+    private void grantRewards(SpawnPlan plan) {
+        for (Player p : arena.getPlayersInArena()) {
+            for (Thing reward : plan.getRewards(p.getUniqueId())) {
+                rewardManager.addReward(p, reward);
+                arena.getMessenger().tell(p, Msg.WAVE_REWARD, reward.toString());
             }
         }
-
-        ThingPicker after = arena.getAfterWaveReward(wave);
-        if (after != null) {
-            addReward(after);
-        }
     }
 
     private void updateStats(int wave) {
         for (ArenaPlayer ap : arena.getArenaPlayerSet()) {
             if (arena.getPlayersInArena().contains(ap.getPlayer())) {
-                ap.getStats().inc("lastWave");
+                ap.getStats().inc(Stats.LAST_WAVE);
             }
         }
     }
@@ -389,15 +544,24 @@ public class MASpawnThread implements Runnable
     }
 
     /**
-     * Rewards all players with an item from the input String.
+     * Get the number of ticks it took for the most recently completed wave
+     * to fully spawn. Waves spawned in a single tick report 1.
+     * @return the number of ticks, or 0 if no wave has spawned yet
      */
-    private void addReward(ThingPicker picker) {
-        for (Player p : arena.getPlayersInArena()) {
-            Thing reward = picker.pick();
-            if (reward != null) {
-                rewardManager.addReward(p, reward);
-                arena.getMessenger().tell(p, Msg.WAVE_REWARD, reward.toString());
-            }
+    public int getLastWaveSpawnTicks() {
+        return lastSpawnTicks;
+    }
+
+    private static class PendingSpawn
+    {
+        private final Wave wave;
+        private final MACreature creature;
+        private final Location spawnpoint;
+
+        private PendingSpawn(Wave wave, MACreature creature, Location spawnpoint) {
+            this.wave = wave;
+            this.creature = creature;
+            this.spawnpoint = spawnpoint;
         }
     }
 }
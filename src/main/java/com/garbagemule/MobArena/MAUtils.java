@@ -17,11 +17,9 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -80,28 +78,7 @@ public class MAUtils
 
 
     public static Player getClosestPlayer(MobArena plugin, Entity e, Arena arena) {
-        // Set up the comparison variable and the result.
-        double current = Double.POSITIVE_INFINITY;
-        Player result = null;
-
-        /* Iterate through the ArrayList, and update current and result every
-         * time a squared distance smaller than current is found. */
-        List<Player> players = new ArrayList<>(arena.getPlayersInArena());
-        for (Player p : players) {
-            if (!arena.getWorld().equals(p.getWorld())) {
-                plugin.getLogger().info("Player '" + p.getName() + "' is not in the right world. Kicking...");
-                p.kickPlayer("[MobArena] Cheater! (Warped out of the arena world.)");
-                arena.getMessenger().tell(p, "You warped out of the arena world.");
-                continue;
-            }
-
-            double dist = distanceSquared(plugin, p, e.getLocation());
-            if (dist < current && dist < 256D) {
-                current = dist;
-                result = p;
-            }
-        }
-        return result;
+        return arena.getPlayerPositions().nearest(e.getLocation(), 16D);
     }
 
     public static double distanceSquared(MobArena plugin, Player p, Location l) {
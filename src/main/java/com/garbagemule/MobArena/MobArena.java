@@ -6,6 +6,7 @@ import com.garbagemule.MobArena.formula.FormulaMacros;
 import com.garbagemule.MobArena.formula.FormulaManager;
 import com.garbagemule.MobArena.framework.Arena;
 import com.garbagemule.MobArena.framework.ArenaMaster;
+import com.garbagemule.MobArena.leaderboards.StatsStore;
 import com.garbagemule.MobArena.listeners.MAGlobalListener;
 import com.garbagemule.MobArena.metrics.ArenaCountChart;
 import com.garbagemule.MobArena.metrics.ClassChestsChart;
@@ -23,6 +24,7 @@ import com.garbagemule.MobArena.things.ThingGroupPickerParser;
 import com.garbagemule.MobArena.things.ThingManager;
 import com.garbagemule.MobArena.things.ThingPickerManager;
 import com.garbagemule.MobArena.util.config.ConfigUtils;
+import com.garbagemule.MobArena.util.inventory.InventoryJournal;
 import com.garbagemule.MobArena.waves.ability.AbilityManager;
 import net.milkbowl.vault.economy.Economy;
 import org.bstats.bukkit.Metrics;
@@ -56,7 +58,10 @@ public class MobArena extends JavaPlugin
     private LoadsConfigFile loadsConfigFile;
     private Throwable lastFailureCause;
 
-    public static final double MIN_PLAYER_DISTANCE_SQUARED = 225D;
+    public static final double MIN_PLAYER_DISTANCE = 15D;
+    public static final double MIN_PLAYER_DISTANCE_SQUARED = MIN_PLAYER_DISTANCE * MIN_PLAYER_DISTANCE;
+    // Number of all-time records kept per arena and stat
+    public static final int LEADERBOARD_CAPACITY = 100;
     public static Random random = new Random();
 
     private Messenger messenger;
@@ -65,7 +70,10 @@ public class MobArena extends JavaPlugin
     private FormulaManager formman;
     private FormulaMacros macros;
 
+    private SignBootstrap signBootstrap;
     private SignListeners signListeners;
+    private StatsStore statsStore;
+    private InventoryJournal inventoryJournal;
 
     @Override
     public void onLoad() {
@@ -94,15 +102,30 @@ public class MobArena extends JavaPlugin
     public void onDisable() {
         if (arenaMaster != null) {
             arenaMaster.getArenas().forEach(Arena::forceEnd);
+            arenaMaster.getArenas().forEach(arena -> arena.getRestoreScheduler().finish());
             arenaMaster.resetArenaMap();
             arenaMaster = null;
         }
+        if (statsStore != null) {
+            statsStore.close();
+            statsStore = null;
+        }
+        if (inventoryJournal != null) {
+            inventoryJournal.close();
+            inventoryJournal = null;
+        }
+        if (signBootstrap != null) {
+            signBootstrap.close();
+            signBootstrap = null;
+        }
         loadsConfigFile = null;
     }
 
     private void setup() {
         try {
             createDataFolder();
+            setupStatsStore();
+            setupInventoryJournal();
             setupFormulaMacros();
             setupArenaMaster();
             setupCommandHandler();
@@ -128,6 +151,14 @@ public class MobArena extends JavaPlugin
         }
     }
 
+    private void setupStatsStore() {
+        statsStore = StatsStore.create(getDataFolder().toPath(), LEADERBOARD_CAPACITY, getLogger());
+    }
+
+    private void setupInventoryJournal() {
+        inventoryJournal = InventoryJournal.create(getDataFolder().toPath(), getLogger());
+    }
+
     private void setupFormulaMacros() {
         macros = FormulaMacros.create(this);
     }
@@ -213,6 +244,7 @@ public class MobArena extends JavaPlugin
     private void reloadFormulaMacros() {
         try {
             macros.reload();
+            formman.clearCache();
         } catch (IOException e) {
             throw new RuntimeException("There was an error reloading the formulas-file:\n" + e.getMessage());
         }
@@ -254,9 +286,12 @@ public class MobArena extends JavaPlugin
         if (signListeners != null) {
             signListeners.unregister();
         }
-        SignBootstrap bootstrap = SignBootstrap.create(this);
+        if (signBootstrap != null) {
+            signBootstrap.close();
+        }
+        signBootstrap = SignBootstrap.create(this);
         signListeners = new SignListeners();
-        signListeners.register(bootstrap);
+        signListeners.register(signBootstrap);
     }
 
     private void checkForUpdates() {
@@ -309,4 +344,12 @@ public class MobArena extends JavaPlugin
     public FormulaMacros getFormulaMacros() {
         return macros;
     }
+
+    public StatsStore getStatsStore() {
+        return statsStore;
+    }
+
+    public InventoryJournal getInventoryJournal() {
+        return inventoryJournal;
+    }
 }
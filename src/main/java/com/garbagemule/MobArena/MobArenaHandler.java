@@ -7,6 +7,9 @@ import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 
+import java.util.Set;
+import java.util.UUID;
+
 public class MobArenaHandler
 {
     private MobArena plugin;
@@ -206,6 +209,26 @@ public class MobArenaHandler
         return plugin.getArenaMaster().getArenaWithPlayer(p);
     }
 
+    /**
+     * Get the Arena object that the player with the given UUID is currently in.
+     * Unlike most other methods, this method is safe to call from any thread.
+     * @param playerId A player UUID
+     * @return an Arena object, or null
+     */
+    public Arena getArenaWithPlayer(UUID playerId) {
+        return plugin.getArenaMaster().getPlayerIndex().get(playerId);
+    }
+
+    /**
+     * Get all the players (lobby, arena and spectators) in the given arena.
+     * Unlike most other methods, this method is safe to call from any thread.
+     * @param arena An Arena object
+     * @return an immutable snapshot of the players in the arena
+     */
+    public Set<Player> getAllPlayersInArena(Arena arena) {
+        return plugin.getArenaMaster().getPlayerIndex().getMembers(arena);
+    }
+
     /**
      * Get the Arena object that the given pet is currently in.
      * @param wolf A pet wolf
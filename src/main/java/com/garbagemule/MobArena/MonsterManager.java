@@ -1,7 +1,10 @@
 package com.garbagemule.MobArena;
 
+import com.garbagemule.MobArena.framework.Arena;
 import com.garbagemule.MobArena.healthbar.HealthBar;
+import com.garbagemule.MobArena.region.ArenaRegion;
 import com.garbagemule.MobArena.waves.MABoss;
+import org.bukkit.Location;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
@@ -18,6 +21,9 @@ import java.util.Set;
 
 public class MonsterManager
 {
+    private Arena arena;
+    private ArenaEntityIndex index;
+
     private Set<LivingEntity> monsters, sheep, golems;
     private Map<LivingEntity,MABoss> bosses;
     private Map<LivingEntity,List<ItemStack>> suppliers;
@@ -25,7 +31,14 @@ public class MonsterManager
     private Map<Entity, Player> petToPlayer;
     private Map<Player, Set<Entity>> playerToPets;
 
-    public MonsterManager() {
+    // Rolling sweep over a snapshot of the monsters, see sweep()
+    private LivingEntity[] sweepOrder;
+    private int sweepCursor, sweepSlice;
+    private Location sweepLocation;
+
+    public MonsterManager(Arena arena, ArenaEntityIndex index) {
+        this.arena      = arena;
+        this.index      = index;
         this.monsters   = new HashSet<>();
         this.sheep      = new HashSet<>();
         this.golems     = new HashSet<>();
@@ -34,6 +47,8 @@ public class MonsterManager
         this.mounts     = new HashSet<>();
         this.petToPlayer = new HashMap<>();
         this.playerToPets = new HashMap<>();
+        this.sweepOrder   = new LivingEntity[0];
+        this.sweepLocation = new Location(null, 0, 0, 0);
     }
 
     public void reset() {
@@ -45,6 +60,11 @@ public class MonsterManager
         mounts.clear();
         petToPlayer.clear();
         playerToPets.clear();
+
+        sweepOrder = new LivingEntity[0];
+        sweepCursor = 0;
+
+        index.removeAll(arena);
     }
 
     public void clear() {
@@ -81,6 +101,43 @@ public class MonsterManager
             if (boss != null) {
                 boss.setDead(true);
             }
+            untrack(e);
+        }
+    }
+
+    /**
+     * Remove a slice of the monsters that are dead or have left the given
+     * region. Calling this method the given number of times checks every
+     * monster once, so the cost of the cleanup is spread evenly instead of
+     * walking the entire monster set in one go.
+     * <p>
+     * Each round works on a snapshot of the monsters taken when the
+     * previous round ended, so monsters spawned in the middle of a round
+     * are picked up by the next one.
+     *
+     * @param region the region the monsters must stay within
+     * @param period the number of calls per round
+     */
+    public void sweep(ArenaRegion region, int period) {
+        if (sweepCursor >= sweepOrder.length) {
+            sweepOrder = monsters.toArray(new LivingEntity[0]);
+            sweepCursor = 0;
+            sweepSlice = (sweepOrder.length + period - 1) / period;
+        }
+
+        int end = Math.min(sweepCursor + sweepSlice, sweepOrder.length);
+        for (; sweepCursor < end; sweepCursor++) {
+            LivingEntity e = sweepOrder[sweepCursor];
+            sweepOrder[sweepCursor] = null;
+
+            // Skip monsters that were removed since the snapshot
+            if (e == null || !monsters.contains(e)) {
+                continue;
+            }
+            if (e.isDead() || !region.contains(e.getLocation(sweepLocation))) {
+                remove(e);
+                e.remove();
+            }
         }
     }
 
@@ -90,10 +147,15 @@ public class MonsterManager
 
     public void addMonster(LivingEntity e) {
         monsters.add(e);
+        index.put(e, arena);
     }
 
     public boolean removeMonster(Entity e) {
-        return monsters.remove(e);
+        if (monsters.remove(e)) {
+            untrack(e);
+            return true;
+        }
+        return false;
     }
 
     public Set<LivingEntity> getExplodingSheep() {
@@ -102,10 +164,15 @@ public class MonsterManager
 
     public void addExplodingSheep(LivingEntity e) {
         sheep.add(e);
+        index.put(e, arena);
     }
 
     public boolean removeExplodingSheep(LivingEntity e) {
-        return sheep.remove(e);
+        if (sheep.remove(e)) {
+            untrack(e);
+            return true;
+        }
+        return false;
     }
 
     public Set<LivingEntity> getGolems() {
@@ -114,10 +181,15 @@ public class MonsterManager
 
     public void addGolem(LivingEntity e) {
         golems.add(e);
+        index.put(e, arena);
     }
 
     public boolean removeGolem(LivingEntity e) {
-        return golems.remove(e);
+        if (golems.remove(e)) {
+            untrack(e);
+            return true;
+        }
+        return false;
     }
 
     public void addPet(Player player, Entity pet) {
@@ -125,6 +197,7 @@ public class MonsterManager
         playerToPets
             .computeIfAbsent(player, (key) -> new HashSet<>())
             .add(pet);
+        index.put(pet, arena);
     }
 
     public boolean hasPet(Entity e) {
@@ -140,6 +213,7 @@ public class MonsterManager
             if (pets != null) {
                 pets.remove(pet);
             }
+            untrack(pet);
         }
     }
 
@@ -158,13 +232,18 @@ public class MonsterManager
     public void removePets(Player p) {
         Set<Entity> pets = playerToPets.remove(p);
         if (pets != null) {
-            pets.forEach(Entity::remove);
+            for (Entity pet : pets) {
+                pet.remove();
+                petToPlayer.remove(pet);
+                untrack(pet);
+            }
             pets.clear();
         }
     }
 
     public void addMount(LivingEntity e) {
         mounts.add(e);
+        index.put(e, arena);
     }
 
     public boolean hasMount(Entity e) {
@@ -172,7 +251,11 @@ public class MonsterManager
     }
 
     public boolean removeMount(Entity e) {
-        return mounts.remove(e);
+        if (mounts.remove(e)) {
+            untrack(e);
+            return true;
+        }
+        return false;
     }
 
     public void removeMounts() {
@@ -183,6 +266,7 @@ public class MonsterManager
 
     public void addSupplier(LivingEntity e, List<ItemStack> drops) {
         suppliers.put(e, drops);
+        index.put(e, arena);
     }
 
     public List<ItemStack> getLoot(Entity e) {
@@ -192,11 +276,16 @@ public class MonsterManager
     public MABoss addBoss(LivingEntity e, double maxHealth) {
         MABoss b = new MABoss(e, maxHealth);
         bosses.put(e, b);
+        index.put(e, arena);
         return b;
     }
 
     public MABoss removeBoss(LivingEntity e) {
-        return bosses.remove(e);
+        MABoss b = bosses.remove(e);
+        if (b != null) {
+            untrack(e);
+        }
+        return b;
     }
 
     public MABoss getBoss(LivingEntity e) {
@@ -206,4 +295,21 @@ public class MonsterManager
     public Set<LivingEntity> getBossMonsters() {
         return bosses.keySet();
     }
+
+    /**
+     * Drop the entity from the global entity index, but only once it is no
+     * longer tracked by any of the collections in this manager.
+     */
+    private void untrack(Entity e) {
+        if (monsters.contains(e) || sheep.contains(e) || golems.contains(e)) {
+            return;
+        }
+        if (bosses.containsKey(e) || suppliers.containsKey(e) || mounts.contains(e)) {
+            return;
+        }
+        if (petToPlayer.containsKey(e)) {
+            return;
+        }
+        index.remove(e, arena);
+    }
 }
@@ -22,6 +22,7 @@ public enum Msg {
     JOIN_FEE_REQUIRED("Insufficient funds. Price: &c%&r"),
     JOIN_FEE_PAID("Price to join was: &c%&r"),
     JOIN_ARENA_IS_RUNNING("This arena is already in progress."),
+    JOIN_ARENA_IS_RESTORING("This arena is being restored. Try again in a moment."),
     JOIN_ALREADY_PLAYING("You are already playing!"),
     JOIN_ARG_NEEDED("You must specify an arena."),
     JOIN_NO_PERMISSION("You don't have permission to join any arenas."),
@@ -78,6 +79,11 @@ public enum Msg {
     WAVE_BOSS_KILLED("&a%&r killed the boss!"),
     WAVE_BOSS_REWARD_EARNED("You earned: &e%"),
     WAVE_REWARD("You just earned a reward: &e%&r"),
+    RANK_UNKNOWN_STAT("There is no stat named &c%&r."),
+    RANK_PLAYER_NOT_ONLINE("Player &c%&r is not online."),
+    RANK_NOT_PLAYED("&e%&r has not played in this arena yet."),
+    RANK_NOT_RANKED("Not in the top &e%&r of this arena."),
+    RANK_RANKED("Ranked &e#%&r in this arena."),
     MISC_REWARD_ADDED("You were just given a reward: &e%&r"),
     MISC_LIST_PLAYERS("Live players: &a%&r"),
     MISC_LIST_ARENAS("Available arenas: %"),
@@ -0,0 +1,243 @@
+package com.garbagemule.MobArena;
+
+import com.garbagemule.MobArena.framework.Arena;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The positions of the players in an arena, for spawning, targeting and
+ * boss abilities.
+ * <p>
+ * The positions are copied into flat arrays the first time they are
+ * needed in a tick, so all the queries in the same tick share a single
+ * pass over the arena players. The spawner marks the positions stale
+ * every tick, and the arena does so whenever a player enters or leaves.
+ * <p>
+ * Players who have warped out of the arena world are kicked when the
+ * positions are refreshed, and are never returned by any of the queries.
+ */
+public class PlayerPositions
+{
+    private Arena arena;
+
+    private Player[] players;
+    private double[] xs, ys, zs;
+    private int size;
+
+    private boolean stale;
+    private Location scratch;
+
+    public PlayerPositions(Arena arena) {
+        this.arena   = arena;
+        this.players = new Player[0];
+        this.xs      = new double[0];
+        this.ys      = new double[0];
+        this.zs      = new double[0];
+        this.stale   = true;
+        this.scratch = new Location(null, 0, 0, 0);
+    }
+
+    /**
+     * Mark the positions as stale, so they are refreshed by the next
+     * query.
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Get the closest player within the given distance of a location.
+     *
+     * @param loc a location
+     * @param distance the maximum distance, exclusive
+     * @return the closest player, or null if no players are in range
+     */
+    public Player nearest(Location loc, double distance) {
+        if (!refresh(loc)) {
+            return null;
+        }
+        double x = loc.getX();
+        double y = loc.getY();
+        double z = loc.getZ();
+
+        double current = distance * distance;
+        Player result = null;
+        for (int i = 0; i < size; i++) {
+            double d = distanceSquared(i, x, y, z);
+            if (d < current) {
+                current = d;
+                result = players[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the k closest players within the given distance of a location,
+     * closest first.
+     *
+     * @param loc a location
+     * @param k the maximum number of players to return
+     * @param distance the maximum distance, exclusive
+     * @return a list of at most k players
+     */
+    public List<Player> nearest(Location loc, int k, double distance) {
+        if (k <= 0 || !refresh(loc)) {
+            return new ArrayList<>();
+        }
+        double x = loc.getX();
+        double y = loc.getY();
+        double z = loc.getZ();
+        double max = distance * distance;
+
+        // Insertion sort into a bounded array of the best candidates
+        int[] best = new int[Math.min(k, size)];
+        double[] dists = new double[best.length];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            double d = distanceSquared(i, x, y, z);
+            if (d >= max || (count == best.length && d >= dists[count - 1])) {
+                continue;
+            }
+            int j = (count < best.length) ? count++ : count - 1;
+            while (j > 0 && dists[j - 1] > d) {
+                best[j] = best[j - 1];
+                dists[j] = dists[j - 1];
+                j--;
+            }
+            best[j] = i;
+            dists[j] = d;
+        }
+
+        List<Player> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(players[best[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * Get all players within the given radius of a location.
+     *
+     * @param loc a location
+     * @param radius the radius, inclusive
+     * @return a list of players
+     */
+    public List<Player> within(Location loc, double radius) {
+        List<Player> result = new ArrayList<>();
+        if (!refresh(loc)) {
+            return result;
+        }
+        double x = loc.getX();
+        double y = loc.getY();
+        double z = loc.getZ();
+        double max = radius * radius;
+        for (int i = 0; i < size; i++) {
+            if (distanceSquared(i, x, y, z) <= max) {
+                result.add(players[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get all players further away than the given radius from a location.
+     *
+     * @param loc a location
+     * @param radius the radius, exclusive
+     * @return a list of players
+     */
+    public List<Player> beyond(Location loc, double radius) {
+        List<Player> result = new ArrayList<>();
+        if (!refresh(loc)) {
+            return result;
+        }
+        double x = loc.getX();
+        double y = loc.getY();
+        double z = loc.getZ();
+        double min = radius * radius;
+        for (int i = 0; i < size; i++) {
+            if (distanceSquared(i, x, y, z) > min) {
+                result.add(players[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get a random player.
+     *
+     * @param random the random number generator to use
+     * @return a random player, or null if there are no players
+     */
+    public Player random(Random random) {
+        refresh();
+        if (size == 0) {
+            return null;
+        }
+        return players[random.nextInt(size)];
+    }
+
+    private double distanceSquared(int i, double x, double y, double z) {
+        double dx = xs[i] - x;
+        double dy = ys[i] - y;
+        double dz = zs[i] - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private boolean refresh(Location loc) {
+        refresh();
+        return size > 0 && loc.getWorld() == arena.getWorld();
+    }
+
+    private void refresh() {
+        if (!stale) {
+            return;
+        }
+        stale = false;
+
+        int capacity = arena.getPlayersInArena().size();
+        if (players.length < capacity) {
+            players = new Player[capacity];
+            xs = new double[capacity];
+            ys = new double[capacity];
+            zs = new double[capacity];
+        } else {
+            Arrays.fill(players, null);
+        }
+
+        World world = arena.getWorld();
+        List<Player> cheaters = null;
+        size = 0;
+        for (Player p : arena.getPlayersInArena()) {
+            p.getLocation(scratch);
+            if (scratch.getWorld() != world) {
+                if (cheaters == null) {
+                    cheaters = new ArrayList<>();
+                }
+                cheaters.add(p);
+                continue;
+            }
+            players[size] = p;
+            xs[size] = scratch.getX();
+            ys[size] = scratch.getY();
+            zs[size] = scratch.getZ();
+            size++;
+        }
+        scratch.setWorld(null);
+
+        // Kicking makes the players leave the arena, so do it afterwards
+        if (cheaters != null) {
+            for (Player p : cheaters) {
+                arena.getPlugin().getLogger().info("Player '" + p.getName() + "' is not in the right world. Kicking...");
+                p.kickPlayer("[MobArena] Cheater! (Warped out of the arena world.)");
+            }
+        }
+    }
+}
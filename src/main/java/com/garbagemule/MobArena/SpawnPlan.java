@@ -0,0 +1,126 @@
+package com.garbagemule.MobArena;
+
+import com.garbagemule.MobArena.region.SpawnpointGrid;
+import com.garbagemule.MobArena.things.Thing;
+import com.garbagemule.MobArena.things.ThingPicker;
+import com.garbagemule.MobArena.waves.MACreature;
+import com.garbagemule.MobArena.waves.WaveUtils;
+import org.bukkit.Location;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Everything the spawner needs to know to run a wave boundary: which
+ * monsters to spawn where, and which rewards each player gets for the
+ * wave that just ended.
+ * <p>
+ * A plan is built from a {@link Snapshot} of the arena, which is taken
+ * at the wave boundary. Building the plan from the snapshot doesn't touch
+ * the arena or any entities, so it can be tested on its own. The plan
+ * itself is immutable.
+ */
+class SpawnPlan
+{
+    private final List<MACreature> creatures;
+    private final List<Location> spawnpoints;
+    private final Map<UUID, List<Thing>> rewards;
+
+    private SpawnPlan(List<MACreature> creatures, List<Location> spawnpoints, Map<UUID, List<Thing>> rewards) {
+        this.creatures   = creatures;
+        this.spawnpoints = spawnpoints;
+        this.rewards     = rewards;
+    }
+
+    int size() {
+        return creatures.size();
+    }
+
+    MACreature getCreature(int index) {
+        return creatures.get(index);
+    }
+
+    Location getSpawnpoint(int index) {
+        return spawnpoints.get(index);
+    }
+
+    /**
+     * Get the rewards the given player should be granted for the wave
+     * before this plan's wave.
+     */
+    List<Thing> getRewards(UUID playerId) {
+        return rewards.getOrDefault(playerId, Collections.emptyList());
+    }
+
+    static SpawnPlan build(Snapshot snapshot) {
+        // Only keep spawnpoints with players nearby, unless there are none
+        List<Location> valid = WaveUtils.getValidSpawnpoints(
+            snapshot.grid,
+            snapshot.filter,
+            snapshot.candidates,
+            snapshot.players,
+            snapshot.arenaName,
+            snapshot.log
+        );
+
+        // Assign spawnpoints round-robin
+        List<MACreature> creatures = new ArrayList<>();
+        List<Location> spawnpoints = new ArrayList<>();
+        if (valid.isEmpty()) {
+            if (!snapshot.monsters.isEmpty()) {
+                snapshot.log.warning("Arena '" + snapshot.arenaName + "' has no spawnpoints for wave " + snapshot.wave + ", so no monsters will spawn.");
+            }
+        } else {
+            int index = 0;
+            for (Map.Entry<MACreature, Integer> entry : snapshot.monsters.entrySet()) {
+                for (int i = 0; i < entry.getValue(); i++, index++) {
+                    creatures.add(entry.getKey());
+                    spawnpoints.add(valid.get(index % valid.size()));
+                }
+            }
+        }
+
+        Map<UUID, List<Thing>> rewards = new HashMap<>();
+        for (UUID playerId : snapshot.playerIds) {
+            List<Thing> things = new ArrayList<>();
+            for (ThingPicker picker : snapshot.pickers) {
+                Thing thing = picker.pick();
+                if (thing != null) {
+                    things.add(thing);
+                }
+            }
+            if (!things.isEmpty()) {
+                rewards.put(playerId, Collections.unmodifiableList(things));
+            }
+        }
+
+        return new SpawnPlan(
+            Collections.unmodifiableList(creatures),
+            Collections.unmodifiableList(spawnpoints),
+            Collections.unmodifiableMap(rewards)
+        );
+    }
+
+    /**
+     * The arena state a plan is built from.
+     */
+    static class Snapshot
+    {
+        int wave;
+        Map<MACreature, Integer> monsters;
+        SpawnpointGrid grid;
+        Set<Location> filter;
+        List<Location> candidates;
+        List<Location> players;
+        List<UUID> playerIds;
+        List<ThingPicker> pickers;
+        Logger log;
+        String arenaName;
+    }
+}
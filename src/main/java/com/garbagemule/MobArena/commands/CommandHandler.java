@@ -22,6 +22,7 @@ import com.garbagemule.MobArena.commands.setup.RemoveContainerCommand;
 import com.garbagemule.MobArena.commands.setup.RemoveLeaderboardCommand;
 import com.garbagemule.MobArena.commands.setup.RemoveSpawnpointCommand;
 import com.garbagemule.MobArena.commands.setup.SettingCommand;
+import com.garbagemule.MobArena.commands.setup.SnapshotCommand;
 import com.garbagemule.MobArena.commands.setup.SetupCommand;
 import com.garbagemule.MobArena.commands.user.ArenaListCommand;
 import com.garbagemule.MobArena.commands.user.JoinCommand;
@@ -29,6 +30,7 @@ import com.garbagemule.MobArena.commands.user.LeaveCommand;
 import com.garbagemule.MobArena.commands.user.NotReadyCommand;
 import com.garbagemule.MobArena.commands.user.PickClassCommand;
 import com.garbagemule.MobArena.commands.user.PlayerListCommand;
+import com.garbagemule.MobArena.commands.user.RankCommand;
 import com.garbagemule.MobArena.commands.user.SpecCommand;
 import com.garbagemule.MobArena.commands.user.ReadyCommand;
 import com.garbagemule.MobArena.framework.ArenaMaster;
@@ -313,6 +315,7 @@ public class CommandHandler implements CommandExecutor, TabCompleter
         register(NotReadyCommand.class);
         register(PickClassCommand.class);
         register(ReadyCommand.class);
+        register(RankCommand.class);
 
         // mobarena.admin
         register(EnableCommand.class);
@@ -330,6 +333,7 @@ public class CommandHandler implements CommandExecutor, TabCompleter
         register(RemoveArenaCommand.class);
         register(EditArenaCommand.class);
         register(CheckDataCommand.class);
+        register(SnapshotCommand.class);
 
         register(RemoveSpawnpointCommand.class);
         register(CheckSpawnsCommand.class);
@@ -0,0 +1,86 @@
+package com.garbagemule.MobArena.commands.setup;
+
+import com.garbagemule.MobArena.commands.Command;
+import com.garbagemule.MobArena.commands.CommandInfo;
+import com.garbagemule.MobArena.framework.Arena;
+import com.garbagemule.MobArena.framework.ArenaMaster;
+import com.garbagemule.MobArena.region.RegionSnapshot;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+
+@CommandInfo(
+    name    = "snapshot",
+    pattern = "snapshot",
+    usage   = "/ma snapshot <arena>",
+    desc    = "save the arena region as the baseline for snapshot-restore",
+    permission = "mobarena.setup.snapshot"
+)
+public class SnapshotCommand implements Command
+{
+    @Override
+    public boolean execute(ArenaMaster am, CommandSender sender, String... args) {
+        // Require an arena name
+        if (args.length != 1) return false;
+
+        Arena arena = am.getArenaWithName(args[0]);
+        if (arena == null) {
+            am.getGlobalMessenger().tell(sender, "There is no arena named " + args[0]);
+            return true;
+        }
+        if (arena.isRunning()) {
+            am.getGlobalMessenger().tell(sender, "Arena " + arena.configName() + " is in progress.");
+            return true;
+        }
+        if (arena.getRestoreScheduler().isRestoring()) {
+            am.getGlobalMessenger().tell(sender, "Arena " + arena.configName() + " is still being restored.");
+            return true;
+        }
+        if (!arena.getRegion().isDefined()) {
+            am.getGlobalMessenger().tell(sender, "The region of arena " + arena.configName() + " is not defined.");
+            return true;
+        }
+
+        CompletableFuture<RegionSnapshot> future;
+        try {
+            future = arena.getRegion().saveSnapshot();
+        } catch (IllegalArgumentException e) {
+            am.getGlobalMessenger().tell(sender, "Can't take a snapshot of arena " + arena.configName() + ": " + e.getMessage());
+            return true;
+        }
+        future.whenComplete((snapshot, error) ->
+            Bukkit.getScheduler().runTask(am.getPlugin(), () -> {
+                if (error == null) {
+                    am.getGlobalMessenger().tell(sender, "Saved the region snapshot of arena " + arena.configName() + ".");
+                } else {
+                    am.getPlugin().getLogger().log(Level.SEVERE, "Failed to save the region snapshot of arena " + arena.configName(), error);
+                    am.getGlobalMessenger().tell(sender, "Failed to save the region snapshot of arena " + arena.configName() + ". Check the server log.");
+                }
+            })
+        );
+        am.getGlobalMessenger().tell(sender, "Saving the region snapshot of arena " + arena.configName() + "...");
+        return true;
+    }
+
+    @Override
+    public List<String> tab(ArenaMaster am, Player player, String... args) {
+        if (args.length > 1) {
+            return Collections.emptyList();
+        }
+
+        String prefix = args[0].toLowerCase();
+
+        List<Arena> arenas = am.getArenas();
+
+        return arenas.stream()
+            .filter(arena -> arena.getSlug().startsWith(prefix))
+            .map(Arena::getSlug)
+            .collect(Collectors.toList());
+    }
+}
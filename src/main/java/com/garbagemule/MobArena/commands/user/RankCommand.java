@@ -0,0 +1,97 @@
+package com.garbagemule.MobArena.commands.user;
+
+import com.garbagemule.MobArena.Msg;
+import com.garbagemule.MobArena.commands.Command;
+import com.garbagemule.MobArena.commands.CommandInfo;
+import com.garbagemule.MobArena.framework.Arena;
+import com.garbagemule.MobArena.framework.ArenaMaster;
+import com.garbagemule.MobArena.leaderboards.Stats;
+import com.garbagemule.MobArena.leaderboards.StatsRecord;
+import com.garbagemule.MobArena.leaderboards.StatsStore;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@CommandInfo(
+    name    = "rank",
+    pattern = "rank",
+    usage   = "/ma rank <arena> (<stat>) (<player>)",
+    desc    = "show the all-time rank of a player",
+    permission = "mobarena.use.rank"
+)
+public class RankCommand implements Command
+{
+    @Override
+    public boolean execute(ArenaMaster am, CommandSender sender, String... args) {
+        if (args.length < 1) return false;
+
+        Arena arena = am.getArenaWithName(args[0]);
+        if (arena == null) {
+            am.getGlobalMessenger().tell(sender, Msg.ARENA_DOES_NOT_EXIST);
+            return true;
+        }
+
+        Stats stat = Stats.LAST_WAVE;
+        if (args.length > 1) {
+            stat = Stats.getByShortName(args[1]);
+            if (stat == null || stat == Stats.PLAYER_NAME || stat == Stats.CLASS_NAME) {
+                am.getGlobalMessenger().tell(sender, Msg.RANK_UNKNOWN_STAT, args[1]);
+                return true;
+            }
+        }
+
+        Player target;
+        if (args.length > 2) {
+            target = am.getPlugin().getServer().getPlayer(args[2]);
+            if (target == null) {
+                am.getGlobalMessenger().tell(sender, Msg.RANK_PLAYER_NOT_ONLINE, args[2]);
+                return true;
+            }
+        } else if (sender instanceof Player) {
+            target = (Player) sender;
+        } else {
+            am.getGlobalMessenger().tell(sender, Msg.MISC_NOT_FROM_CONSOLE);
+            return true;
+        }
+
+        StatsStore store = am.getPlugin().getStatsStore();
+        StatsRecord record = store.get(arena, target.getUniqueId());
+        if (record == null) {
+            am.getGlobalMessenger().tell(sender, Msg.RANK_NOT_PLAYED, target.getName());
+            return true;
+        }
+
+        int rank = store.rankOf(arena, stat, target.getUniqueId());
+        am.getGlobalMessenger().tell(sender, target.getName() + " - " + stat.getFullName() + ": " + record.get(stat));
+        if (rank < 0) {
+            am.getGlobalMessenger().tell(sender, Msg.RANK_NOT_RANKED, String.valueOf(store.getCapacity()));
+        } else {
+            am.getGlobalMessenger().tell(sender, Msg.RANK_RANKED, String.valueOf(rank + 1));
+        }
+        return true;
+    }
+
+    @Override
+    public List<String> tab(ArenaMaster am, Player player, String... args) {
+        if (args.length == 1) {
+            String prefix = args[0].toLowerCase();
+            return am.getArenas().stream()
+                .map(Arena::getSlug)
+                .filter(slug -> slug.startsWith(prefix))
+                .collect(Collectors.toList());
+        }
+        if (args.length == 2) {
+            String prefix = args[1].toLowerCase();
+            return Arrays.stream(Stats.values())
+                .filter(stat -> stat != Stats.PLAYER_NAME && stat != Stats.CLASS_NAME)
+                .map(Stats::getShortName)
+                .filter(name -> name.toLowerCase().startsWith(prefix))
+                .collect(Collectors.toList());
+        }
+        return Collections.emptyList();
+    }
+}
@@ -4,9 +4,9 @@ import com.garbagemule.MobArena.framework.Arena;
 
 class BinaryFormula implements Formula {
 
-    private final BinaryOperation operation;
-    private final Formula left;
-    private final Formula right;
+    final BinaryOperation operation;
+    final Formula left;
+    final Formula right;
 
     BinaryFormula(BinaryOperation operation, Formula left, Formula right) {
         this.operation = operation;
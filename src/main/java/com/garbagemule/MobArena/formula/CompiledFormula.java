@@ -0,0 +1,141 @@
+package com.garbagemule.MobArena.formula;
+
+import com.garbagemule.MobArena.framework.Arena;
+
+import java.util.Arrays;
+
+/**
+ * A formula compiled to a flat postfix program.
+ * <p>
+ * Evaluation is a single loop over the instructions with a primitive
+ * operand stack, so there are no virtual calls for the tree nodes and
+ * no boxing for any of the built-in operators and functions. Only
+ * variables and custom operations are called through their interfaces.
+ * <p>
+ * The operand stack is shared by all compiled formulas on the same thread,
+ * so evaluation doesn't allocate. A formula that is evaluated from within
+ * another, e.g. by a variable, simply uses the part of the stack above the
+ * outer formula's operands.
+ */
+class CompiledFormula implements Formula {
+
+    static final byte PUSH = 0;
+    static final byte LOAD = 1;
+    static final byte CALL_UNARY = 2;
+    static final byte CALL_BINARY = 3;
+
+    static final byte NEG = 4;
+    static final byte ADD = 5;
+    static final byte SUB = 6;
+    static final byte MUL = 7;
+    static final byte DIV = 8;
+    static final byte MOD = 9;
+    static final byte POW = 10;
+
+    static final byte SQRT = 11;
+    static final byte ABS = 12;
+    static final byte CEIL = 13;
+    static final byte FLOOR = 14;
+    static final byte ROUND = 15;
+    static final byte SIN = 16;
+    static final byte COS = 17;
+    static final byte TAN = 18;
+    static final byte MIN = 19;
+    static final byte MAX = 20;
+
+    private static final ThreadLocal<Stack> STACKS = ThreadLocal.withInitial(Stack::new);
+
+    private final byte[] code;
+    private final int[] operands;
+    private final double[] constants;
+    private final Formula[] variables;
+    private final UnaryOperation[] unary;
+    private final BinaryOperation[] binary;
+    private final int depth;
+
+    CompiledFormula(
+        byte[] code,
+        int[] operands,
+        double[] constants,
+        Formula[] variables,
+        UnaryOperation[] unary,
+        BinaryOperation[] binary,
+        int depth
+    ) {
+        this.code = code;
+        this.operands = operands;
+        this.constants = constants;
+        this.variables = variables;
+        this.unary = unary;
+        this.binary = binary;
+        this.depth = depth;
+    }
+
+    @Override
+    public double evaluate(Arena arena) {
+        Stack shared = STACKS.get();
+        int base = shared.top;
+        double[] stack = shared.reserve(base + depth);
+        shared.top = base + depth;
+        try {
+            return run(arena, stack, base);
+        } finally {
+            shared.top = base;
+        }
+    }
+
+    private double run(Arena arena, double[] stack, int base) {
+        int sp = base;
+
+        for (int pc = 0; pc < code.length; pc++) {
+            switch (code[pc]) {
+                case PUSH:        stack[sp++] = constants[operands[pc]]; break;
+                case LOAD:        stack[sp++] = variables[operands[pc]].evaluate(arena); break;
+                case CALL_UNARY:  stack[sp - 1] = unary[operands[pc]].apply(stack[sp - 1]); break;
+                case CALL_BINARY: sp--; stack[sp - 1] = binary[operands[pc]].apply(stack[sp - 1], stack[sp]); break;
+
+                case NEG: stack[sp - 1] = -stack[sp - 1]; break;
+                case ADD: sp--; stack[sp - 1] = stack[sp - 1] + stack[sp]; break;
+                case SUB: sp--; stack[sp - 1] = stack[sp - 1] - stack[sp]; break;
+                case MUL: sp--; stack[sp - 1] = stack[sp - 1] * stack[sp]; break;
+                case DIV: sp--; stack[sp - 1] = stack[sp - 1] / stack[sp]; break;
+                case MOD: sp--; stack[sp - 1] = stack[sp - 1] % stack[sp]; break;
+                case POW: sp--; stack[sp - 1] = Math.pow(stack[sp - 1], stack[sp]); break;
+
+                case SQRT:  stack[sp - 1] = Math.sqrt(stack[sp - 1]); break;
+                case ABS:   stack[sp - 1] = Math.abs(stack[sp - 1]); break;
+                case CEIL:  stack[sp - 1] = Math.ceil(stack[sp - 1]); break;
+                case FLOOR: stack[sp - 1] = Math.floor(stack[sp - 1]); break;
+                case ROUND: stack[sp - 1] = (double) Math.round(stack[sp - 1]); break;
+                case SIN:   stack[sp - 1] = Math.sin(stack[sp - 1]); break;
+                case COS:   stack[sp - 1] = Math.cos(stack[sp - 1]); break;
+                case TAN:   stack[sp - 1] = Math.tan(stack[sp - 1]); break;
+                case MIN:   sp--; stack[sp - 1] = Math.min(stack[sp - 1], stack[sp]); break;
+                case MAX:   sp--; stack[sp - 1] = Math.max(stack[sp - 1], stack[sp]); break;
+
+                default: throw new IllegalStateException("Unknown instruction: " + code[pc]);
+            }
+        }
+
+        return stack[base];
+    }
+
+    int size() {
+        return code.length;
+    }
+
+    private static class Stack {
+
+        double[] values = new double[16];
+        int top = 0;
+
+        double[] reserve(int size) {
+            if (size > values.length) {
+                values = Arrays.copyOf(values, Math.max(size, values.length * 2));
+            }
+            return values;
+        }
+
+    }
+
+}
@@ -0,0 +1,191 @@
+package com.garbagemule.MobArena.formula;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns the formula trees built by the {@link Parser} into flat postfix
+ * programs.
+ * <p>
+ * Subtrees that consist solely of numbers, constants, and built-in
+ * operations are folded into a single value at compile time, e.g.
+ * {@code 2 * 3 + <current-wave>} becomes {@code 6 + <current-wave>}.
+ * Custom operations are never folded, because they may not return the
+ * same value every time they are called. Operations are applied in the
+ * same order as the tree would apply them, so the compiled formula
+ * evaluates to exactly the same result as the tree.
+ */
+class Compiler {
+
+    private static final Map<Object, Byte> BUILTINS = new IdentityHashMap<>();
+
+    static {
+        BUILTINS.put(Environment.NEGATE, CompiledFormula.NEG);
+        BUILTINS.put(Environment.ADD, CompiledFormula.ADD);
+        BUILTINS.put(Environment.SUBTRACT, CompiledFormula.SUB);
+        BUILTINS.put(Environment.MULTIPLY, CompiledFormula.MUL);
+        BUILTINS.put(Environment.DIVIDE, CompiledFormula.DIV);
+        BUILTINS.put(Environment.MODULO, CompiledFormula.MOD);
+        BUILTINS.put(Environment.POWER, CompiledFormula.POW);
+        BUILTINS.put(Environment.SQRT, CompiledFormula.SQRT);
+        BUILTINS.put(Environment.ABS, CompiledFormula.ABS);
+        BUILTINS.put(Environment.CEIL, CompiledFormula.CEIL);
+        BUILTINS.put(Environment.FLOOR, CompiledFormula.FLOOR);
+        BUILTINS.put(Environment.ROUND, CompiledFormula.ROUND);
+        BUILTINS.put(Environment.SIN, CompiledFormula.SIN);
+        BUILTINS.put(Environment.COS, CompiledFormula.COS);
+        BUILTINS.put(Environment.TAN, CompiledFormula.TAN);
+        BUILTINS.put(Environment.MIN, CompiledFormula.MIN);
+        BUILTINS.put(Environment.MAX, CompiledFormula.MAX);
+    }
+
+    private List<Byte> code;
+    private List<Integer> operands;
+    private List<Double> constants;
+    private List<Formula> variables;
+    private List<UnaryOperation> unary;
+    private List<BinaryOperation> binary;
+    private int sp;
+    private int depth;
+
+    Formula compile(Formula tree) {
+        Formula folded = fold(tree);
+
+        // Values and plain variables can't get any cheaper
+        if (!(folded instanceof UnaryFormula) && !(folded instanceof BinaryFormula)) {
+            return folded;
+        }
+
+        this.code = new ArrayList<>();
+        this.operands = new ArrayList<>();
+        this.constants = new ArrayList<>();
+        this.variables = new ArrayList<>();
+        this.unary = new ArrayList<>();
+        this.binary = new ArrayList<>();
+        this.sp = 0;
+        this.depth = 0;
+
+        emit(folded);
+        Formula result = build();
+
+        this.code = null;
+        this.operands = null;
+        this.constants = null;
+        this.variables = null;
+        this.unary = null;
+        this.binary = null;
+
+        return result;
+    }
+
+    private Formula fold(Formula formula) {
+        if (formula instanceof UnaryFormula) {
+            UnaryFormula node = (UnaryFormula) formula;
+            Formula argument = fold(node.argument);
+
+            // Unary plus doesn't do anything, so just drop it
+            if (node.operation == Environment.IDENTITY) {
+                return argument;
+            }
+            if (argument instanceof ValueFormula && BUILTINS.containsKey(node.operation)) {
+                double value = ((ValueFormula) argument).value;
+                return new ValueFormula(node.operation.apply(value));
+            }
+            return (argument == node.argument) ? node : new UnaryFormula(node.operation, argument);
+        }
+
+        if (formula instanceof BinaryFormula) {
+            BinaryFormula node = (BinaryFormula) formula;
+            Formula left = fold(node.left);
+            Formula right = fold(node.right);
+
+            if (left instanceof ValueFormula && right instanceof ValueFormula && BUILTINS.containsKey(node.operation)) {
+                double a = ((ValueFormula) left).value;
+                double b = ((ValueFormula) right).value;
+                return new ValueFormula(node.operation.apply(a, b));
+            }
+            if (left == node.left && right == node.right) {
+                return node;
+            }
+            return new BinaryFormula(node.operation, left, right);
+        }
+
+        return formula;
+    }
+
+    private void emit(Formula formula) {
+        if (formula instanceof ValueFormula) {
+            instruction(CompiledFormula.PUSH, constants.size(), 1);
+            constants.add(((ValueFormula) formula).value);
+            return;
+        }
+
+        if (formula instanceof UnaryFormula) {
+            UnaryFormula node = (UnaryFormula) formula;
+            emit(node.argument);
+
+            Byte builtin = BUILTINS.get(node.operation);
+            if (builtin != null) {
+                instruction(builtin, -1, 0);
+            } else {
+                instruction(CompiledFormula.CALL_UNARY, unary.size(), 0);
+                unary.add(node.operation);
+            }
+            return;
+        }
+
+        if (formula instanceof BinaryFormula) {
+            BinaryFormula node = (BinaryFormula) formula;
+            emit(node.left);
+            emit(node.right);
+
+            Byte builtin = BUILTINS.get(node.operation);
+            if (builtin != null) {
+                instruction(builtin, -1, -1);
+            } else {
+                instruction(CompiledFormula.CALL_BINARY, binary.size(), -1);
+                binary.add(node.operation);
+            }
+            return;
+        }
+
+        // Anything else is a variable (or some other opaque formula)
+        instruction(CompiledFormula.LOAD, variables.size(), 1);
+        variables.add(formula);
+    }
+
+    private void instruction(byte opcode, int operand, int effect) {
+        code.add(opcode);
+        operands.add(operand);
+        sp += effect;
+        depth = Math.max(depth, sp);
+    }
+
+    private Formula build() {
+        int size = code.size();
+        byte[] code = new byte[size];
+        int[] operands = new int[size];
+        for (int i = 0; i < size; i++) {
+            code[i] = this.code.get(i);
+            operands[i] = this.operands.get(i);
+        }
+
+        double[] constants = new double[this.constants.size()];
+        for (int i = 0; i < constants.length; i++) {
+            constants[i] = this.constants.get(i);
+        }
+
+        return new CompiledFormula(
+            code,
+            operands,
+            constants,
+            variables.toArray(new Formula[0]),
+            unary.toArray(new UnaryOperation[0]),
+            binary.toArray(new BinaryOperation[0]),
+            depth
+        );
+    }
+
+}
@@ -8,6 +8,30 @@ import java.util.Map;
 
 class Environment {
 
+    // The default operations are kept around so the compiler can recognize
+    // them and replace them with dedicated, non-boxing instructions.
+    static final UnaryOperation IDENTITY = value -> +value;
+    static final UnaryOperation NEGATE = value -> -value;
+
+    static final BinaryOperation ADD = (a, b) -> a + b;
+    static final BinaryOperation SUBTRACT = (a, b) -> a - b;
+    static final BinaryOperation MULTIPLY = (a, b) -> a * b;
+    static final BinaryOperation DIVIDE = (a, b) -> a / b;
+    static final BinaryOperation MODULO = (a, b) -> a % b;
+    static final BinaryOperation POWER = Math::pow;
+
+    static final UnaryOperation SQRT = Math::sqrt;
+    static final UnaryOperation ABS = Math::abs;
+    static final UnaryOperation CEIL = Math::ceil;
+    static final UnaryOperation FLOOR = Math::floor;
+    static final UnaryOperation ROUND = value -> (double) Math.round(value);
+    static final UnaryOperation SIN = Math::sin;
+    static final UnaryOperation COS = Math::cos;
+    static final UnaryOperation TAN = Math::tan;
+
+    static final BinaryOperation MIN = Math::min;
+    static final BinaryOperation MAX = Math::max;
+
     final List<Token> unary;
     final List<Token> binary;
     final List<Token> symbols;
@@ -128,7 +152,6 @@ class Environment {
         operators.add(i, token);
     }
 
-    @SuppressWarnings("Convert2MethodRef")
     static Environment createDefault() {
         Environment result = new Environment();
 
@@ -137,32 +160,32 @@ class Environment {
         result.registerConstant("e", Math.E);
 
         // Unary operators
-        result.registerUnaryOperator("+", 4, value -> +value);
-        result.registerUnaryOperator("-", 4, value -> -value);
+        result.registerUnaryOperator("+", 4, IDENTITY);
+        result.registerUnaryOperator("-", 4, NEGATE);
 
         // Binary operators
-        result.registerBinaryOperator("+", 2, true, (a, b) -> a + b);
-        result.registerBinaryOperator("-", 2, true, (a, b) -> a - b);
-        result.registerBinaryOperator("*", 3, true, (a, b) -> a * b);
-        result.registerBinaryOperator("/", 3, true, (a, b) -> a / b);
-        result.registerBinaryOperator("%", 3, true, (a, b) -> a % b);
-        result.registerBinaryOperator("^", 4, false, (a, b) -> Math.pow(a, b));
+        result.registerBinaryOperator("+", 2, true, ADD);
+        result.registerBinaryOperator("-", 2, true, SUBTRACT);
+        result.registerBinaryOperator("*", 3, true, MULTIPLY);
+        result.registerBinaryOperator("/", 3, true, DIVIDE);
+        result.registerBinaryOperator("%", 3, true, MODULO);
+        result.registerBinaryOperator("^", 4, false, POWER);
 
         // Unary functions
-        result.registerUnaryFunction("sqrt", Math::sqrt);
-        result.registerUnaryFunction("abs", Math::abs);
+        result.registerUnaryFunction("sqrt", SQRT);
+        result.registerUnaryFunction("abs", ABS);
 
-        result.registerUnaryFunction("ceil", Math::ceil);
-        result.registerUnaryFunction("floor", Math::floor);
-        result.registerUnaryFunction("round", value -> (double) Math.round(value));
+        result.registerUnaryFunction("ceil", CEIL);
+        result.registerUnaryFunction("floor", FLOOR);
+        result.registerUnaryFunction("round", ROUND);
 
-        result.registerUnaryFunction("sin", Math::sin);
-        result.registerUnaryFunction("cos", Math::cos);
-        result.registerUnaryFunction("tan", Math::tan);
+        result.registerUnaryFunction("sin", SIN);
+        result.registerUnaryFunction("cos", COS);
+        result.registerUnaryFunction("tan", TAN);
 
         // Binary functions
-        result.registerBinaryFunction("min", Math::min);
-        result.registerBinaryFunction("max", Math::max);
+        result.registerBinaryFunction("min", MIN);
+        result.registerBinaryFunction("max", MAX);
 
         return result;
     }
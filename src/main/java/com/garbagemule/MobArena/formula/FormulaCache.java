@@ -0,0 +1,67 @@
+package com.garbagemule.MobArena.formula;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, least-recently-used cache of parsed formulas, keyed by their
+ * normalized source text.
+ * <p>
+ * Arenas tend to use the same handful of formulas (usually the macros in
+ * formulas.yml), so caching them means each distinct formula is only
+ * lexed, parsed, and compiled once per reload instead of once per wave.
+ */
+class FormulaCache {
+
+    private final Map<String, Formula> entries;
+
+    FormulaCache(int capacity) {
+        this.entries = new LinkedHashMap<String, Formula>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Formula> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    synchronized Formula get(String key) {
+        return entries.get(key);
+    }
+
+    synchronized void put(String key, Formula formula) {
+        entries.put(key, formula);
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Normalize the given source text by trimming it and collapsing runs
+     * of whitespace into a single space. Whitespace is never significant
+     * to the lexer beyond separating tokens, so formulas that only differ
+     * in whitespace always parse to the same formula.
+     */
+    static String normalize(String source) {
+        StringBuilder buf = new StringBuilder(source.length());
+        boolean space = false;
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = buf.length() > 0;
+                continue;
+            }
+            if (space) {
+                buf.append(' ');
+                space = false;
+            }
+            buf.append(c);
+        }
+        return buf.toString();
+    }
+
+}
@@ -6,53 +6,92 @@ import java.util.List;
 
 public class FormulaManager {
 
+    private static final int CACHE_SIZE = 256;
+
     private final Environment env;
     private final Lexer lexer;
     private final Parser parser;
+    private final Compiler compiler;
+    private final FormulaCache cache;
 
     FormulaManager(
         Environment env,
         Lexer lexer,
-        Parser parser
+        Parser parser,
+        Compiler compiler
     ) {
         this.env = env;
         this.lexer = lexer;
         this.parser = parser;
+        this.compiler = compiler;
+        this.cache = new FormulaCache(CACHE_SIZE);
     }
 
     @SuppressWarnings("unused")
-    public void registerConstant(String name, double value) {
+    public synchronized void registerConstant(String name, double value) {
         env.registerConstant(name, value);
+        cache.clear();
     }
 
     @SuppressWarnings("unused")
-    public void registerVariable(String name, Formula formula) {
+    public synchronized void registerVariable(String name, Formula formula) {
         env.registerVariable(name, formula);
+        cache.clear();
     }
 
     @SuppressWarnings("unused")
-    public void registerUnaryOperator(String symbol, int precedence, UnaryOperation operation) {
+    public synchronized void registerUnaryOperator(String symbol, int precedence, UnaryOperation operation) {
         env.registerUnaryOperator(symbol, precedence, operation);
+        cache.clear();
     }
 
     @SuppressWarnings("unused")
-    public void registerBinaryOperator(String symbol, int precedence, boolean left, BinaryOperation operation) {
+    public synchronized void registerBinaryOperator(String symbol, int precedence, boolean left, BinaryOperation operation) {
         env.registerBinaryOperator(symbol, precedence, left, operation);
+        cache.clear();
     }
 
     @SuppressWarnings("unused")
-    public void registerUnaryFunction(String name, UnaryOperation operation) {
+    public synchronized void registerUnaryFunction(String name, UnaryOperation operation) {
         env.registerUnaryFunction(name, operation);
+        cache.clear();
     }
 
     @SuppressWarnings("unused")
-    public void registerBinaryFunction(String name, BinaryOperation operation) {
+    public synchronized void registerBinaryFunction(String name, BinaryOperation operation) {
         env.registerBinaryFunction(name, operation);
+        cache.clear();
     }
 
     public Formula parse(String input) {
-        List<Lexeme> infix = lexer.tokenize(input);
-        return parser.parse(input, infix);
+        String key = FormulaCache.normalize(input);
+        Formula cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // The lexer and parser are stateful, so only one parse at a time
+        synchronized (this) {
+            cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            List<Lexeme> infix = lexer.tokenize(input);
+            Formula tree = parser.parse(input, infix);
+            Formula result = compiler.compile(tree);
+            cache.put(key, result);
+            return result;
+        }
+    }
+
+    /**
+     * Throw away all cached formulas. Registering constants, variables,
+     * operators, or functions does this automatically, but anything else
+     * that changes what a given formula means (such as reloading macros)
+     * should call this method.
+     */
+    public void clearCache() {
+        cache.clear();
     }
 
     public static FormulaManager createDefault() {
@@ -74,8 +113,9 @@ public class FormulaManager {
 
         Lexer lexer = new Lexer(env);
         Parser parser = new Parser(env);
+        Compiler compiler = new Compiler();
 
-        return new FormulaManager(env, lexer, parser);
+        return new FormulaManager(env, lexer, parser, compiler);
     }
 
 }
@@ -4,8 +4,8 @@ import com.garbagemule.MobArena.framework.Arena;
 
 class UnaryFormula implements Formula {
 
-    private final UnaryOperation operation;
-    private final Formula argument;
+    final UnaryOperation operation;
+    final Formula argument;
 
     UnaryFormula(UnaryOperation operation, Formula argument) {
         this.operation = operation;
@@ -4,7 +4,7 @@ import com.garbagemule.MobArena.framework.Arena;
 
 class ValueFormula implements Formula {
 
-    private final double value;
+    final double value;
 
     ValueFormula(double value) {
         this.value = value;
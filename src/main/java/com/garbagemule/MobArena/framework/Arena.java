@@ -13,7 +13,9 @@ import com.garbagemule.MobArena.RewardManager;
 import com.garbagemule.MobArena.ScoreboardManager;
 import com.garbagemule.MobArena.leaderboards.Leaderboard;
 import com.garbagemule.MobArena.region.ArenaRegion;
+import com.garbagemule.MobArena.repairable.BlockJournal;
 import com.garbagemule.MobArena.repairable.Repairable;
+import com.garbagemule.MobArena.repairable.RestoreScheduler;
 import com.garbagemule.MobArena.things.Thing;
 import com.garbagemule.MobArena.things.ThingPicker;
 import com.garbagemule.MobArena.util.inventory.InventoryManager;
@@ -90,6 +92,8 @@ public interface Arena
 
     Set<Block> getBlocks();
 
+    boolean hasBlock(Block b);
+
     void addBlock(Block b);
 
     boolean removeBlock(Block b);
@@ -106,6 +110,8 @@ public interface Arena
 
     MonsterManager getMonsterManager();
 
+    PlayerPositions getPlayerPositions();
+
     ClassLimitManager getClassLimitManager();
 
     void revivePlayer(Player p);
@@ -177,6 +183,8 @@ public interface Arena
 
     void queueRepairable(Repairable r);
 
+    BlockJournal getBlockJournal();
+
 
 
     /*////////////////////////////////////////////////////////////////////
@@ -203,6 +211,8 @@ public interface Arena
 
     void restoreRegion();
 
+    RestoreScheduler getRestoreScheduler();
+
 
 
     /*////////////////////////////////////////////////////////////////////
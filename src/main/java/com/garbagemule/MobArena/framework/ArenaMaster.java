@@ -1,9 +1,12 @@
 package com.garbagemule.MobArena.framework;
 
 import com.garbagemule.MobArena.ArenaClass;
+import com.garbagemule.MobArena.ArenaEntityIndex;
+import com.garbagemule.MobArena.ArenaPlayerIndex;
 import com.garbagemule.MobArena.Messenger;
 import com.garbagemule.MobArena.MobArena;
 import com.garbagemule.MobArena.SpawnsPets;
+import com.garbagemule.MobArena.region.ArenaRegionIndex;
 import com.garbagemule.MobArena.util.JoinInterruptTimer;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -62,6 +65,16 @@ public interface ArenaMaster
 
     Arena getArenaAtLocation(Location loc);
 
+    /**
+     * Get the arenas whose region or lobby region is in the vicinity of the
+     * given location, i.e. the arenas that might care about events at the
+     * location. This is a cheap index lookup and may return arenas that do
+     * not actually contain the location.
+     */
+    List<Arena> getArenasNearLocation(Location loc);
+
+    ArenaRegionIndex getRegionIndex();
+
     List<Arena> getArenasInWorld(World world);
 
     List<Player> getAllPlayers();
@@ -82,6 +95,16 @@ public interface ArenaMaster
 
     Arena getArenaWithPet(Entity e);
 
+    /**
+     * Get the arena that owns the given entity, i.e. the arena in which the
+     * entity is a monster, boss, pet, mount or golem.
+     */
+    Arena getArenaWithEntity(Entity e);
+
+    ArenaEntityIndex getEntityIndex();
+
+    ArenaPlayerIndex getPlayerIndex();
+
     Arena getArenaWithName(String configName);
 
     Arena getArenaWithName(Collection<Arena> arenas, String configName);
@@ -9,7 +9,7 @@ import org.bukkit.entity.Player;
 
 class BossHealthBar implements HealthBar {
 
-    private static final double LOW_HEALTH = 0.25;
+    static final double LOW_HEALTH = 0.25;
 
     private final BossBar bar;
 
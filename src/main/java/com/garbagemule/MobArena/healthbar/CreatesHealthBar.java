@@ -1,18 +1,35 @@
 package com.garbagemule.MobArena.healthbar;
 
 import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
 
 public class CreatesHealthBar {
 
     private final String type;
+    private final Plugin plugin;
+    private final int interval;
     private final CreatesHealthString createsHealthString;
 
-    public CreatesHealthBar(String type) {
+    /**
+     * @param interval the minimum number of ticks between health bar
+     * updates, or 0 to update on every change
+     */
+    public CreatesHealthBar(String type, Plugin plugin, int interval) {
         this.type = type;
+        this.plugin = plugin;
+        this.interval = interval;
         this.createsHealthString = new CreatesHealthString();
     }
 
     public HealthBar create(Entity entity, String title) {
+        HealthBar bar = createBar(entity, title);
+        if (interval <= 0 || bar instanceof NullHealthBar) {
+            return bar;
+        }
+        return new ThrottledHealthBar(bar, plugin, interval);
+    }
+
+    private HealthBar createBar(Entity entity, String title) {
         String name = (title != null) ? title : "";
 
         switch (type) {
@@ -10,9 +10,25 @@ class CreatesHealthString {
     private static final int TOTAL_BARS = 20;
     private static final int LOW_BARS = TOTAL_BARS / 4;
 
+    // There are only so many ways to draw the bars, so draw them once
+    private final String[] strings;
+
+    CreatesHealthString() {
+        strings = new String[TOTAL_BARS + 1];
+        for (int bars = 0; bars <= TOTAL_BARS; bars++) {
+            strings[bars] = draw(bars);
+        }
+    }
+
     String create(double progress) {
         int bars = (int) (progress * TOTAL_BARS);
+        if (bars < 0 || bars > TOTAL_BARS) {
+            return draw(bars);
+        }
+        return strings[bars];
+    }
 
+    private String draw(int bars) {
         String current = IntStream.range(0, bars)
             .mapToObj(i -> "|")
             .collect(Collectors.joining());
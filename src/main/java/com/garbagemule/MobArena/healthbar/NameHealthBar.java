@@ -9,6 +9,8 @@ class NameHealthBar implements HealthBar {
     private final String title;
     private final CreatesHealthString createsHealthString;
 
+    private String name;
+
     NameHealthBar(Entity entity, String title, CreatesHealthString createsHealthString) {
         this.entity = entity;
         this.title = title;
@@ -21,8 +23,12 @@ class NameHealthBar implements HealthBar {
     public void setProgress(double progress) {
         String health = createsHealthString.create(progress);
         String name = title.isEmpty() ? health : title + " " + health;
+        if (name.equals(this.name)) {
+            return;
+        }
 
         entity.setCustomName(name);
+        this.name = name;
     }
 
     @Override
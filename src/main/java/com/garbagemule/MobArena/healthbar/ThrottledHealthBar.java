@@ -0,0 +1,98 @@
+package com.garbagemule.MobArena.healthbar;
+
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * A health bar that passes progress updates on to another health bar at
+ * most once per interval.
+ * <p>
+ * Only the latest progress matters, so updates that arrive within the
+ * interval of the last one are coalesced into a single delayed update.
+ * Updates that cross the low health threshold or reach zero are passed
+ * on right away, so the bar never lags behind on the changes players
+ * actually notice.
+ */
+class ThrottledHealthBar implements HealthBar {
+
+    private final HealthBar bar;
+    private final Plugin plugin;
+    private final long interval;
+
+    private double shown;
+    private double latest;
+    private long shownAt;
+    private BukkitTask pending;
+
+    ThrottledHealthBar(HealthBar bar, Plugin plugin, int intervalTicks) {
+        this.bar = bar;
+        this.plugin = plugin;
+        this.interval = intervalTicks * 50L;
+
+        this.shown = Double.NaN;
+        this.latest = Double.NaN;
+        this.shownAt = 0;
+        this.pending = null;
+    }
+
+    @Override
+    public void setProgress(double progress) {
+        latest = progress;
+
+        long left = shownAt + interval - System.currentTimeMillis();
+        if (left <= 0 || isSignificant(progress)) {
+            flush();
+        } else if (pending == null) {
+            long ticks = Math.max(1, (left + 49) / 50);
+            pending = plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+                pending = null;
+                flush();
+            }, ticks);
+        }
+    }
+
+    @Override
+    public void addPlayer(Player player) {
+        bar.addPlayer(player);
+    }
+
+    @Override
+    public void removePlayer(Player player) {
+        bar.removePlayer(player);
+    }
+
+    @Override
+    public void removeAll() {
+        cancel();
+        bar.removeAll();
+    }
+
+    private boolean isSignificant(double progress) {
+        if (Double.isNaN(shown)) {
+            return true;
+        }
+        if (progress <= 0) {
+            return shown > 0;
+        }
+        return (shown <= BossHealthBar.LOW_HEALTH) != (progress <= BossHealthBar.LOW_HEALTH);
+    }
+
+    private void flush() {
+        cancel();
+        if (latest == shown) {
+            return;
+        }
+        bar.setProgress(latest);
+        shown = latest;
+        shownAt = System.currentTimeMillis();
+    }
+
+    private void cancel() {
+        if (pending != null) {
+            pending.cancel();
+            pending = null;
+        }
+    }
+
+}
@@ -3,7 +3,10 @@ package com.garbagemule.MobArena.leaderboards;
 import com.garbagemule.MobArena.ArenaPlayerStatistics;
 import org.bukkit.block.Sign;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
 
 public abstract class AbstractLeaderboardColumn implements LeaderboardColumn
 {
@@ -11,31 +14,59 @@ public abstract class AbstractLeaderboardColumn implements LeaderboardColumn
     private Sign header;
     private List<Sign> signs;
 
+    // The text currently on the signs, four lines per sign
+    private String[] lines;
+
     public AbstractLeaderboardColumn(String statname, Sign header, List<Sign> signs) {
         this.statname     = statname;
         this.header       = header;
         this.signs        = signs;
+        this.lines        = new String[signs.size() * 4];
     }
 
     public void update(List<ArenaPlayerStatistics> stats) {
+        render(stats, this::getLine);
+    }
+
+    public void updateAllTime(List<StatsRecord> records) {
+        render(records, this::getLine);
+    }
+
+    private <T> void render(List<T> stats, Function<T, String> line) {
         // Make sure the stats will fit on the signs.
-        int range = Math.min(stats.size(), signs.size()*4);
+        int range = Math.min(stats.size(), lines.length);
 
-        for (int i = 0; i < range; i++) {
-            // Grab the right sign.
-            Sign s = signs.get(i/4);
+        for (int i = 0; i < signs.size(); i++) {
+            boolean dirty = false;
 
-            // Call the template method.
-            String value = getLine(stats.get(i));
+            for (int j = 0; j < 4; j++) {
+                int row = i * 4 + j;
+                if (row >= range) {
+                    break;
+                }
 
-            // And set the line
-            s.setLine(i % 4, value);
-            s.update();
+                // Call the template method.
+                String value = line.apply(stats.get(row));
+
+                // And set the line, but only if it changed
+                if (!Objects.equals(value, lines[row])) {
+                    signs.get(i).setLine(j, value);
+                    lines[row] = value;
+                    dirty = true;
+                }
+            }
+
+            // Only send the sign update if the text actually changed
+            if (dirty) {
+                signs.get(i).update();
+            }
         }
     }
 
     public abstract String getLine(ArenaPlayerStatistics stats);
 
+    public abstract String getLine(StatsRecord record);
+
     public void clear() {
         for (Sign s : signs) {
             s.setLine(0, "");
@@ -44,6 +75,7 @@ public abstract class AbstractLeaderboardColumn implements LeaderboardColumn
             s.setLine(3, "");
             s.update();
         }
+        Arrays.fill(lines, "");
     }
 
     public Sign getHeader() {
@@ -15,4 +15,9 @@ public class ClassLeaderboardColumn extends AbstractLeaderboardColumn
     public String getLine(ArenaPlayerStatistics stats) {
         return stats.getClassName();
     }
+
+    @Override
+    public String getLine(StatsRecord record) {
+        return record.getClassName();
+    }
 }
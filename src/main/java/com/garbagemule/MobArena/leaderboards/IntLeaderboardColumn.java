@@ -7,12 +7,20 @@ import java.util.List;
 
 public class IntLeaderboardColumn extends AbstractLeaderboardColumn
 {
+    private Stats stat;
+
     public IntLeaderboardColumn(String statname, Sign header, List<Sign> signs) {
         super(statname, header, signs);
+        this.stat = Stats.getByShortName(statname);
     }
 
     @Override
     public String getLine(ArenaPlayerStatistics stats) {
-        return "" + stats.getInt(statname);
+        return Integer.toString(stats.get(stat));
+    }
+
+    @Override
+    public String getLine(StatsRecord record) {
+        return Integer.toString(record.get(stat));
     }
 }
@@ -14,7 +14,6 @@ import org.bukkit.block.data.BlockData;
 import org.bukkit.block.data.Directional;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 public class Leaderboard
@@ -28,9 +27,10 @@ public class Leaderboard
     private int rows, cols, trackingId;
 
     private List<LeaderboardColumn> boards;
-    private List<ArenaPlayerStatistics> stats;
+    private LeaderboardRanking ranking;
 
-    private boolean isValid;
+    private boolean isValid, cleared, allTime;
+    private int storeVersion;
 
     /**
      * Private constructor.
@@ -42,8 +42,9 @@ public class Leaderboard
     {
         this.plugin = plugin;
         this.arena  = arena;
-        this.boards = new ArrayList<>();
-        this.stats  = new ArrayList<>();
+        this.boards  = new ArrayList<>();
+        this.ranking = new LeaderboardRanking(ArenaPlayerStatistics.waveComparator());
+        this.allTime = arena.getSettings().getString("leaderboard-mode", "session").equalsIgnoreCase("all-time");
     }
 
     /**
@@ -87,16 +88,45 @@ public class Leaderboard
     {
         for (LeaderboardColumn column : boards)
             column.clear();
+
+        // Make sure the next update renders, even if nothing changed
+        cleared = true;
     }
 
     public void update()
     {
-        Collections.sort(stats, ArenaPlayerStatistics.waveComparator());
+        if (allTime) {
+            updateAllTime();
+            return;
+        }
 
+        // Nothing to re-render if no stats changed since the last update
+        if (!ranking.refresh() && !cleared) {
+            return;
+        }
+        cleared = false;
+
+        List<ArenaPlayerStatistics> stats = ranking.getRanked();
         for (LeaderboardColumn column : boards)
             column.update(stats);
     }
 
+    private void updateAllTime()
+    {
+        // Nothing to re-render if no sessions were recorded since the last update
+        StatsStore store = plugin.getStatsStore();
+        int version = store.getVersion(arena);
+        if (version == storeVersion && !cleared) {
+            return;
+        }
+        storeVersion = version;
+        cleared = false;
+
+        List<StatsRecord> records = store.top(arena, Stats.LAST_WAVE);
+        for (LeaderboardColumn column : boards)
+            column.updateAllTime(records);
+    }
+
     public void startTracking()
     {
         trackingId = plugin.getServer().getScheduler().scheduleSyncRepeatingTask(plugin,
@@ -221,9 +251,10 @@ public class Leaderboard
 
     private void initializeStats()
     {
-        stats.clear();
+        List<ArenaPlayerStatistics> stats = new ArrayList<>();
         for (ArenaPlayer ap : arena.getArenaPlayerSet())
             stats.add(ap.getStats());
+        ranking.reset(stats);
     }
 
     private int getSignCount(Sign s, BlockFace direction)
@@ -13,6 +13,12 @@ public interface LeaderboardColumn
      */
     void update(List<ArenaPlayerStatistics> stats);
 
+    /**
+     * Update all the signs in this column to the all-time values
+     * of the player stat associated with this column.
+     */
+    void updateAllTime(List<StatsRecord> records);
+
     /**
      * Get the String representation of the stat in question.
      * The line is calculated by simply calling the appropriate
@@ -22,6 +28,13 @@ public interface LeaderboardColumn
      */
     String getLine(ArenaPlayerStatistics stats);
 
+    /**
+     * Get the String representation of the all-time stat in question.
+     * @param record a StatsRecord object
+     * @return the String representation of the stat in question
+     */
+    String getLine(StatsRecord record);
+
     /**
      * Clear the text on all the signs in the column.
      */
@@ -0,0 +1,84 @@
+package com.garbagemule.MobArena.leaderboards;
+
+import com.garbagemule.MobArena.ArenaPlayerStatistics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sorted list of player statistics that is kept up to date incrementally.
+ * <p>
+ * Instead of re-sorting the whole list on every refresh, the ranking keeps
+ * track of the last seen {@link ArenaPlayerStatistics#getVersion() version}
+ * of each entry and only repositions the entries that have changed since
+ * the previous refresh.
+ */
+class LeaderboardRanking
+{
+    private final Comparator<ArenaPlayerStatistics> comparator;
+    private final List<ArenaPlayerStatistics> ranked;
+    private final Map<ArenaPlayerStatistics, Integer> versions;
+    private final List<ArenaPlayerStatistics> changed;
+
+    LeaderboardRanking(Comparator<ArenaPlayerStatistics> comparator) {
+        this.comparator = comparator;
+        this.ranked     = new ArrayList<>();
+        this.versions   = new IdentityHashMap<>();
+        this.changed    = new ArrayList<>();
+    }
+
+    /**
+     * Replace the contents of the ranking with the given statistics.
+     */
+    void reset(Collection<ArenaPlayerStatistics> stats) {
+        ranked.clear();
+        versions.clear();
+        for (ArenaPlayerStatistics s : stats) {
+            ranked.add(s);
+            versions.put(s, s.getVersion());
+        }
+        ranked.sort(comparator);
+    }
+
+    /**
+     * Reposition all entries that have changed since the last refresh.
+     *
+     * @return true, if any entries had changed, false otherwise
+     */
+    boolean refresh() {
+        // Pull out the changed entries, compacting the rest in place
+        int size = ranked.size();
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            ArenaPlayerStatistics s = ranked.get(i);
+            int version = s.getVersion();
+            if (versions.get(s) != version) {
+                versions.put(s, version);
+                changed.add(s);
+            } else {
+                ranked.set(kept++, s);
+            }
+        }
+        if (changed.isEmpty()) {
+            return false;
+        }
+        ranked.subList(kept, size).clear();
+
+        // The remaining entries are still sorted, so binary insert
+        for (ArenaPlayerStatistics s : changed) {
+            int index = Collections.binarySearch(ranked, s, comparator);
+            ranked.add(index < 0 ? -(index + 1) : index, s);
+        }
+        changed.clear();
+        return true;
+    }
+
+    List<ArenaPlayerStatistics> getRanked() {
+        return ranked;
+    }
+}
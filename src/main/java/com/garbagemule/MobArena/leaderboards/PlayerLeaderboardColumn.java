@@ -15,4 +15,9 @@ public class PlayerLeaderboardColumn extends AbstractLeaderboardColumn
     public String getLine(ArenaPlayerStatistics stats) {
         return stats.getPlayerName();
     }
+
+    @Override
+    public String getLine(StatsRecord record) {
+        return record.getPlayerName();
+    }
 }
@@ -0,0 +1,65 @@
+package com.garbagemule.MobArena.leaderboards;
+
+import java.util.UUID;
+
+/**
+ * All-time statistics of a single player in a single arena.
+ * <p>
+ * Counters are totals across all sessions, except for the last wave,
+ * which is the best wave the player has ever reached.
+ */
+public class StatsRecord
+{
+    private final String arenaId;
+    private final UUID playerId;
+    private String playerName;
+    private String className;
+    private final int[] values;
+
+    StatsRecord(String arenaId, UUID playerId, String playerName, String className) {
+        this.arenaId    = arenaId;
+        this.playerId   = playerId;
+        this.playerName = playerName;
+        this.className  = className;
+        this.values     = new int[Stats.values().length];
+    }
+
+    public String getArenaId() {
+        return arenaId;
+    }
+
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public int get(Stats stat) {
+        return values[stat.ordinal()];
+    }
+
+    /**
+     * Merge the given session values into this record.
+     */
+    void merge(String playerName, String className, int[] session) {
+        this.playerName = playerName;
+        this.className  = className;
+        for (int i = 0; i < values.length; i++) {
+            if (i == Stats.LAST_WAVE.ordinal()) {
+                values[i] = Math.max(values[i], session[i]);
+            } else {
+                values[i] += session[i];
+            }
+        }
+    }
+
+    int[] values() {
+        return values;
+    }
+}
@@ -0,0 +1,384 @@
+package com.garbagemule.MobArena.leaderboards;
+
+import com.garbagemule.MobArena.ArenaPlayerStatistics;
+import com.garbagemule.MobArena.framework.Arena;
+import com.garbagemule.MobArena.util.AtomicFiles;
+import org.bukkit.entity.Player;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Persistent, cross-session player statistics.
+ * <p>
+ * Every finished session is appended to a log file, and the log is folded
+ * into a snapshot file every now and then. All file IO happens on a single
+ * background thread, so the main thread only ever touches the in-memory
+ * aggregates and the per-stat top lists.
+ * <p>
+ * Each log line carries a sequence number, and the snapshot remembers the
+ * last sequence number it contains, so a crash in the middle of compaction
+ * never counts a session twice.
+ */
+public class StatsStore
+{
+    private static final String SNAPSHOT_HEADER = "#seq=";
+    private static final String SEPARATOR = ";";
+    static final int COMPACT_INTERVAL = 100;
+
+    private final Path logFile;
+    private final Path snapshotFile;
+    private final int capacity;
+    private final Logger log;
+
+    private final Map<String, Map<UUID, StatsRecord>> records;
+    private final Map<String, Map<Stats, StatsTopList>> tops;
+    private final Map<String, Integer> versions;
+    private final ExecutorService writer;
+
+    private long seq;
+    private int appended;
+
+    // Only ever touched by the writer thread
+    private BufferedWriter out;
+
+    StatsStore(Path dir, int capacity, Logger log) {
+        this.logFile      = dir.resolve("stats.log");
+        this.snapshotFile = dir.resolve("stats.csv");
+        this.capacity     = capacity;
+        this.log          = log;
+
+        this.records  = new HashMap<>();
+        this.tops     = new HashMap<>();
+        this.versions = new HashMap<>();
+        this.writer   = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "MobArena-Stats");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Create a store in the data folder of the given root directory and
+     * load whatever is already on disk.
+     */
+    public static StatsStore create(Path root, int capacity, Logger log) {
+        StatsStore store = new StatsStore(root.resolve("data"), capacity, log);
+        try {
+            store.load();
+        } catch (IOException e) {
+            log.log(Level.SEVERE, "Failed to read from leaderboard data files", e);
+        }
+        return store;
+    }
+
+    void load() throws IOException {
+        Map<String, Map<UUID, StatsRecord>> loaded = new HashMap<>();
+        long last = read(loaded);
+
+        records.clear();
+        tops.clear();
+        versions.clear();
+        loaded.forEach((arena, byPlayer) -> {
+            records.put(arena, byPlayer);
+            byPlayer.values().forEach(this::index);
+        });
+        seq = last;
+    }
+
+    /**
+     * Fold the session statistics of the given player into the all-time
+     * statistics of the given arena, and queue the session for writing.
+     */
+    public void record(Arena arena, Player player, ArenaPlayerStatistics stats) {
+        String slug = arena.getSlug();
+        int[] values = new int[Stats.values().length];
+        for (Stats stat : Stats.values()) {
+            if (isNumeric(stat)) {
+                values[stat.ordinal()] = stats.get(stat);
+            }
+        }
+
+        String name = stats.getPlayerName();
+        String className = stats.getClassName();
+        StatsRecord record = apply(records, slug, player.getUniqueId(), name, className, values);
+        index(record);
+        versions.merge(slug, 1, Integer::sum);
+
+        String line = format(++seq, slug, player.getUniqueId(), name, className, values);
+        boolean compact = ++appended % COMPACT_INTERVAL == 0;
+        submit(() -> {
+            append(line);
+            if (compact) {
+                compact();
+            }
+        });
+    }
+
+    /**
+     * Get the best records of the given arena for the given stat, best
+     * first. The list is a read-only view and holds at most as many
+     * records as the configured capacity.
+     */
+    public List<StatsRecord> top(Arena arena, Stats stat) {
+        Map<Stats, StatsTopList> lists = tops.get(arena.getSlug());
+        if (lists == null || !lists.containsKey(stat)) {
+            return Collections.emptyList();
+        }
+        return lists.get(stat).getRecords();
+    }
+
+    /**
+     * Get the all-time record of the given player in the given arena.
+     *
+     * @return the record, or null if the player has never played the arena
+     */
+    public StatsRecord get(Arena arena, UUID playerId) {
+        Map<UUID, StatsRecord> byPlayer = records.get(arena.getSlug());
+        return (byPlayer != null) ? byPlayer.get(playerId) : null;
+    }
+
+    /**
+     * Get the zero-based rank of the given player in the top list of the
+     * given arena and stat.
+     *
+     * @return the rank, or -1 if the player is not on the list
+     */
+    public int rankOf(Arena arena, Stats stat, UUID playerId) {
+        StatsRecord record = get(arena, playerId);
+        if (record == null) {
+            return -1;
+        }
+        StatsTopList list = tops.get(arena.getSlug()).get(stat);
+        return (list != null) ? list.rankOf(record) : -1;
+    }
+
+    /**
+     * Get the modification count of the records of the given arena. The
+     * value changes every time a session is recorded in the arena.
+     */
+    public int getVersion(Arena arena) {
+        return versions.getOrDefault(arena.getSlug(), 0);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Wait for all queued writes to finish.
+     */
+    void flush() throws InterruptedException {
+        try {
+            writer.submit(() -> {}).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Compact the log and stop the writer thread, waiting for any pending
+     * writes to finish.
+     */
+    public void close() {
+        submit(this::compact);
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warning("Timed out waiting for leaderboard data to be written");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void index(StatsRecord record) {
+        Map<Stats, StatsTopList> lists = tops.computeIfAbsent(record.getArenaId(), slug -> {
+            Map<Stats, StatsTopList> result = new EnumMap<>(Stats.class);
+            for (Stats stat : Stats.values()) {
+                if (isNumeric(stat)) {
+                    result.put(stat, new StatsTopList(stat, capacity));
+                }
+            }
+            return result;
+        });
+        lists.values().forEach(list -> list.update(record));
+    }
+
+    private void submit(Runnable task) {
+        if (writer.isShutdown()) {
+            return;
+        }
+        writer.execute(task);
+    }
+
+    private void append(String line) {
+        try {
+            if (out == null) {
+                Files.createDirectories(logFile.getParent());
+                out = Files.newBufferedWriter(
+                    logFile,
+                    StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND
+                );
+            }
+            out.write(line);
+            out.newLine();
+            out.flush();
+        } catch (IOException e) {
+            log.log(Level.SEVERE, "Failed to write to leaderboard log file", e);
+        }
+    }
+
+    private void compact() {
+        try {
+            if (out != null) {
+                out.close();
+                out = null;
+            }
+            if (Files.notExists(logFile)) {
+                return;
+            }
+
+            Map<String, Map<UUID, StatsRecord>> all = new HashMap<>();
+            long last = read(all);
+
+            List<String> lines = new ArrayList<>();
+            lines.add(SNAPSHOT_HEADER + last);
+            all.values().forEach(byPlayer -> byPlayer.values().forEach(record -> lines.add(format(
+                0,
+                record.getArenaId(),
+                record.getPlayerId(),
+                record.getPlayerName(),
+                record.getClassName(),
+                record.values()
+            ))));
+
+            AtomicFiles.write(snapshotFile, lines);
+            Files.delete(logFile);
+        } catch (IOException e) {
+            log.log(Level.SEVERE, "Failed to compact leaderboard log file", e);
+        }
+    }
+
+    /**
+     * Read the snapshot and the log into the given map.
+     *
+     * @return the highest sequence number seen
+     */
+    private long read(Map<String, Map<UUID, StatsRecord>> target) throws IOException {
+        long last = 0;
+        if (Files.exists(snapshotFile)) {
+            for (String line : Files.readAllLines(snapshotFile, StandardCharsets.UTF_8)) {
+                if (line.startsWith(SNAPSHOT_HEADER)) {
+                    last = Long.parseLong(line.substring(SNAPSHOT_HEADER.length()).trim());
+                } else {
+                    parse(target, line);
+                }
+            }
+        }
+        if (Files.exists(logFile)) {
+            for (String line : Files.readAllLines(logFile, StandardCharsets.UTF_8)) {
+                long current = parse(target, line, last);
+                last = Math.max(last, current);
+            }
+        }
+        return last;
+    }
+
+    private void parse(Map<String, Map<UUID, StatsRecord>> target, String line) {
+        parse(target, line, -1);
+    }
+
+    /**
+     * Parse a single line and apply it, unless its sequence number is at
+     * or below the given threshold.
+     *
+     * @return the sequence number of the line, or 0 if it was skipped
+     */
+    private long parse(Map<String, Map<UUID, StatsRecord>> target, String line, long threshold) {
+        if (line.isEmpty()) {
+            return 0;
+        }
+        String[] parts = line.split(SEPARATOR, -1);
+        if (parts.length != 5 + numericCount()) {
+            log.warning("Skipping malformed leaderboard data: " + line);
+            return 0;
+        }
+        try {
+            long current = Long.parseLong(parts[0]);
+            if (current <= threshold) {
+                return 0;
+            }
+            UUID playerId = UUID.fromString(parts[2]);
+            int[] values = new int[Stats.values().length];
+            int i = 5;
+            for (Stats stat : Stats.values()) {
+                if (isNumeric(stat)) {
+                    values[stat.ordinal()] = Integer.parseInt(parts[i++]);
+                }
+            }
+            apply(target, parts[1], playerId, parts[3], parts[4], values);
+            return current;
+        } catch (IllegalArgumentException e) {
+            log.warning("Skipping malformed leaderboard data: " + line);
+            return 0;
+        }
+    }
+
+    private static StatsRecord apply(Map<String, Map<UUID, StatsRecord>> target, String arena, UUID playerId, String name, String className, int[] values) {
+        StatsRecord record = target
+            .computeIfAbsent(arena, slug -> new HashMap<>())
+            .computeIfAbsent(playerId, id -> new StatsRecord(arena, id, name, className));
+        record.merge(name, className, values);
+        return record;
+    }
+
+    private static String format(long seq, String arena, UUID playerId, String name, String className, int[] values) {
+        StringBuilder buf = new StringBuilder(64);
+        buf.append(seq).append(SEPARATOR)
+            .append(clean(arena)).append(SEPARATOR)
+            .append(playerId).append(SEPARATOR)
+            .append(clean(name)).append(SEPARATOR)
+            .append(clean(className));
+        for (Stats stat : Stats.values()) {
+            if (isNumeric(stat)) {
+                buf.append(SEPARATOR).append(values[stat.ordinal()]);
+            }
+        }
+        return buf.toString();
+    }
+
+    private static String clean(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace(SEPARATOR, "_").replace('\n', '_').replace('\r', '_');
+    }
+
+    private static boolean isNumeric(Stats stat) {
+        return stat != Stats.PLAYER_NAME && stat != Stats.CLASS_NAME;
+    }
+
+    private static int numericCount() {
+        return Stats.values().length - 2;
+    }
+}
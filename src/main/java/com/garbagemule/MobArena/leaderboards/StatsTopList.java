@@ -0,0 +1,70 @@
+package com.garbagemule.MobArena.leaderboards;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Bounded, sorted list of the best records for a single stat.
+ * <p>
+ * All-time values never decrease, so a record can only ever climb the
+ * list. An update therefore only has to take the record out (if it is
+ * already on the list), binary insert it again, and drop whatever falls
+ * off the end.
+ */
+class StatsTopList
+{
+    private final Comparator<StatsRecord> comparator;
+    private final int capacity;
+    private final List<StatsRecord> records;
+    private final List<StatsRecord> view;
+
+    StatsTopList(Stats stat, int capacity) {
+        this.comparator = comparator(stat);
+        this.capacity   = capacity;
+        this.records    = new ArrayList<>(capacity + 1);
+        this.view       = Collections.unmodifiableList(records);
+    }
+
+    /**
+     * Reposition the given record, which must have just been updated.
+     */
+    void update(StatsRecord record) {
+        records.remove(record);
+
+        int index = Collections.binarySearch(records, record, comparator);
+        if (index < 0) {
+            index = -(index + 1);
+        }
+        if (index >= capacity) {
+            return;
+        }
+        records.add(index, record);
+
+        if (records.size() > capacity) {
+            records.remove(capacity);
+        }
+    }
+
+    /**
+     * Get the zero-based rank of the given record.
+     *
+     * @return the rank, or -1 if the record is not on the list
+     */
+    int rankOf(StatsRecord record) {
+        return records.indexOf(record);
+    }
+
+    List<StatsRecord> getRecords() {
+        return view;
+    }
+
+    static Comparator<StatsRecord> comparator(Stats stat) {
+        Comparator<StatsRecord> result = (r1, r2) -> Integer.compare(r2.get(stat), r1.get(stat));
+        if (stat == Stats.LAST_WAVE) {
+            result = result.thenComparing((r1, r2) -> Integer.compare(r2.get(Stats.KILLS), r1.get(Stats.KILLS)));
+        }
+        return result;
+    }
+}
@@ -1,5 +1,6 @@
 package com.garbagemule.MobArena.listeners;
 
+import com.garbagemule.MobArena.ArenaPlayerIndex;
 import com.garbagemule.MobArena.MobArena;
 import com.garbagemule.MobArena.PluginVersionCheck;
 import com.garbagemule.MobArena.framework.Arena;
@@ -8,7 +9,11 @@ import com.garbagemule.MobArena.leaderboards.Stats;
 import com.garbagemule.MobArena.util.inventory.InventoryManager;
 import org.bukkit.ChatColor;
 import org.bukkit.block.Block;
+import org.bukkit.entity.ArmorStand;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
+import org.bukkit.entity.Snowman;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
@@ -79,44 +84,44 @@ public class MAGlobalListener implements Listener
 
     @EventHandler(priority = EventPriority.HIGHEST)
     public void blockBreak(BlockBreakEvent event) {
-        for (Arena arena : am.getArenas())
+        for (Arena arena : am.getArenasNearLocation(event.getBlock().getLocation()))
             arena.getEventListener().onBlockBreak(event);
     }
 
     @EventHandler
     public void hangingBreak(HangingBreakEvent event) {
-        for (Arena arena : am.getArenas())
+        for (Arena arena : am.getArenasNearLocation(event.getEntity().getLocation()))
             arena.getEventListener().onHangingBreak(event);
     }
 
     @EventHandler(priority = EventPriority.HIGHEST)
     public void blockBurn(BlockBurnEvent event) {
-        for (Arena arena : am.getArenas())
+        for (Arena arena : am.getArenasNearLocation(event.getBlock().getLocation()))
             arena.getEventListener().onBlockBurn(event);
     }
 
     @EventHandler(priority = EventPriority.NORMAL)
     public void blockForm(BlockFormEvent event) {
-        for (Arena arena : am.getArenas())
+        for (Arena arena : am.getArenasNearLocation(event.getBlock().getLocation()))
             arena.getEventListener().onBlockForm(event);
     }
 
     @EventHandler(priority = EventPriority.NORMAL)
     public void blockFade(BlockFadeEvent event) {
-        for (Arena arena : am.getArenas()) {
+        for (Arena arena : am.getArenasNearLocation(event.getBlock().getLocation())) {
             arena.getEventListener().onBlockFade(event);
         }
     }
 
     @EventHandler(priority = EventPriority.HIGH)
     public void blockIgnite(BlockIgniteEvent event) {
-        for (Arena arena : am.getArenas())
+        for (Arena arena : am.getArenasNearLocation(event.getBlock().getLocation()))
             arena.getEventListener().onBlockIgnite(event);
     }
 
     @EventHandler(priority = EventPriority.HIGHEST)
     public void blockPlace(BlockPlaceEvent event) {
-        for (Arena arena : am.getArenas())
+        for (Arena arena : am.getArenasNearLocation(event.getBlock().getLocation()))
             arena.getEventListener().onBlockPlace(event);
     }
 
@@ -162,38 +167,66 @@ public class MAGlobalListener implements Listener
 
     @EventHandler(priority = EventPriority.HIGHEST)
     public void creatureSpawn(CreatureSpawnEvent event) {
-        for (Arena arena : am.getArenas())
+        for (Arena arena : am.getArenasNearLocation(event.getLocation()))
             arena.getEventListener().onCreatureSpawn(event);
     }
 
     @EventHandler(priority = EventPriority.NORMAL)
     public void onEntityChangeBlock(EntityChangeBlockEvent event) {
-        for (Arena arena : am.getArenas())
+        for (Arena arena : am.getArenasNearLocation(event.getBlock().getLocation()))
             arena.getEventListener().onEntityChangeBlock(event);
     }
 
     @EventHandler(priority = EventPriority.NORMAL)
     public void entityCombust(EntityCombustEvent event) {
-        for (Arena arena : am.getArenas())
+        Arena arena = am.getArenaWithEntity(event.getEntity());
+        if (arena != null)
             arena.getEventListener().onEntityCombust(event);
     }
 
     @EventHandler(priority = EventPriority.LOW)
     public void entityDamage(EntityDamageEvent event) {
-        for (Arena arena : am.getArenas())
+        Entity damagee = event.getEntity();
+
+        Arena arena = (damagee instanceof Player)
+            ? am.getArenaWithPlayer((Player) damagee)
+            : am.getArenaWithEntity(damagee);
+        if (arena != null) {
             arena.getEventListener().onEntityDamage(event);
+            return;
+        }
+
+        // Foreign armor stands and snowmen are protected by region
+        if (damagee instanceof ArmorStand || damagee instanceof Snowman) {
+            for (Arena near : am.getArenasNearLocation(damagee.getLocation()))
+                near.getEventListener().onEntityDamage(event);
+        }
     }
 
     @EventHandler(priority = EventPriority.LOWEST)
     public void entityDeath(EntityDeathEvent event) {
-        for (Arena arena : am.getArenas())
+        LivingEntity entity = event.getEntity();
+
+        Arena arena = (entity instanceof Player)
+            ? am.getArenaWithPlayer((Player) entity)
+            : am.getArenaWithEntity(entity);
+        if (arena != null)
             arena.getEventListener().onEntityDeath(event);
     }
 
     @EventHandler(priority = EventPriority.HIGHEST)
     public void entityExplode(EntityExplodeEvent event) {
-        for (Arena arena : am.getArenas())
+        List<Arena> nearby = am.getArenasNearLocation(event.getLocation());
+        for (Arena arena : nearby)
             arena.getEventListener().onEntityExplode(event);
+
+        // Arena monsters (e.g. creepers) that wandered off still count
+        if (event.getEntity() != null) {
+            Arena owner = am.getArenaWithMonster(event.getEntity());
+            if (owner != null && !nearby.contains(owner)) {
+                owner.getEventListener().onEntityExplode(event);
+            }
+        }
     }
 
     @EventHandler(priority = EventPriority.HIGHEST)
@@ -226,7 +259,15 @@ public class MAGlobalListener implements Listener
 
     @EventHandler(priority = EventPriority.NORMAL)
     public void entityTarget(EntityTargetEvent event) {
-        for (Arena arena : am.getArenas())
+        Arena arena = am.getArenaWithEntity(event.getEntity());
+        if (arena == null) {
+            // Foreign entities only matter if they target arena entities
+            Entity target = event.getTarget();
+            arena = (target instanceof Player)
+                ? am.getArenaWithPlayer((Player) target)
+                : am.getArenaWithEntity(target);
+        }
+        if (arena != null)
             arena.getEventListener().onEntityTarget(event);
     }
 
@@ -239,7 +280,7 @@ public class MAGlobalListener implements Listener
 
     @EventHandler(priority = EventPriority.NORMAL)
     public void potionSplash(PotionSplashEvent event) {
-        for (Arena arena : am.getArenas()) {
+        for (Arena arena : am.getArenasNearLocation(event.getPotion().getLocation())) {
             arena.getEventListener().onPotionSplash(event);
         }
     }
@@ -271,10 +312,12 @@ public class MAGlobalListener implements Listener
     public void playerChat(AsyncPlayerChatEvent event) {
         if (!am.isEnabled()) return;
 
-        Arena arena = am.getArenaWithPlayer(event.getPlayer());
+        // This event is async, so only use the thread-safe player index
+        ArenaPlayerIndex index = am.getPlayerIndex();
+        Arena arena = index.get(event.getPlayer());
         if (arena == null || !arena.hasIsolatedChat()) return;
 
-        event.getRecipients().retainAll(arena.getAllPlayers());
+        event.getRecipients().retainAll(index.getMembers(arena));
     }
 
     @EventHandler(priority = EventPriority.LOWEST)
@@ -8,7 +8,10 @@ import com.garbagemule.MobArena.ConfigError;
 import com.garbagemule.MobArena.MAUtils;
 import com.garbagemule.MobArena.MobArena;
 import com.garbagemule.MobArena.framework.Arena;
+import com.garbagemule.MobArena.framework.ArenaMaster;
 import com.garbagemule.MobArena.util.Enums;
+import com.garbagemule.MobArena.waves.WaveManager;
+import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
@@ -21,12 +24,22 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
 
 public class ArenaRegion
 {
@@ -36,6 +49,8 @@ public class ArenaRegion
     private Location lastP1, lastP2, lastL1, lastL2;
     private Location p1, p2, l1, l2, arenaWarp, lobbyWarp, specWarp, exitWarp, leaderboard;
     private Map<String,Location> spawnpoints, containers;
+    private volatile SpawnpointGrid spawnpointGrid;
+    private CompletableFuture<RegionSnapshot> snapshot;
 
     private boolean setup, lobbySetup;
 
@@ -56,6 +71,7 @@ public class ArenaRegion
 
     public void refreshWorld() {
         this.world = arena.getWorld();
+        invalidateIndex();
     }
 
     public void reloadAll() {
@@ -76,6 +92,27 @@ public class ArenaRegion
         l1 = parseLocation(coords, "l1", world);
         l2 = parseLocation(coords, "l2", world);
         //fixLobbyRegion();
+
+        invalidateIndex();
+    }
+
+    private void invalidateIndex() {
+        ArenaMaster am = arena.getPlugin().getArenaMaster();
+        if (am != null) {
+            am.getRegionIndex().invalidate();
+        }
+    }
+
+    void index(ArenaRegionIndex index) {
+        if (world == null) {
+            return;
+        }
+        if (p1 != null && p2 != null) {
+            index.put(world, p1, p2, arena);
+        }
+        if (l1 != null && l2 != null) {
+            index.put(world, l1, l2, arena);
+        }
     }
 
     public void reloadWarps() {
@@ -110,6 +147,13 @@ public class ArenaRegion
                 spawnpoints.put(spwn, parseLocation(spawns, spwn, world));
             }
         }
+        spawnpointGrid = SpawnpointGrid.build(spawnpoints.values());
+
+        // Waves may refer to spawnpoints by name, so they must be re-parsed
+        WaveManager waves = arena.getWaveManager();
+        if (waves != null) {
+            waves.invalidate();
+        }
     }
 
     public void reloadChests() {
@@ -403,6 +447,101 @@ public class ArenaRegion
         return result;
     }
 
+    /**
+     * Capture the current blocks of the region as its baseline snapshot.
+     * The chunks are copied right away, and the snapshot is encoded and
+     * saved in the background.
+     *
+     * @return a future that completes when the snapshot has been saved
+     */
+    public CompletableFuture<RegionSnapshot> saveSnapshot() {
+        if (!isDefined()) {
+            throw new IllegalStateException("The region of arena " + arena.configName() + " is not defined");
+        }
+        Supplier<RegionSnapshot> capture = RegionSnapshot.capture(
+            world,
+            p1.getBlockX(), Math.max(p1.getBlockY(), 0), p1.getBlockZ(),
+            p2.getBlockX(), Math.min(p2.getBlockY(), world.getMaxHeight() - 1), p2.getBlockZ()
+        );
+        Path file = getSnapshotFile();
+
+        snapshot = CompletableFuture.supplyAsync(() -> {
+            RegionSnapshot result = capture.get();
+            try {
+                result.save(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return result;
+        }, background());
+        return snapshot;
+    }
+
+    /**
+     * Start loading the baseline snapshot in the background, unless it is
+     * already loaded or on its way.
+     */
+    public void loadSnapshot() {
+        if (snapshot != null) {
+            return;
+        }
+        Path file = getSnapshotFile();
+        snapshot = CompletableFuture.supplyAsync(() -> {
+            if (!Files.exists(file)) {
+                return null;
+            }
+            try {
+                return RegionSnapshot.load(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, background());
+    }
+
+    /**
+     * Run the given action with the baseline snapshot on the main thread.
+     * If the snapshot is still loading, the action runs once it is done,
+     * so the main thread never waits for the disk. The region lets go of
+     * the snapshot afterwards, so it doesn't take up memory between
+     * sessions; the next call to {@link #loadSnapshot()} reads it again.
+     *
+     * @param action the action to run with the snapshot, or with null if
+     * the region doesn't have one or it could not be loaded
+     */
+    public void withSnapshot(Consumer<RegionSnapshot> action) {
+        loadSnapshot();
+        CompletableFuture<RegionSnapshot> future = snapshot;
+        snapshot = null;
+
+        if (future.isDone()) {
+            action.accept(resolve(future));
+            return;
+        }
+        future.whenComplete((result, error) ->
+            Bukkit.getScheduler().runTask(arena.getPlugin(), () -> action.accept(resolve(future)))
+        );
+    }
+
+    private RegionSnapshot resolve(CompletableFuture<RegionSnapshot> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            arena.getPlugin().getLogger().log(Level.SEVERE, "Failed to load the region snapshot of arena " + arena.configName(), e.getCause());
+            return null;
+        }
+    }
+
+    private Path getSnapshotFile() {
+        return arena.getPlugin().getDataFolder().toPath()
+            .resolve("data")
+            .resolve("snapshots")
+            .resolve(arena.getSlug() + ".dat");
+    }
+
+    private Executor background() {
+        return r -> Bukkit.getScheduler().runTaskAsynchronously(arena.getPlugin(), r);
+    }
+
     public Location getArenaWarp() {
         return arenaWarp;
     }
@@ -431,6 +570,14 @@ public class ArenaRegion
         return new ArrayList<>(spawnpoints.values());
     }
 
+    /**
+     * Get the grid of all the spawnpoints in the region. The grid is safe
+     * to use from any thread.
+     */
+    public SpawnpointGrid getSpawnpointGrid() {
+        return spawnpointGrid;
+    }
+
     public Collection<Location> getContainers() {
         return containers.values();
     }
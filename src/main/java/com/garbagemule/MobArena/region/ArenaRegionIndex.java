@@ -0,0 +1,113 @@
+package com.garbagemule.MobArena.region;
+
+import com.garbagemule.MobArena.framework.Arena;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Chunk-keyed lookup table from locations to the arenas whose region or
+ * lobby region might contain them.
+ * <p>
+ * The index is a coarse filter; candidates are the arenas with at least
+ * one chunk in common with the (padded) location, so callers still have
+ * to run {@link ArenaRegion#contains(Location)} on the result. What the
+ * index buys us is that events far away from any arena - which is most
+ * of them - are rejected with a single hash lookup instead of a scan of
+ * every arena on the server.
+ * <p>
+ * The index is rebuilt lazily; anything that changes the set of arenas,
+ * their worlds or their region points should call {@link #invalidate()}.
+ */
+public class ArenaRegionIndex
+{
+    /**
+     * Regions are padded by this many blocks in every direction when they
+     * are indexed, such that "near the region" checks like the explosion
+     * radius in the arena listener also find their candidates.
+     */
+    public static final int PADDING = 10;
+
+    private final Map<UUID, Map<Long, List<Arena>>> worlds;
+    private boolean dirty;
+
+    public ArenaRegionIndex() {
+        this.worlds = new HashMap<>();
+        this.dirty = true;
+    }
+
+    /**
+     * Mark the index as stale. It will be rebuilt on the next lookup.
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Rebuild the index from the given arenas, if it has been invalidated.
+     *
+     * @param arenas all currently loaded arenas
+     */
+    public void refresh(Collection<Arena> arenas) {
+        if (!dirty) {
+            return;
+        }
+        worlds.clear();
+        for (Arena arena : arenas) {
+            arena.getRegion().index(this);
+        }
+        dirty = false;
+    }
+
+    /**
+     * Get the arenas whose region or lobby region (padded by {@link #PADDING}
+     * blocks) shares a chunk with the given location.
+     *
+     * @param loc a location
+     * @return a list of candidate arenas, never null; must not be modified
+     */
+    public List<Arena> getCandidates(Location loc) {
+        if (loc == null || worlds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        World world = loc.getWorld();
+        if (world == null) {
+            return Collections.emptyList();
+        }
+        Map<Long, List<Arena>> chunks = worlds.get(world.getUID());
+        if (chunks == null) {
+            return Collections.emptyList();
+        }
+        List<Arena> result = chunks.get(key(loc.getBlockX() >> 4, loc.getBlockZ() >> 4));
+        return (result != null) ? result : Collections.emptyList();
+    }
+
+    void put(World world, Location min, Location max, Arena arena) {
+        Map<Long, List<Arena>> chunks = worlds.computeIfAbsent(world.getUID(), id -> new HashMap<>());
+
+        int minX = (min.getBlockX() - PADDING) >> 4;
+        int minZ = (min.getBlockZ() - PADDING) >> 4;
+        int maxX = (max.getBlockX() + PADDING) >> 4;
+        int maxZ = (max.getBlockZ() + PADDING) >> 4;
+
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                List<Arena> list = chunks.computeIfAbsent(key(x, z), k -> new ArrayList<>(1));
+                if (!list.contains(arena)) {
+                    list.add(arena);
+                }
+            }
+        }
+    }
+
+    private static long key(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,337 @@
+package com.garbagemule.MobArena.region;
+
+import com.garbagemule.MobArena.repairable.Repairable;
+import com.garbagemule.MobArena.repairable.RepairableBlockData;
+import com.garbagemule.MobArena.util.AtomicFiles;
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The blocks of an arena region at some point in time, used as a baseline
+ * that the region can be reset to after a session.
+ * <p>
+ * Every block is an index into a palette of block data. On disk, the
+ * palette is stored as block data strings, and the indices are run-length
+ * encoded and gzipped, so large areas of air or stone cost next to
+ * nothing. Tile entity data, like sign lines or container contents, is
+ * not part of the snapshot.
+ */
+public class RegionSnapshot
+{
+    private static final int MAGIC = 0x4D415253;
+    private static final int VERSION = 1;
+
+    /**
+     * The most blocks a snapshot can hold. At two bytes per block, that's
+     * 128 MB of memory while the snapshot is in use.
+     */
+    public static final long MAX_VOLUME = 64L * 1024 * 1024;
+
+    private final String world;
+    private final int minX, minY, minZ, maxX, maxY, maxZ;
+    private final BlockData[] palette;
+    private final short[] blocks;
+
+    private RegionSnapshot(String world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ, BlockData[] palette, short[] blocks) {
+        this.world   = world;
+        this.minX    = minX;
+        this.minY    = minY;
+        this.minZ    = minZ;
+        this.maxX    = maxX;
+        this.maxY    = maxY;
+        this.maxZ    = maxZ;
+        this.palette = palette;
+        this.blocks  = blocks;
+    }
+
+    /**
+     * Take snapshots of all the chunks between the given corners. Must be
+     * called on the main thread. The returned supplier builds the region
+     * snapshot from the chunk snapshots, and can be called on any thread.
+     *
+     * @param world the world
+     * @param minX the lowest x-coordinate, inclusive
+     * @param minY the lowest y-coordinate, inclusive
+     * @param minZ the lowest z-coordinate, inclusive
+     * @param maxX the highest x-coordinate, inclusive
+     * @param maxY the highest y-coordinate, inclusive
+     * @param maxZ the highest z-coordinate, inclusive
+     * @return a supplier of the region snapshot
+     * @throws IllegalArgumentException if the region holds no blocks, or
+     * more than {@link #MAX_VOLUME} blocks
+     */
+    public static Supplier<RegionSnapshot> capture(World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        long volume = volume(minX, minY, minZ, maxX, maxY, maxZ);
+        if (volume == 0) {
+            throw new IllegalArgumentException("The region holds no blocks");
+        }
+        if (volume > MAX_VOLUME) {
+            throw new IllegalArgumentException("The region holds " + volume + " blocks, but a snapshot can hold at most " + MAX_VOLUME);
+        }
+
+        Map<Long, ChunkSnapshot> chunks = new HashMap<>();
+        for (int cx = minX >> 4; cx <= maxX >> 4; cx++) {
+            for (int cz = minZ >> 4; cz <= maxZ >> 4; cz++) {
+                chunks.put(chunkKey(cx, cz), world.getChunkAt(cx, cz).getChunkSnapshot(false, false, false));
+            }
+        }
+        String name = world.getName();
+
+        return () -> {
+            List<BlockData> palette = new ArrayList<>();
+            Map<BlockData, Integer> index = new HashMap<>();
+
+            short[] blocks = new short[(int) volume];
+
+            int i = 0;
+            for (int x = minX; x <= maxX; x++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    ChunkSnapshot chunk = chunks.get(chunkKey(x >> 4, z >> 4));
+                    for (int y = minY; y <= maxY; y++) {
+                        BlockData data = chunk.getBlockData(x & 15, y, z & 15);
+                        Integer id = index.get(data);
+                        if (id == null) {
+                            if (palette.size() > 0xFFFF) {
+                                throw new IllegalStateException("Too many distinct blocks in region");
+                            }
+                            id = palette.size();
+                            palette.add(data);
+                            index.put(data, id);
+                        }
+                        blocks[i++] = (short) (int) id;
+                    }
+                }
+            }
+
+            return new RegionSnapshot(name, minX, minY, minZ, maxX, maxY, maxZ, palette.toArray(new BlockData[0]), blocks);
+        };
+    }
+
+    public String getWorldName() {
+        return world;
+    }
+
+    /**
+     * Compare the given world against the snapshot, one chunk at a time.
+     * Each call to {@code next()} on the returned iterator takes a
+     * snapshot of the next chunk, so it must happen on the main thread.
+     * Each batch contains a repairable for every block in the chunk that
+     * differs from the snapshot.
+     *
+     * @param world the world to compare against the snapshot
+     * @return an iterator of batches of repairables, one per chunk
+     */
+    public Iterator<List<Repairable>> diff(World world) {
+        int fromX = minX >> 4;
+        int fromZ = minZ >> 4;
+        int toZ   = maxZ >> 4;
+        int chunksZ = toZ - fromZ + 1;
+        int count   = ((maxX >> 4) - fromX + 1) * chunksZ;
+
+        return new Iterator<List<Repairable>>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public List<Repairable> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int cx = fromX + next / chunksZ;
+                int cz = fromZ + next % chunksZ;
+                next++;
+                return diff(world, cx, cz);
+            }
+        };
+    }
+
+    private List<Repairable> diff(World world, int cx, int cz) {
+        ChunkSnapshot chunk = world.getChunkAt(cx, cz).getChunkSnapshot(false, false, false);
+
+        int x1 = Math.max(minX, cx << 4);
+        int x2 = Math.min(maxX, (cx << 4) + 15);
+        int z1 = Math.max(minZ, cz << 4);
+        int z2 = Math.min(maxZ, (cz << 4) + 15);
+        int height = maxY - minY + 1;
+        int depth  = maxZ - minZ + 1;
+
+        List<Repairable> result = new ArrayList<>();
+        for (int x = x1; x <= x2; x++) {
+            for (int z = z1; z <= z2; z++) {
+                int i = ((x - minX) * depth + (z - minZ)) * height;
+                for (int y = minY; y <= maxY; y++, i++) {
+                    BlockData expected = palette[blocks[i] & 0xFFFF];
+                    if (!expected.equals(chunk.getBlockData(x & 15, y, z & 15))) {
+                        result.add(new RepairableBlockData(world, x, y, z, expected, false));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Write the snapshot to the given file, replacing it atomically.
+     */
+    public void save(Path file) throws IOException {
+        AtomicFiles.write(file, raw -> {
+            try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(raw))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(world);
+                out.writeInt(minX);
+                out.writeInt(minY);
+                out.writeInt(minZ);
+                out.writeInt(maxX);
+                out.writeInt(maxY);
+                out.writeInt(maxZ);
+
+                out.writeInt(palette.length);
+                for (BlockData data : palette) {
+                    out.writeUTF(data.getAsString());
+                }
+
+                // Runs of the same palette index
+                int i = 0;
+                while (i < blocks.length) {
+                    short id = blocks[i];
+                    int run = 1;
+                    while (i + run < blocks.length && blocks[i + run] == id) {
+                        run++;
+                    }
+                    writeVarInt(out, run);
+                    writeVarInt(out, id & 0xFFFF);
+                    i += run;
+                }
+            }
+        });
+    }
+
+    /**
+     * Read a snapshot from the given file.
+     */
+    public static RegionSnapshot load(Path file) throws IOException {
+        return load(file, Bukkit::createBlockData);
+    }
+
+    static RegionSnapshot load(Path file, Function<String, BlockData> parser) throws IOException {
+        try (InputStream raw = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new GZIPInputStream(raw))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a region snapshot: " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported region snapshot version " + version + ": " + file);
+            }
+
+            String world = in.readUTF();
+            int minX = in.readInt();
+            int minY = in.readInt();
+            int minZ = in.readInt();
+            int maxX = in.readInt();
+            int maxY = in.readInt();
+            int maxZ = in.readInt();
+            long volume = volume(minX, minY, minZ, maxX, maxY, maxZ);
+            if (volume <= 0 || volume > MAX_VOLUME) {
+                throw new IOException("Corrupt region snapshot: " + file);
+            }
+
+            int size = in.readInt();
+            if (size <= 0 || size > 0x10000) {
+                throw new IOException("Corrupt region snapshot: " + file);
+            }
+            BlockData[] palette = new BlockData[size];
+            for (int i = 0; i < palette.length; i++) {
+                String data = in.readUTF();
+                try {
+                    palette[i] = parser.apply(data);
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Invalid block data '" + data + "' in " + file);
+                }
+            }
+
+            short[] blocks = new short[(int) volume];
+            int i = 0;
+            while (i < blocks.length) {
+                int run = readVarInt(in);
+                int id = readVarInt(in);
+                if (run <= 0 || run > blocks.length - i || id < 0 || id >= palette.length) {
+                    throw new IOException("Corrupt region snapshot: " + file);
+                }
+                for (int end = i + run; i < end; i++) {
+                    blocks[i] = (short) id;
+                }
+            }
+
+            return new RegionSnapshot(world, minX, minY, minZ, maxX, maxY, maxZ, palette, blocks);
+        }
+    }
+
+    /**
+     * Count the blocks between the given corners without overflowing.
+     *
+     * @return the number of blocks, 0 if the corners are swapped, or
+     * {@code Long.MAX_VALUE} if the count doesn't fit in a long
+     */
+    static long volume(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        long width  = (long) maxX - minX + 1;
+        long height = (long) maxY - minY + 1;
+        long depth  = (long) maxZ - minZ + 1;
+        if (width <= 0 || height <= 0 || depth <= 0) {
+            return 0;
+        }
+        try {
+            return Math.multiplyExact(Math.multiplyExact(width, height), depth);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static long chunkKey(int cx, int cz) {
+        return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in region snapshot");
+    }
+}
@@ -0,0 +1,124 @@
+package com.garbagemule.MobArena.region;
+
+import com.garbagemule.MobArena.MobArena;
+import org.bukkit.Location;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A uniform grid of the spawnpoints of an arena region, used to find the
+ * spawnpoints that have players nearby.
+ * <p>
+ * The cells are as wide as the minimum player distance, so every
+ * spawnpoint in range of a player is in the player's cell or one of its
+ * neighbours. Finding the spawnpoints near a player only looks at those
+ * 27 cells instead of every spawnpoint in the region.
+ * <p>
+ * A grid never changes once it has been built, so it can be read from
+ * any thread. The region builds a new grid whenever its spawnpoints are
+ * reloaded.
+ */
+public class SpawnpointGrid
+{
+    private static final double CELL_SIZE = MobArena.MIN_PLAYER_DISTANCE;
+
+    private final List<Location> spawnpoints;
+    private final Map<Long, int[]> cells;
+
+    private SpawnpointGrid(List<Location> spawnpoints, Map<Long, int[]> cells) {
+        this.spawnpoints = spawnpoints;
+        this.cells = cells;
+    }
+
+    public static SpawnpointGrid build(Collection<Location> spawnpoints) {
+        List<Location> list = new ArrayList<>(spawnpoints);
+
+        Map<Long, List<Integer>> buckets = new HashMap<>();
+        for (int i = 0; i < list.size(); i++) {
+            Location l = list.get(i);
+            long key = key(cell(l.getX()), cell(l.getY()), cell(l.getZ()));
+            buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+        }
+
+        Map<Long, int[]> cells = new HashMap<>();
+        buckets.forEach((key, indices) -> cells.put(key, indices.stream().mapToInt(Integer::intValue).toArray()));
+
+        return new SpawnpointGrid(Collections.unmodifiableList(list), cells);
+    }
+
+    /**
+     * Get all the spawnpoints in the grid.
+     */
+    public List<Location> getSpawnpoints() {
+        return spawnpoints;
+    }
+
+    /**
+     * Find the spawnpoints that are within the minimum player distance of
+     * at least one of the given player locations, and add them to the
+     * given list in the same order as they appear in the grid. The list
+     * isn't cleared first, so callers can reuse a list between queries.
+     *
+     * @param players player locations
+     * @param filter if non-null, only spawnpoints in this set are added
+     * @param out the list to add the spawnpoints to
+     */
+    public void query(Collection<Location> players, Set<Location> filter, List<Location> out) {
+        int[] hits = new int[16];
+        int count = 0;
+
+        for (Location p : players) {
+            int cx = cell(p.getX());
+            int cy = cell(p.getY());
+            int cz = cell(p.getZ());
+
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    for (int dz = -1; dz <= 1; dz++) {
+                        int[] cell = cells.get(key(cx + dx, cy + dy, cz + dz));
+                        if (cell == null) {
+                            continue;
+                        }
+                        for (int index : cell) {
+                            Location l = spawnpoints.get(index);
+                            if (l.getWorld() != p.getWorld() || l.distanceSquared(p) >= MobArena.MIN_PLAYER_DISTANCE_SQUARED) {
+                                continue;
+                            }
+                            if (count == hits.length) {
+                                hits = Arrays.copyOf(hits, count * 2);
+                            }
+                            hits[count++] = index;
+                        }
+                    }
+                }
+            }
+        }
+
+        // Keep the grid order and drop spawnpoints near multiple players
+        Arrays.sort(hits, 0, count);
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && hits[i] == hits[i - 1]) {
+                continue;
+            }
+            Location l = spawnpoints.get(hits[i]);
+            if (filter == null || filter.contains(l)) {
+                out.add(l);
+            }
+        }
+    }
+
+    private static int cell(double coord) {
+        return (int) Math.floor(coord / CELL_SIZE);
+    }
+
+    private static long key(int x, int y, int z) {
+        return ((long) (x & 0x1FFFFF) << 42) | ((long) (y & 0x1FFFFF) << 21) | (long) (z & 0x1FFFFF);
+    }
+}
@@ -0,0 +1,165 @@
+package com.garbagemule.MobArena.repairable;
+
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Sign;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The original states of the blocks changed during an arena session.
+ * <p>
+ * Only the first state recorded for a block is kept, so a block that is
+ * broken, replaced and broken again is restored to what it was before
+ * the session. Each block costs a packed coordinate and an index into a
+ * palette of interned block data. Sign lines and container contents are
+ * the only tile entity data kept, and only for the blocks that have them.
+ * <p>
+ * Nothing in the journal refers to a world or a block state, so it can
+ * outlive both. The world is supplied when the journal is drained.
+ */
+public class BlockJournal
+{
+    private BlockKeySet recorded;
+    private long[] keys;
+    private int[] states;
+    private int size;
+
+    private List<BlockData> palette;
+    private Map<BlockData, Integer> paletteIndex;
+
+    private Map<Long, String[]> signLines;
+    private Map<Long, ItemStack[]> contents;
+
+    public BlockJournal() {
+        clear();
+    }
+
+    /**
+     * Record the given state as the original state of its block, unless
+     * the block has already been recorded.
+     *
+     * @param state the state of the block before it is changed
+     * @return true, if the state was recorded, false otherwise
+     */
+    public boolean record(BlockState state) {
+        long key = BlockKeySet.key(state.getX(), state.getY(), state.getZ());
+        if (!recorded.add(key)) {
+            return false;
+        }
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            states = Arrays.copyOf(states, size * 2);
+        }
+        keys[size] = key;
+        states[size] = intern(state.getBlockData());
+        size++;
+
+        if (state instanceof Sign) {
+            signLines.put(key, ((Sign) state).getLines().clone());
+        } else if (state instanceof InventoryHolder) {
+            // Manual copy is necessary due to "reduce to 0" bug in Bukkit
+            ItemStack[] stacks = ((InventoryHolder) state).getInventory().getContents();
+            ItemStack[] copy = new ItemStack[stacks.length];
+            for (int i = 0; i < copy.length; i++) {
+                copy[i] = (stacks[i] != null) ? stacks[i].clone() : null;
+            }
+            contents.put(key, copy);
+        }
+        return true;
+    }
+
+    /**
+     * Check if the block at the given coordinates has been recorded.
+     */
+    public boolean contains(int x, int y, int z) {
+        return recorded.contains(BlockKeySet.key(x, y, z));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Turn the journal into repairables for the given world, in the order
+     * the blocks were recorded, and clear the journal.
+     *
+     * @param world the world the blocks are in
+     * @return a list of repairables
+     */
+    public List<Repairable> drain(World world) {
+        List<Repairable> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long key = keys[i];
+            result.add(new Entry(world, key, palette.get(states[i]), signLines.get(key), contents.get(key)));
+        }
+        clear();
+        return result;
+    }
+
+    public void clear() {
+        recorded     = new BlockKeySet();
+        keys         = new long[16];
+        states       = new int[16];
+        size         = 0;
+        palette      = new ArrayList<>();
+        paletteIndex = new HashMap<>();
+        signLines    = new HashMap<>();
+        contents     = new HashMap<>();
+    }
+
+    private int intern(BlockData data) {
+        Integer index = paletteIndex.get(data);
+        if (index == null) {
+            index = palette.size();
+            palette.add(data);
+            paletteIndex.put(data, index);
+        }
+        return index;
+    }
+
+    private static class Entry extends RepairableBlockData
+    {
+        private final String[] lines;
+        private final ItemStack[] items;
+
+        Entry(World world, long key, BlockData data, String[] lines, ItemStack[] items) {
+            super(world, BlockKeySet.keyX(key), BlockKeySet.keyY(key), BlockKeySet.keyZ(key), data, true);
+            this.lines = lines;
+            this.items = items;
+        }
+
+        @Override
+        public void repair() {
+            super.repair();
+
+            if (lines != null) {
+                BlockState state = getState();
+                if (state instanceof Sign) {
+                    Sign sign = (Sign) state;
+                    for (int i = 0; i < lines.length; i++) {
+                        sign.setLine(i, lines[i]);
+                    }
+                    sign.update();
+                }
+            } else if (items != null) {
+                BlockState state = getState();
+                if (state instanceof InventoryHolder) {
+                    ((InventoryHolder) state).getInventory().setContents(items);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.garbagemule.MobArena.repairable;
+
+import org.bukkit.block.Block;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * A set of block coordinates, each packed into a single long.
+ * <p>
+ * The coordinates live in a flat, open-addressed table, so the set costs
+ * eight bytes per block (plus slack) instead of a full {@link Block} and
+ * a hash map node. The world is not part of the key, so a set should only
+ * ever hold blocks from one world.
+ */
+public class BlockKeySet
+{
+    // The key of x = -2^25, y = 0, z = 0, which is way past the world border
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] table;
+    private int size;
+
+    public BlockKeySet() {
+        this.table = new long[16];
+        Arrays.fill(table, EMPTY);
+    }
+
+    /**
+     * Pack block coordinates into a long, like the server does: 26 bits
+     * for x and z, and 12 bits for y.
+     */
+    public static long key(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    public static long key(Block block) {
+        return key(block.getX(), block.getY(), block.getZ());
+    }
+
+    public static int keyX(long key) {
+        return (int) (key >> 38);
+    }
+
+    public static int keyY(long key) {
+        return (int) (key << 52 >> 52);
+    }
+
+    public static int keyZ(long key) {
+        return (int) (key << 26 >> 38);
+    }
+
+    public boolean add(long key) {
+        int slot = find(key);
+        if (table[slot] == key) {
+            return false;
+        }
+        table[slot] = key;
+        if (++size * 2 > table.length) {
+            grow();
+        }
+        return true;
+    }
+
+    public boolean contains(long key) {
+        return table[find(key)] == key;
+    }
+
+    public boolean remove(long key) {
+        int slot = find(key);
+        if (table[slot] != key) {
+            return false;
+        }
+        table[slot] = EMPTY;
+        size--;
+
+        // Shift back the entries that probed past the freed slot
+        int mask = table.length - 1;
+        int next = (slot + 1) & mask;
+        while (table[next] != EMPTY) {
+            long moved = table[next];
+            table[next] = EMPTY;
+            table[find(moved)] = moved;
+            next = (next + 1) & mask;
+        }
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        table = new long[16];
+        Arrays.fill(table, EMPTY);
+        size = 0;
+    }
+
+    public void forEach(LongConsumer action) {
+        for (long key : table) {
+            if (key != EMPTY) {
+                action.accept(key);
+            }
+        }
+    }
+
+    private int find(long key) {
+        int mask = table.length - 1;
+        int slot = hash(key) & mask;
+        while (table[slot] != EMPTY && table[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] old = table;
+        table = new long[old.length * 2];
+        Arrays.fill(table, EMPTY);
+        for (long key : old) {
+            if (key != EMPTY) {
+                table[find(key)] = key;
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,70 @@
+package com.garbagemule.MobArena.repairable;
+
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.data.BlockData;
+
+/**
+ * A repairable that only knows the block data to put back, and not the
+ * block state it came from.
+ */
+public class RepairableBlockData implements Repairable
+{
+    private final World world;
+    private final int x, y, z;
+    private final BlockData data;
+    private final boolean physics;
+
+    /**
+     * @param physics whether to update neighbouring blocks on repair
+     */
+    public RepairableBlockData(World world, int x, int y, int z, BlockData data, boolean physics) {
+        this.world   = world;
+        this.x       = x;
+        this.y       = y;
+        this.z       = z;
+        this.data    = data;
+        this.physics = physics;
+    }
+
+    @Override
+    public void repair() {
+        world.getBlockAt(x, y, z).setBlockData(data, physics);
+    }
+
+    @Override
+    public BlockState getState() {
+        return world.getBlockAt(x, y, z).getState();
+    }
+
+    @Override
+    public Material getType() {
+        return data.getMaterial();
+    }
+
+    @Override
+    public BlockData getData() {
+        return data;
+    }
+
+    @Override
+    public World getWorld() {
+        return world;
+    }
+
+    @Override
+    public int getX() {
+        return x;
+    }
+
+    @Override
+    public int getY() {
+        return y;
+    }
+
+    @Override
+    public int getZ() {
+        return z;
+    }
+}
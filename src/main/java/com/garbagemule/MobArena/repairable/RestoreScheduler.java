@@ -0,0 +1,229 @@
+package com.garbagemule.MobArena.repairable;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Repairs blocks and containers in the background, a few per tick.
+ * <p>
+ * Everything added to the scheduler is repaired in the order given by
+ * the {@link RepairableComparator}, i.e. attachables, liquids, and the
+ * like after the blocks they depend on. The order is kept across calls
+ * to {@link #add(Collection)}, and ties are broken by insertion order.
+ * <p>
+ * Repairs can also be added as a series of batches, which are only
+ * produced once everything before them has been repaired. This keeps
+ * the cost of working out what to repair, e.g. diffing a chunk against
+ * a snapshot, under the same per-tick limits as the repairs themselves.
+ * Each batch counts as one repair against the per-tick limit, even if
+ * it turns out to be empty.
+ * <p>
+ * With no per-tick limits, everything is repaired right away, like the
+ * arenas used to do.
+ */
+public class RestoreScheduler
+{
+    private final Plugin plugin;
+    private final RepairableComparator comparator;
+
+    private List<Repairable> pending;
+    private int cursor;
+    private int total;
+    private Deque<Iterator<? extends Collection<? extends Repairable>>> batches;
+
+    private int perTick;
+    private long budget;
+    private boolean held;
+
+    private BukkitTask task;
+
+    public RestoreScheduler(Plugin plugin) {
+        this.plugin     = plugin;
+        this.comparator = new RepairableComparator();
+        this.pending    = new ArrayList<>();
+        this.batches    = new ArrayDeque<>();
+    }
+
+    /**
+     * Set the per-tick limits. Zero means no limit. If both are zero,
+     * repairs happen as soon as they are added.
+     *
+     * @param perTick the maximum number of repairs per tick
+     * @param budgetMillis the maximum time to spend on repairs per tick
+     */
+    public void setLimits(int perTick, double budgetMillis) {
+        this.perTick = perTick;
+        this.budget  = (long) (budgetMillis * 1_000_000L);
+    }
+
+    /**
+     * Queue up some repairs.
+     *
+     * @param repairables the things to repair
+     */
+    public void add(Collection<? extends Repairable> repairables) {
+        if (repairables.isEmpty()) {
+            return;
+        }
+        enqueue(repairables);
+        kick();
+    }
+
+    /**
+     * Queue up a series of batches of repairs. The next batch is only
+     * requested once all the repairs queued up before it are done.
+     *
+     * @param batches the batches of things to repair
+     */
+    public void addBatches(Iterator<? extends Collection<? extends Repairable>> batches) {
+        this.batches.add(batches);
+        kick();
+    }
+
+    /**
+     * Mark the scheduler as busy before the repairs are known, e.g. while
+     * a snapshot is still loading, so the arena can't be joined until they
+     * are queued up. The hold ends with {@link #release()}.
+     */
+    public void hold() {
+        held = true;
+    }
+
+    /**
+     * End a {@link #hold()}.
+     */
+    public void release() {
+        held = false;
+    }
+
+    private void enqueue(Collection<? extends Repairable> repairables) {
+        // Drop what's done, then re-sort the rest along with the new ones
+        List<Repairable> next = new ArrayList<>(pending.size() - cursor + repairables.size());
+        next.addAll(pending.subList(cursor, pending.size()));
+        next.addAll(repairables);
+        next.sort(comparator);
+
+        pending = next;
+        total  += repairables.size();
+        cursor  = 0;
+    }
+
+    private void kick() {
+        if (perTick <= 0 && budget <= 0) {
+            finish();
+        } else if (task == null) {
+            task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1, 1);
+        }
+    }
+
+    /**
+     * Check if there are any repairs or batches left, or if the scheduler
+     * is on hold.
+     */
+    public boolean isRestoring() {
+        return held || hasWork();
+    }
+
+    private boolean hasWork() {
+        return cursor < pending.size() || !batches.isEmpty();
+    }
+
+    /**
+     * Get the number of repairs queued up since the scheduler was last
+     * idle, including the ones already done. Batches that haven't been
+     * produced yet aren't counted.
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Get the number of repairs left.
+     */
+    public int getRemaining() {
+        return pending.size() - cursor;
+    }
+
+    /**
+     * Get the fraction of the queued repairs that are done, between 0 and
+     * 1. An idle scheduler is always done.
+     */
+    public double getProgress() {
+        if (total == 0) {
+            return 1;
+        }
+        return (double) (total - getRemaining()) / total;
+    }
+
+    /**
+     * Do all remaining repairs right away, ignoring the per-tick limits.
+     */
+    public void finish() {
+        while (hasWork()) {
+            if (cursor < pending.size()) {
+                repairNext();
+            } else {
+                nextBatch();
+            }
+        }
+        done();
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        int work = 0;
+
+        while (hasWork()) {
+            // Producing a batch counts too, so diffing a mostly intact
+            // region doesn't happen all in one tick
+            if (perTick > 0 && work >= perTick) {
+                break;
+            }
+            if (budget > 0 && work > 0 && System.nanoTime() - start >= budget) {
+                break;
+            }
+            if (cursor < pending.size()) {
+                repairNext();
+            } else {
+                nextBatch();
+            }
+            work++;
+        }
+
+        if (!hasWork()) {
+            done();
+        }
+    }
+
+    private void nextBatch() {
+        Iterator<? extends Collection<? extends Repairable>> current = batches.peek();
+        if (current.hasNext()) {
+            enqueue(current.next());
+        } else {
+            batches.poll();
+        }
+    }
+
+    private void repairNext() {
+        // Let go of the repairable so the block state can be collected
+        pending.set(cursor++, null).repair();
+    }
+
+    private void done() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        pending = new ArrayList<>();
+        batches.clear();
+        cursor = 0;
+        total = 0;
+    }
+}
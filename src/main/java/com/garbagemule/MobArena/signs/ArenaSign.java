@@ -9,6 +9,10 @@ class ArenaSign {
     final String arenaId;
     final String type;
 
+    // The lines last written to the sign block, and when
+    String[] lines;
+    long renderedAt;
+
     ArenaSign(Location location, String templateId, String arenaId, String type) {
         this.location = location;
         this.templateId = templateId;
@@ -13,25 +13,52 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
+/**
+ * Re-renders the signs of arenas when something happens in them.
+ * <p>
+ * Arenas are marked as dirty when an event happens, and all dirty arenas
+ * are rendered together on the next tick, so a burst of events in the
+ * same tick results in a single render per sign. If a minimum interval
+ * is set, a sign that was updated too recently is held back until the
+ * interval has passed, and then rendered with the latest state.
+ */
 class HandlesArenaUpdates implements Listener {
 
     private final SignStore signStore;
     private final SignRenderer signRenderer;
     private final BukkitScheduler scheduler;
     private final MobArena plugin;
+    private final long interval;
+
+    private final Set<String> dirty;
+    private final Set<ArenaSign> pending;
+    private boolean scheduled;
+    private BukkitTask deferred;
 
     HandlesArenaUpdates(
         SignStore signStore,
         SignRenderer signRenderer,
-        MobArena plugin
+        MobArena plugin,
+        int intervalTicks
     ) {
         this.signStore = signStore;
         this.signRenderer = signRenderer;
         this.scheduler = plugin.getServer().getScheduler();
         this.plugin = plugin;
+        this.interval = Math.max(0, intervalTicks) * 50L;
+
+        this.dirty = new LinkedHashSet<>();
+        this.pending = new LinkedHashSet<>();
+        this.scheduled = false;
+        this.deferred = null;
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -70,10 +97,44 @@ class HandlesArenaUpdates implements Listener {
     }
 
     private void handle(Arena arena) {
-        scheduler.runTask(plugin, () -> {
-            List<ArenaSign> signs = signStore.findByArenaId(arena.configName());
-            signs.forEach(signRenderer::render);
-        });
+        dirty.add(arena.configName());
+        if (!scheduled) {
+            scheduled = true;
+            scheduler.runTask(plugin, this::flush);
+        }
+    }
+
+    private void flush() {
+        scheduled = false;
+
+        for (String arenaId : dirty) {
+            pending.addAll(signStore.findByArenaId(arenaId));
+        }
+        dirty.clear();
+
+        long now = System.currentTimeMillis();
+        long wait = Long.MAX_VALUE;
+        List<ArenaSign> due = new ArrayList<>(pending.size());
+        Iterator<ArenaSign> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            ArenaSign sign = iterator.next();
+            long left = sign.renderedAt + interval - now;
+            if (left > 0) {
+                wait = Math.min(wait, left);
+                continue;
+            }
+            due.add(sign);
+            iterator.remove();
+        }
+        signRenderer.render(due);
+
+        if (!pending.isEmpty() && deferred == null) {
+            long ticks = Math.max(1, (wait + 49) / 50);
+            deferred = scheduler.runTaskLater(plugin, () -> {
+                deferred = null;
+                flush();
+            }, ticks);
+        }
     }
 
 }
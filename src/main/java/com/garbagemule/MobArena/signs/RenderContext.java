@@ -0,0 +1,117 @@
+package com.garbagemule.MobArena.signs;
+
+import com.garbagemule.MobArena.framework.Arena;
+import com.garbagemule.MobArena.signs.TemplateLine.Variable;
+import com.garbagemule.MobArena.waves.WaveManager;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.String.valueOf;
+
+/**
+ * The values of the template variables of an arena at one point in time.
+ * <p>
+ * A context can be shared by all the signs of an arena that are rendered
+ * together, so the arena state is looked up once per batch, and each of
+ * the sorted player name lists is built at most once, and only if a sign
+ * in the batch needs it.
+ */
+class RenderContext {
+
+    private final Arena arena;
+
+    final boolean running;
+    final boolean lobby;
+    final boolean ready;
+
+    private final String[] values;
+    private final Map<Variable, List<String>> lists;
+
+    RenderContext(Arena arena) {
+        this.arena = arena;
+
+        this.running = arena.isRunning();
+        this.lobby = !running && arena.getPlayersInLobby().size() > 0;
+        this.ready = lobby && arena.getNonreadyPlayers().size() == 0;
+
+        this.values = new String[Variable.values().length];
+        this.lists = new EnumMap<>(Variable.class);
+
+        set(Variable.ARENA_NAME, arena.configName());
+        set(Variable.MIN_PLAYERS, valueOf(arena.getMinPlayers()));
+        set(Variable.MAX_PLAYERS, valueOf(arena.getMaxPlayers()));
+        if (running) {
+            int initial = arena.getPlayerCount();
+            int live = arena.getPlayersInArena().size();
+            WaveManager waves = arena.getWaveManager();
+            set(Variable.INITIAL_PLAYERS, valueOf(initial));
+            set(Variable.LIVE_PLAYERS, valueOf(live));
+            set(Variable.DEAD_PLAYERS, valueOf(initial - live));
+            set(Variable.CURRENT_WAVE, valueOf(waves.getWaveNumber()));
+            set(Variable.FINAL_WAVE, valueOf(waves.getFinalWave()));
+            set(Variable.LOBBY_PLAYERS, "-");
+            set(Variable.READY_PLAYERS, "-");
+        } else {
+            String count = valueOf(arena.getPlayersInLobby().size());
+            set(Variable.INITIAL_PLAYERS, count);
+            set(Variable.LIVE_PLAYERS, count);
+            set(Variable.DEAD_PLAYERS, "-");
+            set(Variable.CURRENT_WAVE, "-");
+            set(Variable.FINAL_WAVE, Variable.FINAL_WAVE.token);
+            set(Variable.LOBBY_PLAYERS, count);
+            set(Variable.READY_PLAYERS, valueOf(arena.getReadyPlayersInLobby().size()));
+        }
+    }
+
+    String value(Variable variable, int index) {
+        if (!variable.list) {
+            return values[variable.ordinal()];
+        }
+        List<String> names = lists.computeIfAbsent(variable, this::getNameList);
+        if (index < names.size()) {
+            return names.get(index);
+        }
+        return "";
+    }
+
+    private void set(Variable variable, String value) {
+        values[variable.ordinal()] = value;
+    }
+
+    private List<String> getNameList(Variable variable) {
+        Collection<Player> players = getPlayerList(variable);
+        List<String> names = new ArrayList<>(players.size());
+        for (Player player : players) {
+            names.add(player.getName());
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    private Collection<Player> getPlayerList(Variable variable) {
+        switch (variable) {
+            case ARENA_LIST: {
+                return arena.getPlayersInArena();
+            }
+            case LOBBY_LIST: {
+                return arena.getPlayersInLobby();
+            }
+            case READY_LIST: {
+                return arena.getReadyPlayersInLobby();
+            }
+            case NOTREADY_LIST: {
+                return arena.getNonreadyPlayers();
+            }
+            default: {
+                return Collections.emptyList();
+            }
+        }
+    }
+
+}
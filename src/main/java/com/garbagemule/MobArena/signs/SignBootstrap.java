@@ -40,7 +40,11 @@ public class SignBootstrap {
             Path root = plugin.getDataFolder().toPath();
             Path data = root.resolve("data");
             Path file = data.resolve("signs.csv");
-            signFile = new SignFile(file);
+            signFile = new SignFile(
+                file,
+                getSignSerializer(),
+                plugin.getLogger()
+            );
         }
         return signFile;
     }
@@ -153,6 +157,15 @@ public class SignBootstrap {
         return bootstrap;
     }
 
+    /**
+     * Wait for any pending writes to the sign data file to finish.
+     */
+    public void close() {
+        if (signFile != null) {
+            signFile.close();
+        }
+    }
+
     private static void migrateData(SignBootstrap bootstrap) {
         SignDataMigrator migrator = bootstrap.getSignDataMigrator();
         MobArena plugin = bootstrap.getPlugin();
@@ -201,7 +214,7 @@ public class SignBootstrap {
 
         bootstrap.getPlugin().getArenaMaster().getArenas().forEach(arena -> {
             List<ArenaSign> signs = store.findByArenaId(arena.configName());
-            signs.forEach(renderer::render);
+            renderer.render(signs);
         });
     }
 
@@ -1,67 +1,253 @@
 package com.garbagemule.MobArena.signs;
 
+import com.garbagemule.MobArena.util.AtomicFiles;
+
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The sign data file, kept as an append-only journal.
+ * <p>
+ * Every saved change is appended to the file as a record; a sign line
+ * for a new sign, or a tombstone for an erased sign. When the file is
+ * loaded, the records are replayed in order, and a record replaces any
+ * earlier record for the same location. Once the dead records outnumber
+ * the live ones, the file is compacted by rewriting only the live lines.
+ * <p>
+ * Changes are staged by {@link #append(String)} and {@link #erase(String)}
+ * and take effect on {@link #save()}. The live lines are kept in memory,
+ * indexed by location, and all writes happen in order on a background
+ * writer thread.
+ */
 class SignFile {
 
-    private static final OpenOption[] WRITE_OPTIONS = {
-        StandardOpenOption.WRITE,
-        StandardOpenOption.TRUNCATE_EXISTING,
-        StandardOpenOption.SYNC
-    };
+    // Sign lines start with a world UUID, so they never look like this
+    private static final String TOMBSTONE = "-";
+    private static final int COMPACT_THRESHOLD = 64;
 
     private final Path file;
-    private final List<String> lines;
+    private final SignSerializer serializer;
+    private final Logger log;
+    private final ExecutorService writer;
+
+    private final Map<String, String> lines;
+    private final List<String> staged;
 
-    private boolean stale;
+    private boolean loaded;
+    private int records;
 
-    SignFile(Path file) {
+    // Only ever touched by the writer thread
+    private BufferedWriter out;
+
+    SignFile(Path file, SignSerializer serializer, Logger log) {
         this.file = file;
-        this.lines = new ArrayList<>();
-        this.stale = true;
+        this.serializer = serializer;
+        this.log = log;
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "MobArena-Signs");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.lines = new LinkedHashMap<>();
+        this.staged = new ArrayList<>();
+        this.loaded = false;
+        this.records = 0;
     }
 
+    /**
+     * Get the saved sign lines, without any staged changes.
+     */
     List<String> lines() throws IOException {
-        if (stale) {
+        if (!loaded) {
             load();
         }
-        return new ArrayList<>(lines);
+        return new ArrayList<>(lines.values());
     }
 
-    void append(String line) {
-        lines.add(line);
+    /**
+     * Stage the given line, replacing any line for the same location.
+     *
+     * @return the line that is replaced, or null if there is none
+     */
+    String append(String line) throws IOException {
+        if (!loaded) {
+            load();
+        }
+        String previous = find(serializer.key(line));
+        staged.add(line);
+        return previous;
+    }
+
+    /**
+     * Stage the removal of the line for the same location as the given
+     * line.
+     *
+     * @return the line that is removed, or null if there is none
+     */
+    String erase(String line) throws IOException {
+        if (!loaded) {
+            load();
+        }
+        String previous = find(serializer.key(line));
+        if (previous != null) {
+            staged.add(TOMBSTONE + previous);
+        }
+        return previous;
     }
 
-    void erase(String line) {
-        lines.remove(line);
+    private void load() throws IOException {
+        lines.clear();
+        staged.clear();
+        records = 0;
+
+        if (Files.exists(file)) {
+            for (String record : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (!record.isEmpty()) {
+                    apply(record);
+                    records++;
+                }
+            }
+        }
+        loaded = true;
+
+        if (shouldCompact()) {
+            compact();
+        }
     }
 
-    void load() throws IOException {
-        if (Files.notExists(file)) {
+    /**
+     * Apply the staged changes and queue them for writing.
+     */
+    void save() throws IOException {
+        if (!loaded) {
+            load();
+        }
+        if (staged.isEmpty()) {
             return;
         }
 
-        lines.clear();
-        lines.addAll(Files.readAllLines(file));
+        List<String> batch = new ArrayList<>(staged);
+        staged.clear();
+        batch.forEach(this::apply);
+        records += batch.size();
 
-        stale = false;
+        if (shouldCompact()) {
+            compact();
+        } else {
+            submit(() -> write(batch));
+        }
     }
 
-    void save() throws IOException {
-        if (Files.notExists(file)) {
-            Files.createDirectories(file.getParent());
-            Files.createFile(file);
+    /**
+     * Stop the writer thread, waiting for any pending writes to finish.
+     */
+    void close() {
+        submit(this::closeOut);
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warning("Timed out waiting for sign data to be written");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String find(String key) {
+        // Staged changes take precedence over the saved lines
+        for (int i = staged.size() - 1; i >= 0; i--) {
+            String record = staged.get(i);
+            if (record.startsWith(TOMBSTONE)) {
+                if (serializer.key(record.substring(TOMBSTONE.length())).equals(key)) {
+                    return null;
+                }
+            } else if (serializer.key(record).equals(key)) {
+                return record;
+            }
+        }
+        return lines.get(key);
+    }
+
+    private void apply(String record) {
+        if (record.startsWith(TOMBSTONE)) {
+            lines.remove(serializer.key(record.substring(TOMBSTONE.length())));
+        } else {
+            lines.put(serializer.key(record), record);
+        }
+    }
+
+    private boolean shouldCompact() {
+        int dead = records - lines.size();
+        return dead > COMPACT_THRESHOLD && dead > lines.size();
+    }
+
+    private void compact() {
+        List<String> snapshot = new ArrayList<>(lines.values());
+        records = snapshot.size();
+        submit(() -> rewrite(snapshot));
+    }
+
+    private void submit(Runnable task) {
+        if (writer.isShutdown()) {
+            return;
         }
+        writer.execute(task);
+    }
 
-        Files.write(file, lines, WRITE_OPTIONS);
+    private void write(List<String> batch) {
+        try {
+            if (out == null) {
+                Files.createDirectories(file.getParent());
+                out = Files.newBufferedWriter(
+                    file,
+                    StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND
+                );
+            }
+            for (String record : batch) {
+                out.write(record);
+                out.newLine();
+            }
+            out.flush();
+        } catch (IOException e) {
+            log.log(Level.SEVERE, "Failed to write to sign data file", e);
+        }
+    }
 
-        stale = true;
+    private void rewrite(List<String> snapshot) {
+        try {
+            closeOut();
+            AtomicFiles.write(file, snapshot);
+        } catch (IOException e) {
+            log.log(Level.SEVERE, "Failed to compact sign data file", e);
+        }
+    }
+
+    private void closeOut() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.log(Level.SEVERE, "Failed to close sign data file", e);
+        }
+        out = null;
     }
 
 }
@@ -70,10 +70,12 @@ public class SignListeners {
     }
 
     private HandlesArenaUpdates updates(SignBootstrap bootstrap) {
+        MobArena plugin = bootstrap.getPlugin();
         return new HandlesArenaUpdates(
             bootstrap.getSignStore(),
             bootstrap.getSignRenderer(),
-            bootstrap.getPlugin()
+            plugin,
+            plugin.getConfig().getInt("global-settings.sign-update-interval", 0)
         );
     }
 
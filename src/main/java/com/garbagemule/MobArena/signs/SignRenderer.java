@@ -7,6 +7,12 @@ import org.bukkit.block.BlockState;
 import org.bukkit.block.Sign;
 import org.bukkit.event.block.SignChangeEvent;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
 class SignRenderer {
 
     private final TemplateStore templateStore;
@@ -24,25 +30,50 @@ class SignRenderer {
     }
 
     void render(ArenaSign sign) {
+        render(sign, rendersTemplate::render);
+    }
+
+    /**
+     * Render a batch of signs. Signs for the same arena share a render
+     * context, so the arena state and player lists are only looked up
+     * once for the whole batch.
+     */
+    void render(List<ArenaSign> signs) {
+        Map<Arena, RenderContext> contexts = new HashMap<>();
+        BiFunction<Template, Arena, String[]> renderer = (template, arena) -> {
+            RenderContext context = contexts.computeIfAbsent(arena, RenderContext::new);
+            return rendersTemplate.render(template, context);
+        };
+        for (ArenaSign sign : signs) {
+            render(sign, renderer);
+        }
+    }
+
+    void render(ArenaSign sign, SignChangeEvent event) {
+        String[] lines = renderLines(sign, rendersTemplate::render);
+        for (int i = 0; i < lines.length; i++) {
+            event.setLine(i, lines[i]);
+        }
+    }
+
+    private void render(ArenaSign sign, BiFunction<Template, Arena, String[]> renderer) {
+        String[] lines = renderLines(sign, renderer);
+        if (Arrays.equals(lines, sign.lines)) {
+            return;
+        }
         BlockState state = sign.location.getBlock().getState();
         if (state instanceof Sign) {
             Sign target = (Sign) state;
-            String[] lines = renderLines(sign);
             for (int i = 0; i < lines.length; i++) {
                 target.setLine(i, lines[i]);
             }
             target.update();
+            sign.lines = lines;
+            sign.renderedAt = System.currentTimeMillis();
         }
     }
 
-    void render(ArenaSign sign, SignChangeEvent event) {
-        String[] lines = renderLines(sign);
-        for (int i = 0; i < lines.length; i++) {
-            event.setLine(i, lines[i]);
-        }
-    }
-
-    private String[] renderLines(ArenaSign sign) {
+    private String[] renderLines(ArenaSign sign, BiFunction<Template, Arena, String[]> renderer) {
         String templateId = sign.templateId;
         String arenaId = sign.arenaId;
 
@@ -56,7 +87,7 @@ class SignRenderer {
             return arenaNotFound(arenaId);
         }
 
-        return rendersTemplate.render(template, arena);
+        return renderer.apply(template, arena);
     }
 
     private String[] templateNotFound(String templateId) {
@@ -48,14 +48,22 @@ class SignSerializer {
             return true;
         }
 
-        String[] parts1 = line1.split(";");
-        String[] parts2 = line2.split(";");
+        return key(line1).equals(key(line2));
+    }
+
+    /**
+     * Get the part of a serialized sign that identifies its location,
+     * such that two lines are {@link #equal(String, String) equal} if
+     * and only if their keys are equal.
+     */
+    String key(String line) {
+        String[] parts = line.split(";");
+        if (parts.length < 5) {
+            return line;
+        }
 
         // World ID and (x,y,z) are all that matter
-        return parts1[0].equals(parts2[0])
-            && parts1[2].equals(parts2[2])
-            && parts1[3].equals(parts2[3])
-            && parts1[4].equals(parts2[4]);
+        return String.join(";", parts[0], parts[2], parts[3], parts[4]);
     }
 
 }
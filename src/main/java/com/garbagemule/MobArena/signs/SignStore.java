@@ -4,45 +4,102 @@ import org.bukkit.Location;
 import org.bukkit.World;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 class SignStore {
 
     private final Map<Location, ArenaSign> signs = new HashMap<>();
+    private final Index<String> byArenaId = new Index<>();
+    private final Index<World> byWorld = new Index<>();
 
     ArenaSign findByLocation(Location location) {
         return signs.get(location);
     }
 
+    /**
+     * Find all signs for the given arena. The returned list is a read-only
+     * view that reflects later changes to the store, so it should not be
+     * kept around.
+     */
     List<ArenaSign> findByArenaId(String arenaId) {
-        return signs.values().stream()
-            .filter(sign -> sign.arenaId.equals(arenaId))
-            .collect(Collectors.toList());
+        return byArenaId.get(arenaId);
     }
 
     void add(ArenaSign sign) {
-        signs.put(sign.location, sign);
+        ArenaSign previous = signs.put(sign.location, sign);
+        if (previous != null) {
+            unindex(previous);
+        }
+        byArenaId.add(sign.arenaId, sign);
+        byWorld.add(sign.location.getWorld(), sign);
     }
 
     ArenaSign removeByLocation(Location location) {
-        return signs.remove(location);
+        ArenaSign sign = signs.remove(location);
+        if (sign != null) {
+            unindex(sign);
+        }
+        return sign;
     }
 
     List<ArenaSign> removeByWorld(World world) {
-        List<ArenaSign> removed = new ArrayList<>();
-        Iterator<ArenaSign> iterator = signs.values().iterator();
-        while (iterator.hasNext()) {
-            ArenaSign sign = iterator.next();
-            if (sign.location.getWorld().equals(world)) {
-                removed.add(sign);
-                iterator.remove();
-            }
+        List<ArenaSign> removed = byWorld.removeAll(world);
+        for (ArenaSign sign : removed) {
+            signs.remove(sign.location);
+            byArenaId.remove(sign.arenaId, sign);
         }
         return removed;
     }
 
+    private void unindex(ArenaSign sign) {
+        byArenaId.remove(sign.arenaId, sign);
+        byWorld.remove(sign.location.getWorld(), sign);
+    }
+
+    /**
+     * Signs grouped by a key, with a read-only view of each group that
+     * can be handed out without copying.
+     */
+    private static class Index<K> {
+
+        private final Map<K, List<ArenaSign>> lists = new HashMap<>();
+        private final Map<K, List<ArenaSign>> views = new HashMap<>();
+
+        List<ArenaSign> get(K key) {
+            return views.getOrDefault(key, Collections.emptyList());
+        }
+
+        void add(K key, ArenaSign sign) {
+            List<ArenaSign> list = lists.get(key);
+            if (list == null) {
+                list = new ArrayList<>();
+                lists.put(key, list);
+                views.put(key, Collections.unmodifiableList(list));
+            }
+            list.add(sign);
+        }
+
+        void remove(K key, ArenaSign sign) {
+            List<ArenaSign> list = lists.get(key);
+            if (list == null) {
+                return;
+            }
+            list.remove(sign);
+            if (list.isEmpty()) {
+                lists.remove(key);
+                views.remove(key);
+            }
+        }
+
+        List<ArenaSign> removeAll(K key) {
+            views.remove(key);
+            List<ArenaSign> list = lists.remove(key);
+            return (list != null) ? list : new ArrayList<>();
+        }
+
+    }
+
 }
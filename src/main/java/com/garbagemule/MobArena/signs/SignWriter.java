@@ -22,29 +22,24 @@ class SignWriter {
     void write(ArenaSign sign) throws IOException {
         String line = serializer.serialize(sign);
 
-        for (String candidate : file.lines()) {
-            if (serializer.equal(candidate, line)) {
-                log.warning("Erasing conflicting sign entry:\n" + candidate);
-                file.erase(candidate);
-            }
+        String conflict = file.append(line);
+        if (conflict != null) {
+            log.warning("Erasing conflicting sign entry:\n" + conflict);
         }
 
-        file.append(line);
         file.save();
     }
 
     void erase(ArenaSign sign) throws IOException {
         String line = serializer.serialize(sign);
 
-        for (String candidate : file.lines()) {
-            if (serializer.equal(candidate, line)) {
-                file.erase(candidate);
-                file.save();
-                return;
-            }
+        String erased = file.erase(line);
+        if (erased == null) {
+            log.warning("No match found in sign data file for sign:\n" + line);
+            return;
         }
 
-        log.warning("No match found in sign data file for sign:\n" + line);
+        file.save();
     }
 
 }
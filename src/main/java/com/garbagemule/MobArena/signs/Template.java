@@ -7,11 +7,21 @@ class Template {
     final String[] ready;
     final String[] running;
 
+    final TemplateLine[] compiledIdle;
+    final TemplateLine[] compiledJoining;
+    final TemplateLine[] compiledReady;
+    final TemplateLine[] compiledRunning;
+
     private Template(String[] idle, String[] joining, String[] ready, String[] running) {
         this.idle = idle;
         this.joining = joining;
         this.ready = ready;
         this.running = running;
+
+        this.compiledIdle = TemplateLine.compile(idle);
+        this.compiledJoining = (joining == idle) ? compiledIdle : TemplateLine.compile(joining);
+        this.compiledReady = (ready == joining) ? compiledJoining : TemplateLine.compile(ready);
+        this.compiledRunning = (running == idle) ? compiledIdle : TemplateLine.compile(running);
     }
 
     static class Builder {
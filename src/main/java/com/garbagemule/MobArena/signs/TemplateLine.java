@@ -0,0 +1,155 @@
+package com.garbagemule.MobArena.signs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A template line compiled into literal text and variable slots, so it
+ * can be rendered in a single pass without searching for variables.
+ */
+class TemplateLine {
+
+    enum Variable {
+        ARENA_NAME("<arena-name>", false),
+        MIN_PLAYERS("<min-players>", false),
+        MAX_PLAYERS("<max-players>", false),
+        INITIAL_PLAYERS("<initial-players>", false),
+        LIVE_PLAYERS("<live-players>", false),
+        DEAD_PLAYERS("<dead-players>", false),
+        CURRENT_WAVE("<current-wave>", false),
+        FINAL_WAVE("<final-wave>", false),
+        LOBBY_PLAYERS("<lobby-players>", false),
+        READY_PLAYERS("<ready-players>", false),
+
+        // Player list variables are a prefix followed by player index+1
+        // and a closing bracket, e.g. "<lobby-" + "3" + ">".
+        ARENA_LIST("<arena-", true),
+        LOBBY_LIST("<lobby-", true),
+        READY_LIST("<ready-", true),
+        NOTREADY_LIST("<notready-", true);
+
+        final String token;
+        final boolean list;
+
+        Variable(String token, boolean list) {
+            this.token = token;
+            this.list = list;
+        }
+    }
+
+    private static final Variable[] VARIABLES = Variable.values();
+
+    // There is always one more literal than there are variables, so
+    // the line is literals[0], variables[0], literals[1], and so on.
+    private final String[] literals;
+    private final Variable[] variables;
+    private final int[] indices;
+
+    private TemplateLine(String[] literals, Variable[] variables, int[] indices) {
+        this.literals = literals;
+        this.variables = variables;
+        this.indices = indices;
+    }
+
+    void render(RenderContext context, StringBuilder out) {
+        out.append(literals[0]);
+        for (int i = 0; i < variables.length; i++) {
+            out.append(context.value(variables[i], indices[i]));
+            out.append(literals[i + 1]);
+        }
+    }
+
+    static TemplateLine[] compile(String[] lines) {
+        TemplateLine[] result = new TemplateLine[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            result[i] = compile(lines[i]);
+        }
+        return result;
+    }
+
+    static TemplateLine compile(String line) {
+        List<String> literals = new ArrayList<>();
+        List<Variable> variables = new ArrayList<>();
+        List<Integer> indices = new ArrayList<>();
+
+        // Only the first player list variable on a line is rendered,
+        // any others are left as they are.
+        boolean hasList = false;
+
+        int start = 0;
+        int at = line.indexOf('<');
+        while (at >= 0) {
+            Variable found = null;
+            int index = -1;
+            int end = -1;
+            for (Variable variable : VARIABLES) {
+                if (!line.startsWith(variable.token, at)) {
+                    continue;
+                }
+                if (!variable.list) {
+                    found = variable;
+                    end = at + variable.token.length();
+                    break;
+                }
+                if (hasList) {
+                    continue;
+                }
+                end = listEntryEnd(line, at + variable.token.length());
+                if (end >= 0) {
+                    found = variable;
+                    index = Integer.parseInt(line.substring(at + variable.token.length(), end - 1)) - 1;
+                    hasList = true;
+                    break;
+                }
+            }
+
+            if (found == null) {
+                at = line.indexOf('<', at + 1);
+                continue;
+            }
+
+            literals.add(line.substring(start, at));
+            variables.add(found);
+            indices.add(index);
+            start = end;
+            at = line.indexOf('<', end);
+        }
+        literals.add(line.substring(start));
+
+        int[] slots = new int[indices.size()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = indices.get(i);
+        }
+        return new TemplateLine(
+            literals.toArray(new String[0]),
+            variables.toArray(new Variable[0]),
+            slots
+        );
+    }
+
+    /**
+     * Find the end of a player index of one or two digits with no leading
+     * zero, followed by a closing bracket.
+     *
+     * @return the index after the closing bracket, or -1 if there is no
+     * valid player index at the given position
+     */
+    private static int listEntryEnd(String line, int at) {
+        int length = line.length();
+        if (at >= length || line.charAt(at) < '1' || line.charAt(at) > '9') {
+            return -1;
+        }
+        if (at + 1 < length && line.charAt(at + 1) == '>') {
+            return at + 2;
+        }
+        if (at + 2 < length && isDigit(line.charAt(at + 1)) && line.charAt(at + 2) == '>') {
+            return at + 3;
+        }
+        return -1;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+}
@@ -1,25 +1,19 @@
 package com.garbagemule.MobArena.steps;
 
 import com.garbagemule.MobArena.framework.Arena;
-import org.bukkit.configuration.file.YamlConfiguration;
+import com.garbagemule.MobArena.util.inventory.InventoryJournal;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.util.logging.Level;
-
 class ClearInventory extends PlayerStep {
-    private final File inventories;
+    private final InventoryJournal journal;
     private final Arena arena;
 
     private ItemStack[] contents;
-    private File backup;
 
     private ClearInventory(Player player, Arena arena) {
         super(player);
-        this.inventories = new File(arena.getPlugin().getDataFolder(), "inventories");
+        this.journal = arena.getPlugin().getInventoryJournal();
         this.arena = arena;
     }
 
@@ -36,30 +30,14 @@ class ClearInventory extends PlayerStep {
         player.getInventory().setContents(contents);
 
         arena.getInventoryManager().remove(player);
-        deleteBackup();
+        journal.remove(player);
     }
 
     private void createBackup() {
-        YamlConfiguration yaml = new YamlConfiguration();
-        yaml.set("contents", contents);
-
-        backup = new File(inventories, player.getUniqueId().toString());
-        try {
-            yaml.save(backup);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to store inventory for " + player.getName(), e);
-        }
+        journal.put(player, contents);
         arena.getInventoryManager().put(player, contents);
     }
 
-    private void deleteBackup() {
-        try {
-            Files.delete(backup.toPath());
-        } catch (IOException e) {
-            arena.getPlugin().getLogger().log(Level.WARNING, "Couldn't delete backup inventory file for " + player.getName(), e);
-        }
-    }
-
     static StepFactory create(Arena arena) {
         return player -> new ClearInventory(player, arena);
     }
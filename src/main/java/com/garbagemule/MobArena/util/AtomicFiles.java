@@ -0,0 +1,103 @@
+package com.garbagemule.MobArena.util;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Replace files without ever leaving a half-written file behind.
+ * <p>
+ * The new contents are written to a temporary file next to the target,
+ * synced to disk, and then moved over the target. If the server dies in
+ * the middle of it, the target still holds either the old contents or
+ * all of the new ones.
+ */
+public class AtomicFiles
+{
+    /**
+     * Contents written to an output stream. The stream may be closed by
+     * the contents, but that only flushes it.
+     */
+    @FunctionalInterface
+    public interface Contents
+    {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Replace the given file with the given lines, in UTF-8.
+     */
+    public static void write(Path file, List<String> lines) throws IOException {
+        write(file, out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                writer.write(line);
+                writer.write(System.lineSeparator());
+            }
+            writer.flush();
+        });
+    }
+
+    /**
+     * Replace the given file with the given bytes.
+     */
+    public static void write(Path file, byte[] bytes) throws IOException {
+        write(file, out -> out.write(bytes));
+    }
+
+    /**
+     * Replace the given file with whatever the given contents write. If
+     * anything fails, the target is left alone, and the temporary file is
+     * deleted.
+     */
+    public static void write(Path file, Contents contents) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel)) {
+                    @Override
+                    public void close() throws IOException {
+                        // The channel must stay open until it is synced
+                        flush();
+                    }
+                };
+                contents.writeTo(out);
+                out.flush();
+                channel.force(true);
+            }
+            move(tmp, file);
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Some file systems can't do it, so settle for a plain replace
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -10,24 +10,37 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.player.PlayerEvent;
 import org.bukkit.event.player.PlayerKickEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
-import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
-public class JoinInterruptTimer {
-    private Set<UUID> waiting;
+/**
+ * Keeps track of players warming up to join or spectate an arena.
+ * <p>
+ * All warmups share a single listener and a single repeating task, both
+ * of which are only around while there is at least one warmup going.
+ */
+public class JoinInterruptTimer implements Listener {
+    private Map<UUID, Warmup> waiting;
+
+    private BukkitTask task;
+    private long ticks;
 
     public JoinInterruptTimer() {
-        this.waiting = new HashSet<>();
+        this.waiting = new HashMap<>();
     }
 
     public boolean isWaiting(Player player) {
-        return waiting.contains(player.getUniqueId());
+        return waiting.containsKey(player.getUniqueId());
     }
 
     public boolean start(Player player, Arena arena, int seconds, Runnable completed) {
@@ -35,120 +48,110 @@ public class JoinInterruptTimer {
             return false;
         }
 
-        UUID id = player.getUniqueId();
-        waiting.add(id);
+        if (waiting.isEmpty()) {
+            Plugin plugin = arena.getPlugin();
+            Bukkit.getPluginManager().registerEvents(this, plugin);
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1, 1);
+            ticks = 0;
+        }
 
-        TimedInterruptListener listener = new TimedInterruptListener(
-            player,
-            arena,
-            () -> waiting.remove(id),
-            completed
-        );
-        listener.runTaskLater(arena.getPlugin(), seconds * 20);
-        Bukkit.getPluginManager().registerEvents(listener, arena.getPlugin());
+        Warmup warmup = new Warmup(player, arena, ticks + seconds * 20, completed);
+        waiting.put(player.getUniqueId(), warmup);
 
         return true;
     }
 
-    static class TimedInterruptListener extends BukkitRunnable implements Listener {
-        Player player;
-        Location location;
-        Arena arena;
-        Runnable stopped;
-        Runnable completed;
-
-        boolean done;
+    private void tick() {
+        ticks++;
 
-        TimedInterruptListener(Player player, Arena arena, Runnable stopped, Runnable completed) {
-            this.player = player;
-            this.location = player.getLocation();
-            this.arena = arena;
-            this.stopped = stopped;
-            this.completed = completed;
-
-            this.done = false;
+        List<Warmup> expired = null;
+        for (Warmup warmup : waiting.values()) {
+            if (warmup.deadline <= ticks) {
+                if (expired == null) {
+                    expired = new ArrayList<>();
+                }
+                expired.add(warmup);
+            }
         }
-
-        @Override
-        public void run() {
-            complete();
+        if (expired == null) {
+            return;
         }
 
-        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
-        public void on(EntityDamageEvent event) {
-            if (done || !event.getEntity().equals(player)) {
-                return;
-            }
-            arena.getMessenger().tell(player, Msg.JOIN_INTERRUPTED_BY_DAMAGE);
-            interrupt();
+        for (Warmup warmup : expired) {
+            stop(warmup);
+        }
+        for (Warmup warmup : expired) {
+            warmup.completed.run();
         }
+    }
 
-        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
-        public void on(PlayerMoveEvent event) {
-            if (done || !event.getPlayer().equals(player)) {
-                return;
-            }
-            if (location.getWorld() == event.getTo().getWorld() && location.distanceSquared(event.getTo()) < 1) {
-                return;
-            }
-            arena.getMessenger().tell(player, Msg.JOIN_INTERRUPTED_BY_MOVEMENT);
-            interrupt();
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void on(EntityDamageEvent event) {
+        Warmup warmup = waiting.get(event.getEntity().getUniqueId());
+        if (warmup == null) {
+            return;
         }
+        warmup.arena.getMessenger().tell(warmup.player, Msg.JOIN_INTERRUPTED_BY_DAMAGE);
+        stop(warmup);
+    }
 
-        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
-        public void on(PlayerQuitEvent event) {
-            if (done || !event.getPlayer().equals(player)) {
-                return;
-            }
-            interrupt();
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void on(PlayerMoveEvent event) {
+        Warmup warmup = waiting.get(event.getPlayer().getUniqueId());
+        if (warmup == null) {
+            return;
+        }
+        Location location = warmup.location;
+        if (location.getWorld() == event.getTo().getWorld() && location.distanceSquared(event.getTo()) < 1) {
+            return;
         }
+        warmup.arena.getMessenger().tell(warmup.player, Msg.JOIN_INTERRUPTED_BY_MOVEMENT);
+        stop(warmup);
+    }
 
-        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
-        public void on(PlayerKickEvent event) {
-            if (done || !event.getPlayer().equals(player)) {
-                return;
-            }
-            interrupt();
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void on(PlayerQuitEvent event) {
+        interrupt(event);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void on(PlayerKickEvent event) {
+        interrupt(event);
+    }
+
+    private void interrupt(PlayerEvent event) {
+        Warmup warmup = waiting.get(event.getPlayer().getUniqueId());
+        if (warmup != null) {
+            stop(warmup);
         }
+    }
 
-        void complete() {
-            if (done) {
-                return;
-            }
-            done = true;
-
-            try {
-                HandlerList.unregisterAll(this);
-                stopped.run();
-                completed.run();
-            } finally {
-                clear();
-            }
+    private void stop(Warmup warmup) {
+        waiting.remove(warmup.player.getUniqueId());
+        if (!waiting.isEmpty()) {
+            return;
         }
 
-        void interrupt() {
-            if (done) {
-                return;
-            }
-            done = true;
-
-            try {
-                HandlerList.unregisterAll(this);
-                stopped.run();
-                super.cancel();
-            } catch (IllegalStateException e) {
-                // Swallow this exception from super.cancel()
-            } finally {
-                clear();
-            }
+        HandlerList.unregisterAll(this);
+        if (task != null) {
+            task.cancel();
+            task = null;
         }
+    }
+
+    private static class Warmup {
+        final Player player;
+        final Location location;
+        final Arena arena;
+        final long deadline;
+        final Runnable completed;
 
-        void clear() {
-            player = null;
-            location = null;
-            arena = null;
-            stopped = null;
-            completed = null;
+        Warmup(Player player, Arena arena, long deadline, Runnable completed) {
+            this.player = player;
+            this.location = player.getLocation();
+            this.arena = arena;
+            this.deadline = deadline;
+            this.completed = completed;
         }
     }
 }
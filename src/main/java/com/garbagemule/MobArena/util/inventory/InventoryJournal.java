@@ -0,0 +1,482 @@
+package com.garbagemule.MobArena.util.inventory;
+
+import com.garbagemule.MobArena.util.AtomicFiles;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.io.BukkitObjectInputStream;
+import org.bukkit.util.io.BukkitObjectOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Crash-safe backups of the inventories of players in arenas.
+ * <p>
+ * The main thread only takes a snapshot of the inventory contents. The
+ * snapshots are serialized and appended to a binary journal on a single
+ * background thread, which syncs the journal to disk once per batch of
+ * writes rather than once per backup. Deleted backups are written as
+ * tombstones, and the journal is compacted when too many of them pile up.
+ * <p>
+ * Each record carries a checksum, so if the server dies in the middle of
+ * a write, the torn record is simply dropped on the next startup. Records
+ * only leave the queue once they are synced to disk, so a failed write is
+ * retried with the next batch.
+ */
+public class InventoryJournal
+{
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+
+    // Write on the calling thread if the writer can't keep up
+    private static final int MAX_PENDING = 64;
+    private static final int COMPACT_THRESHOLD = 256;
+    private static final int MAX_PAYLOAD = 16 * 1024 * 1024;
+
+    private final Path file;
+    private final Logger log;
+
+    private final Map<UUID, ItemStack[]> backups;
+    private final Deque<Record> queue;
+    private final ExecutorService writer;
+    private final AtomicBoolean scheduled;
+
+    // Only ever touched while holding the io lock
+    private final Object io = new Object();
+    private final Map<UUID, byte[]> live;
+    private final Set<UUID> unsaved;
+    private FileChannel out;
+    private int dead;
+
+    // Set when a write fails, cleared when a write succeeds
+    private volatile boolean failed;
+
+    InventoryJournal(Path dir, Logger log) {
+        this.file = dir.resolve("inventories.dat");
+        this.log  = log;
+
+        this.backups = new ConcurrentHashMap<>();
+        this.queue   = new ArrayDeque<>();
+        this.live    = new HashMap<>();
+        this.unsaved = new HashSet<>();
+        this.scheduled = new AtomicBoolean();
+        this.writer  = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "MobArena-Inventories");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Create a journal in the data folder of the given root directory and
+     * load whatever backups are already on disk.
+     */
+    public static InventoryJournal create(Path root, Logger log) {
+        InventoryJournal journal = new InventoryJournal(root.resolve("data"), log);
+        try {
+            journal.load();
+        } catch (IOException e) {
+            log.log(Level.SEVERE, "Failed to read inventory backup journal", e);
+        }
+        return journal;
+    }
+
+    void load() throws IOException {
+        synchronized (io) {
+            live.clear();
+            if (Files.exists(file)) {
+                try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+                    while (read(in)) {
+                        // Keep reading until the end or a torn record
+                    }
+                }
+            }
+
+            backups.clear();
+            for (Map.Entry<UUID, byte[]> entry : live.entrySet()) {
+                try {
+                    backups.put(entry.getKey(), deserialize(entry.getValue()));
+                } catch (IOException | ClassNotFoundException e) {
+                    log.log(Level.SEVERE, "Failed to read inventory backup of player " + entry.getKey(), e);
+                }
+            }
+
+            // Start out with a clean journal
+            compact();
+        }
+    }
+
+    /**
+     * Back up the given inventory contents of the given player. The backup
+     * is written to disk in the background.
+     */
+    public void put(Player player, ItemStack[] contents) {
+        ItemStack[] snapshot = new ItemStack[contents.length];
+        for (int i = 0; i < contents.length; i++) {
+            snapshot[i] = (contents[i] != null) ? contents[i].clone() : null;
+        }
+        backups.put(player.getUniqueId(), snapshot);
+        enqueue(new Record(PUT, player.getUniqueId(), snapshot));
+    }
+
+    /**
+     * Delete the backup of the given player, if any.
+     */
+    public void remove(Player player) {
+        if (backups.remove(player.getUniqueId()) != null) {
+            enqueue(new Record(DELETE, player.getUniqueId(), null));
+        }
+    }
+
+    /**
+     * Restore the backed up inventory of the given player and delete the
+     * backup.
+     *
+     * @return true, if the player had a backup, false otherwise
+     */
+    public boolean restore(Player player) {
+        ItemStack[] contents = backups.get(player.getUniqueId());
+        if (contents == null) {
+            return false;
+        }
+        player.getInventory().setContents(contents);
+        remove(player);
+        return true;
+    }
+
+    /**
+     * Make sure all backups so far are on disk. Waits for the writer to
+     * finish its current batch, then writes out the rest on the calling
+     * thread.
+     *
+     * @return true, if all backups were written, false if the last write
+     * failed, or if the backup of a player could not be serialized
+     */
+    public boolean flush() {
+        synchronized (io) {
+            try {
+                drain();
+            } catch (IOException e) {
+                log.log(Level.SEVERE, "Failed to write inventory backup journal", e);
+            }
+            return !failed && unsaved.isEmpty();
+        }
+    }
+
+    /**
+     * Write out any pending backups, compact the journal, and stop the
+     * writer thread.
+     */
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warning("Timed out waiting for inventory backups to be written");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (io) {
+            try {
+                drain();
+                compact();
+                if (out != null) {
+                    out.close();
+                    out = null;
+                }
+            } catch (IOException e) {
+                log.log(Level.SEVERE, "Failed to write inventory backup journal", e);
+            }
+        }
+    }
+
+    private void enqueue(Record record) {
+        int pending;
+        synchronized (queue) {
+            queue.add(record);
+            pending = queue.size();
+        }
+
+        if (pending >= MAX_PENDING || writer.isShutdown()) {
+            flush();
+            return;
+        }
+        // Records stay in the queue while the writer syncs them, so the
+        // queue size can't tell if the writer will get to this record
+        if (scheduled.compareAndSet(false, true)) {
+            writer.execute(this::write);
+        }
+    }
+
+    private void write() {
+        // Cleared before the batch is taken, so any record that misses
+        // this batch schedules the next one
+        scheduled.set(false);
+        flush();
+    }
+
+    /**
+     * Get the number of records that aren't synced to disk yet.
+     */
+    int pending() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    private void drain() throws IOException {
+        synchronized (io) {
+            List<Record> batch;
+            synchronized (queue) {
+                if (queue.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(queue);
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream data = new DataOutputStream(bytes);
+            for (Record record : batch) {
+                prepare(record);
+                write(data, record.type, record.playerId, record.payload);
+            }
+            data.flush();
+
+            long size = -1;
+            try {
+                FileChannel channel = channel();
+                size = channel.size();
+                ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                failed = true;
+                if (size >= 0) {
+                    rollback(size);
+                }
+                throw e;
+            }
+
+            // The batch is on disk, so it can finally leave the queue
+            synchronized (queue) {
+                for (int i = 0; i < batch.size(); i++) {
+                    queue.poll();
+                }
+            }
+            for (Record record : batch) {
+                byte[] previous = (record.type == PUT)
+                    ? live.put(record.playerId, record.payload)
+                    : live.remove(record.playerId);
+                if (previous != null || record.type == DELETE) {
+                    dead++;
+                }
+                if (record.skipped) {
+                    unsaved.add(record.playerId);
+                } else {
+                    unsaved.remove(record.playerId);
+                }
+            }
+            failed = false;
+
+            if (dead >= COMPACT_THRESHOLD) {
+                try {
+                    compact();
+                } catch (IOException e) {
+                    // The journal is still intact, just longer than it needs to be
+                    log.log(Level.WARNING, "Failed to compact inventory backup journal", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Serialize the contents of the given record, if it hasn't been done
+     * already. If the contents can't be serialized, the record becomes a
+     * tombstone, so a stale backup on disk is never restored instead, and
+     * the player is marked as unsaved until a later record goes through.
+     */
+    private void prepare(Record record) {
+        if (record.payload != null) {
+            return;
+        }
+        if (record.type == PUT) {
+            try {
+                record.payload = serialize(record.contents);
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.log(Level.SEVERE, "Failed to serialize inventory backup of player " + record.playerId, e);
+                record.type = DELETE;
+                record.skipped = true;
+            }
+        }
+        record.payload = new byte[0];
+    }
+
+    /**
+     * Cut off whatever part of a failed write made it into the journal,
+     * so the retry doesn't end up behind a torn record.
+     */
+    private void rollback(long size) {
+        try {
+            out.truncate(size);
+        } catch (IOException e) {
+            log.log(Level.SEVERE, "Failed to roll back inventory backup journal", e);
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            // Reopened on the next write anyway
+        }
+        out = null;
+    }
+
+    private void compact() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(bytes);
+        for (Map.Entry<UUID, byte[]> entry : live.entrySet()) {
+            write(data, PUT, entry.getKey(), entry.getValue());
+        }
+        data.flush();
+
+        AtomicFiles.write(file, bytes.toByteArray());
+        dead = 0;
+    }
+
+    private FileChannel channel() throws IOException {
+        if (out == null) {
+            Files.createDirectories(file.getParent());
+            out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return out;
+    }
+
+    /**
+     * Read a single record and apply it to the live backups.
+     *
+     * @return true, if a record was read, false at the end of the journal
+     * or at a torn or corrupt record
+     */
+    private boolean read(DataInputStream in) throws IOException {
+        try {
+            byte type = in.readByte();
+            UUID playerId = new UUID(in.readLong(), in.readLong());
+            int length = in.readInt();
+            if (length < 0 || length > MAX_PAYLOAD) {
+                log.warning("Skipping corrupt tail of inventory backup journal");
+                return false;
+            }
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            long checksum = in.readInt() & 0xFFFFFFFFL;
+
+            if (checksum(type, playerId, payload) != checksum) {
+                log.warning("Skipping corrupt tail of inventory backup journal");
+                return false;
+            }
+            if (type == PUT) {
+                live.put(playerId, payload);
+            } else if (type == DELETE) {
+                live.remove(playerId);
+            } else {
+                return false;
+            }
+            return true;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    private static void write(DataOutputStream out, byte type, UUID playerId, byte[] payload) throws IOException {
+        out.writeByte(type);
+        out.writeLong(playerId.getMostSignificantBits());
+        out.writeLong(playerId.getLeastSignificantBits());
+        out.writeInt(payload.length);
+        out.write(payload);
+        out.writeInt((int) checksum(type, playerId, payload));
+    }
+
+    private static long checksum(byte type, UUID playerId, byte[] payload) {
+        ByteBuffer header = ByteBuffer.allocate(17);
+        header.put(type);
+        header.putLong(playerId.getMostSignificantBits());
+        header.putLong(playerId.getLeastSignificantBits());
+
+        CRC32 crc = new CRC32();
+        crc.update(header.array());
+        crc.update(payload);
+        return crc.getValue();
+    }
+
+    private static byte[] serialize(ItemStack[] contents) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BukkitObjectOutputStream out = new BukkitObjectOutputStream(bytes)) {
+            out.writeInt(contents.length);
+            for (ItemStack stack : contents) {
+                out.writeObject(stack);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ItemStack[] deserialize(byte[] payload) throws IOException, ClassNotFoundException {
+        InputStream bytes = new ByteArrayInputStream(payload);
+        try (BukkitObjectInputStream in = new BukkitObjectInputStream(bytes)) {
+            ItemStack[] contents = new ItemStack[in.readInt()];
+            for (int i = 0; i < contents.length; i++) {
+                contents[i] = (ItemStack) in.readObject();
+            }
+            return contents;
+        }
+    }
+
+    private static class Record
+    {
+        final UUID playerId;
+        final ItemStack[] contents;
+
+        // Only ever touched while holding the io lock
+        byte type;
+        byte[] payload;
+        boolean skipped;
+
+        Record(byte type, UUID playerId, ItemStack[] contents) {
+            this.type = type;
+            this.playerId = playerId;
+            this.contents = contents;
+        }
+    }
+}
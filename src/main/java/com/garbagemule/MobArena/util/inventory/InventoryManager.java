@@ -79,6 +79,12 @@ public class InventoryManager
     }
 
     public static boolean restoreFromFile(MobArena plugin, Player p) {
+        InventoryJournal journal = plugin.getInventoryJournal();
+        if (journal != null && journal.restore(p)) {
+            return true;
+        }
+
+        // Backups from before the journal are stored as YAML files
         try {
             File inventories = new File(plugin.getDataFolder(), "inventories");
             File file = new File(inventories, p.getUniqueId().toString());
@@ -36,7 +36,8 @@ public abstract class AbstractWave implements Wave
         return WaveUtils.getValidSpawnpoints(arena, spawnpoints, arena.getPlayersInArena());
     }
 
-    protected List<Location> getSpawnpoints() {
+    @Override
+    public List<Location> getSpawnpoints() {
         return spawnpoints;
     }
 
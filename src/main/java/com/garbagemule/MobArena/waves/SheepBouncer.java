@@ -7,7 +7,8 @@ import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitTask;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 public class SheepBouncer implements Runnable
@@ -49,8 +50,7 @@ public class SheepBouncer implements Runnable
             return;
         }
 
-        // Put all the sheep in a new collection for iteration purposes.
-        Set<LivingEntity> sheep = new HashSet<>(arena.getMonsterManager().getExplodingSheep());
+        Set<LivingEntity> sheep = arena.getMonsterManager().getExplodingSheep();
 
         // If there are no sheep, reschedule and return.
         if (sheep.isEmpty()) {
@@ -58,6 +58,10 @@ public class SheepBouncer implements Runnable
             return;
         }
 
+        // Explosions and removals can kill other sheep and change the set,
+        // so only collect them while iterating and apply them afterwards.
+        List<LivingEntity> dead = new ArrayList<>();
+        List<LivingEntity> exploding = new ArrayList<>();
         for (LivingEntity e : sheep) {
             // If an entity is null just ignore it.
             if (e == null) {
@@ -66,17 +70,14 @@ public class SheepBouncer implements Runnable
 
             // If the sheep is dead, remove it.
             if (e.isDead()) {
-                arena.getMonsterManager().removeMonster(e);
-                arena.getMonsterManager().removeExplodingSheep(e);
+                dead.add(e);
                 continue;
             }
 
             // Create an explosion if there's a player amongst the nearby entities.
             for (Entity entity : e.getNearbyEntities(2D, 2D, 2D)) {
                 if (entity instanceof Player) {
-                    e.getWorld().createExplosion(e.getLocation(), 2f);
-                    e.remove();
-
+                    exploding.add(e);
                     break;
                 }
             }
@@ -86,6 +87,15 @@ public class SheepBouncer implements Runnable
                 e.setVelocity(e.getVelocity().setY(0.5));
         }
 
+        for (LivingEntity e : dead) {
+            arena.getMonsterManager().removeMonster(e);
+            arena.getMonsterManager().removeExplodingSheep(e);
+        }
+        for (LivingEntity e : exploding) {
+            e.getWorld().createExplosion(e.getLocation(), 2f);
+            e.remove();
+        }
+
         // Reschedule for more bouncy madness!
         task = Bukkit.getScheduler().runTaskLater(arena.getPlugin(), this, BOUNCE_INTERVAL);
     }
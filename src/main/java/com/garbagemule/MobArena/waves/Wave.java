@@ -33,6 +33,14 @@ public interface Wave
      */
     List<Location> getSpawnpoints(Arena arena);
 
+    /**
+     * Get the list of spawnpoints this wave was configured with, without
+     * checking for nearby players. If the list is empty, all spawnpoints
+     * of the arena region are considered.
+     * @return a list of spawnpoints, may be empty
+     */
+    List<Location> getSpawnpoints();
+
     /**
      * Set the list of spawnpoints on which the monsters of this
      * wave may be spawned. If the value is null, all spawnpoints
@@ -4,16 +4,29 @@ import com.garbagemule.MobArena.framework.Arena;
 import com.garbagemule.MobArena.waves.enums.WaveBranch;
 import org.bukkit.configuration.ConfigurationSection;
 
-import java.util.SortedSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.TreeSet;
+import java.util.function.Supplier;
 
 public class WaveManager
 {
+    private static final int MAX_SCHEDULE = 10000;
+
     private Arena arena;
     private ConfigurationSection section;
 
     private Wave defaultWave, currentWave;
-    private TreeSet<Wave> recurrentWaves, singleWaves, singleWavesInstance;
+    private TreeSet<Wave> recurrentWaves, singleWaves;
+
+    // Single waves by wave number, and the memoized recurrent wave (or
+    // the default wave) for each wave number seen so far. The schedule
+    // only depends on the wave config, so it survives between sessions.
+    private Map<Integer, Wave> singlesByWave;
+    private List<Wave> schedule;
+    private boolean stale;
 
     private int wave, finalWave;
 
@@ -30,10 +43,23 @@ public class WaveManager
         return recurrentWaves;
     }
 
+    /**
+     * Reset the wave counter for a new session. The waves are only parsed
+     * again if they have been {@link #invalidate() invalidated}.
+     */
     public void reset() {
-        reloadWaves();
+        if (stale) {
+            reloadWaves();
+        }
         wave = 0;
-        singleWavesInstance = new TreeSet<>(singleWaves);
+    }
+
+    /**
+     * Mark the parsed waves as stale, e.g. because the spawnpoints they
+     * refer to have changed. The waves are parsed again on the next reset.
+     */
+    public void invalidate() {
+        stale = true;
     }
 
     public void reloadWaves() {
@@ -59,6 +85,13 @@ public class WaveManager
             }
             defaultWave = recurrentWaves.first();
         }
+
+        singlesByWave = new HashMap<>();
+        for (Wave w : singleWaves) {
+            singlesByWave.put(w.getFirstWave(), w);
+        }
+        schedule = new ArrayList<>();
+        stale = false;
     }
 
     /**
@@ -69,13 +102,7 @@ public class WaveManager
     public Wave next() {
         wave++;
 
-        if (!singleWavesInstance.isEmpty() && singleWavesInstance.first().matches(wave)) {
-            currentWave = singleWavesInstance.pollFirst().copy();
-        }
-        else {
-            SortedSet<Wave> matches = getMatchingRecurrentWaves(wave);
-            currentWave = (matches.isEmpty() ? defaultWave : matches.last()).copy();
-        }
+        currentWave = getWave(wave).copy();
 
         return currentWave;
     }
@@ -87,14 +114,24 @@ public class WaveManager
      * @return the next Wave
      */
     public Wave getNext() {
-        int next = wave + 1;
+        return getWave(wave + 1);
+    }
 
-        if (!singleWavesInstance.isEmpty() && singleWavesInstance.first().matches(next)) {
-            return singleWavesInstance.first();
+    /**
+     * Run the given action as if the next wave had already started, i.e.
+     * with the wave number bumped by one. This allows formulas that refer
+     * to the current wave to be evaluated for the next wave ahead of time.
+     * Must only be called from the main thread.
+     * @param action the action to run
+     * @return the result of the action
+     */
+    public <T> T lookAhead(Supplier<T> action) {
+        wave++;
+        try {
+            return action.get();
+        } finally {
+            wave--;
         }
-
-        SortedSet<Wave> matches = getMatchingRecurrentWaves(wave);
-        return (matches.isEmpty() ? defaultWave : matches.last());
     }
 
     /**
@@ -122,13 +159,31 @@ public class WaveManager
         return finalWave;
     }
 
-    private SortedSet<Wave> getMatchingRecurrentWaves(int wave) {
-        TreeSet<Wave> result = new TreeSet<>(WaveUtils.getRecurrentComparator());
-        for (Wave w : recurrentWaves) {
+    private Wave getWave(int wave) {
+        Wave single = singlesByWave.get(wave);
+        if (single != null) {
+            return single;
+        }
+
+        // Don't let absurdly long sessions blow up the schedule
+        if (wave >= MAX_SCHEDULE) {
+            return findRecurrentWave(wave);
+        }
+
+        // Fill in the schedule up to the given wave
+        while (schedule.size() <= wave) {
+            schedule.add(findRecurrentWave(schedule.size()));
+        }
+        return schedule.get(wave);
+    }
+
+    private Wave findRecurrentWave(int wave) {
+        // The recurrent wave with the highest priority wins
+        for (Wave w : recurrentWaves.descendingSet()) {
             if (w.matches(wave)) {
-                result.add(w);
+                return w;
             }
         }
-        return result;
+        return defaultWave;
     }
 }
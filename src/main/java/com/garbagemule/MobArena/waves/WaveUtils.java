@@ -1,8 +1,8 @@
 package com.garbagemule.MobArena.waves;
 
-import com.garbagemule.MobArena.MAUtils;
 import com.garbagemule.MobArena.MobArena;
 import com.garbagemule.MobArena.framework.Arena;
+import com.garbagemule.MobArena.region.SpawnpointGrid;
 import com.garbagemule.MobArena.waves.enums.WaveBranch;
 import org.bukkit.Location;
 import org.bukkit.entity.Entity;
@@ -11,7 +11,10 @@ import org.bukkit.entity.Player;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
 
 public class WaveUtils
 {
@@ -19,64 +22,52 @@ public class WaveUtils
      * Get all the spawnpoints that have players nearby.
      */
     public static List<Location> getValidSpawnpoints(Arena arena, List<Location> spawnpoints, Collection<Player> players) {
-        MobArena plugin = arena.getPlugin();
-        List<Location> result = new ArrayList<>();
+        SpawnpointGrid grid = arena.getRegion().getSpawnpointGrid();
 
         // Ensure that we do have some spawnpoints.
+        Set<Location> filter = null;
         if (spawnpoints == null || spawnpoints.isEmpty()) {
-            spawnpoints = arena.getRegion().getSpawnpointList();
+            spawnpoints = grid.getSpawnpoints();
+        } else {
+            filter = new HashSet<>(spawnpoints);
         }
 
-        // Loop through each one and check if any players are in range.
-        for (Location l : spawnpoints) {
-            for (Player p : players) {
-                if (MAUtils.distanceSquared(plugin, p, l) >= MobArena.MIN_PLAYER_DISTANCE_SQUARED) {
-                    continue;
-                }
-                result.add(l);
-                break;
-            }
+        List<Location> locations = new ArrayList<>(players.size());
+        for (Player p : players) {
+            locations.add(p.getLocation());
         }
+        return getValidSpawnpoints(grid, filter, spawnpoints, locations, arena.configName(), arena.getPlugin().getLogger());
+    }
+
+    /**
+     * Get all the spawnpoints in the given grid that are near any of the
+     * given player locations. Doesn't touch the arena, so it can be used
+     * on a snapshot of it.
+     *
+     * @param filter the spawnpoints to consider, or null for all of them
+     * @param fallback the spawnpoints to use if none are in range
+     * @return the spawnpoints in range, or the fallback spawnpoints
+     */
+    public static List<Location> getValidSpawnpoints(SpawnpointGrid grid, Set<Location> filter, List<Location> fallback, List<Location> locations, String arenaName, Logger log) {
+        // Only look at the grid cells around each player.
+        List<Location> result = new ArrayList<>();
+        grid.query(locations, filter, result);
 
         // If no spawnpoints in range, just return all of them.
         if (result.isEmpty()) {
-            String locs = "";
-            for (Player p : players) {
-                Location l = p.getLocation();
-                locs += "(" + l.getBlockX() + "," + l.getBlockY() + "," + l.getBlockZ() + ") ";
+            StringBuilder locs = new StringBuilder();
+            for (Location l : locations) {
+                locs.append("(").append(l.getBlockX()).append(",").append(l.getBlockY()).append(",").append(l.getBlockZ()).append(") ");
             }
-            plugin.getLogger().warning("The following locations in arena '" + arena.configName() + "' are not covered by any spawnpoints:" + locs);
-            return spawnpoints;
+            log.warning("The following locations in arena '" + arenaName + "' are not covered by any spawnpoints:" + locs);
+            return fallback;
         }
         return result;
     }
 
     public static Player getClosestPlayer(Arena arena, Entity e)
     {
-        // Set up the comparison variable and the result.
-        double dist    = 0;
-        double current = Double.POSITIVE_INFINITY;
-        Player result = null;
-
-        /* Iterate through the ArrayList, and update current and result every
-         * time a squared distance smaller than current is found. */
-        for (Player p : arena.getPlayersInArena())
-        {
-            if (!arena.getWorld().equals(p.getWorld()))
-            {
-                arena.getPlugin().getLogger().info("Player '" + p.getName() + "' is not in the right world. Kicking...");
-                p.kickPlayer("[MobArena] Cheater! (Warped out of the arena world.)");
-                continue;
-            }
-
-            dist = p.getLocation().distanceSquared(e.getLocation());
-            if (dist < current && dist < MobArena.MIN_PLAYER_DISTANCE_SQUARED)
-            {
-                current = dist;
-                result = p;
-            }
-        }
-        return result;
+        return arena.getPlayerPositions().nearest(e.getLocation(), MobArena.MIN_PLAYER_DISTANCE);
     }
 
     /*////////////////////////////////////////////////////////////////////
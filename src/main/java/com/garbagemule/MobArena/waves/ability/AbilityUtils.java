@@ -1,13 +1,11 @@
 package com.garbagemule.MobArena.waves.ability;
 
-import com.garbagemule.MobArena.MAUtils;
 import com.garbagemule.MobArena.framework.Arena;
 import org.bukkit.entity.Creature;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
@@ -43,10 +41,7 @@ public class AbilityUtils
      * @return a random arena player, or null if none were found
      */
     public static Player getRandomPlayer(Arena arena) {
-        List<Player> list = new ArrayList<>(arena.getPlayersInArena());
-        if (list.isEmpty()) return null;
-
-        return list.get(random.nextInt(list.size()));
+        return arena.getPlayerPositions().random(random);
     }
 
     /**
@@ -57,11 +52,9 @@ public class AbilityUtils
      * @return a list of nearby players
      */
     public static List<Player> getNearbyPlayers(Arena arena, Entity boss, int x) {
-        List<Player> result = new ArrayList<>();
-        for (Entity e : boss.getNearbyEntities(x, x, x)) {
-            if (arena.getPlayersInArena().contains(e)) {
-                result.add((Player) e);
-            }
+        List<Player> result = arena.getPlayerPositions().within(boss.getLocation(), x);
+        if (boss instanceof Player) {
+            result.remove(boss);
         }
         return result;
     }
@@ -74,12 +67,6 @@ public class AbilityUtils
      * @return a list of distant players
      */
     public static List<Player> getDistantPlayers(Arena arena, Entity boss, int x) {
-        List<Player> result = new ArrayList<>();
-        for (Player p : arena.getPlayersInArena()) {
-            if (MAUtils.distanceSquared(arena.getPlugin(), p, boss.getLocation()) > (double) (x*x)) {
-                result.add(p);
-            }
-        }
-        return result;
+        return arena.getPlayerPositions().beyond(boss.getLocation(), x);
     }
 }
@@ -0,0 +1,86 @@
+package com.garbagemule.MobArena;
+
+import com.garbagemule.MobArena.framework.Arena;
+import org.bukkit.entity.Player;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ArenaPlayerIndexTest {
+
+    private ArenaPlayerIndex subject;
+    private Arena castle;
+    private Arena jungle;
+
+    @Before
+    public void setup() {
+        subject = new ArenaPlayerIndex();
+        castle = mock(Arena.class);
+        jungle = mock(Arena.class);
+    }
+
+    @Test
+    public void findsArenaOfPlayer() {
+        Player alice = player();
+        subject.put(alice, castle);
+
+        assertThat(subject.get(alice), equalTo(castle));
+        assertThat(subject.get(alice.getUniqueId()), equalTo(castle));
+    }
+
+    @Test
+    public void tracksMembersPerArena() {
+        Player alice = player();
+        Player bob = player();
+        Player carol = player();
+        subject.put(alice, castle);
+        subject.put(bob, castle);
+        subject.put(carol, jungle);
+
+        assertThat(subject.getMembers(castle), containsInAnyOrder(alice, bob));
+        assertThat(subject.getMembers(jungle), containsInAnyOrder(carol));
+    }
+
+    @Test
+    public void publishedMembersDoNotChange() {
+        Player alice = player();
+        Player bob = player();
+        subject.put(alice, castle);
+        Set<Player> before = subject.getMembers(castle);
+
+        subject.put(bob, castle);
+        subject.remove(alice);
+
+        assertThat(before, containsInAnyOrder(alice));
+        assertThat(subject.getMembers(castle), containsInAnyOrder(bob));
+    }
+
+    @Test
+    public void removeForgetsPlayer() {
+        Player alice = player();
+        subject.put(alice, castle);
+
+        Arena result = subject.remove(alice);
+
+        assertThat(result, equalTo(castle));
+        assertThat(subject.get(alice), nullValue());
+        assertThat(subject.getMembers(castle), empty());
+    }
+
+    private static Player player() {
+        Player player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        return player;
+    }
+
+}
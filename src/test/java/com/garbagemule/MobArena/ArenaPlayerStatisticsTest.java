@@ -0,0 +1,78 @@
+package com.garbagemule.MobArena;
+
+import com.garbagemule.MobArena.leaderboards.Stats;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.garbagemule.MobArena.StatisticsFixtures.stats;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+public class ArenaPlayerStatisticsTest {
+
+    @Test
+    public void incrementsAndAddsByStat() {
+        ArenaPlayerStatistics subject = stats("Alice");
+
+        subject.inc(Stats.KILLS);
+        subject.inc(Stats.KILLS);
+        subject.add(Stats.DAMAGE_DONE, 4.5);
+        subject.add(Stats.DAMAGE_DONE, 4.5);
+
+        assertThat(subject.get(Stats.KILLS), equalTo(2));
+        assertThat(subject.get(Stats.DAMAGE_DONE), equalTo(8));
+        assertThat(subject.get(Stats.HITS), equalTo(0));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void stringShimDelegatesToStats() {
+        ArenaPlayerStatistics subject = stats("Alice");
+
+        subject.inc("swings");
+        subject.add("dmgTaken", 3);
+
+        assertThat(subject.get(Stats.SWINGS), equalTo(1));
+        assertThat(subject.getInt("dmgTaken"), equalTo(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @SuppressWarnings("deprecation")
+    public void stringShimRejectsUnknownStats() {
+        stats("Alice").inc("cakes");
+    }
+
+    @Test
+    public void resetClearsAllCounters() {
+        ArenaPlayerStatistics subject = stats("Alice");
+        subject.inc(Stats.KILLS);
+        subject.inc(Stats.LAST_WAVE);
+
+        subject.reset();
+
+        assertThat(subject.get(Stats.KILLS), equalTo(0));
+        assertThat(subject.get(Stats.LAST_WAVE), equalTo(0));
+    }
+
+    @Test
+    public void waveComparatorSortsByWaveThenKills() {
+        ArenaPlayerStatistics alice = stats("Alice");
+        ArenaPlayerStatistics bob = stats("Bob");
+        ArenaPlayerStatistics carol = stats("Carol");
+        alice.inc(Stats.LAST_WAVE);
+        bob.inc(Stats.LAST_WAVE);
+        bob.inc(Stats.LAST_WAVE);
+        carol.inc(Stats.LAST_WAVE);
+        carol.inc(Stats.KILLS);
+
+        List<ArenaPlayerStatistics> list = new ArrayList<>(Arrays.asList(alice, bob, carol));
+        list.sort(ArenaPlayerStatistics.waveComparator());
+
+        assertThat(list, contains(bob, carol, alice));
+    }
+
+}
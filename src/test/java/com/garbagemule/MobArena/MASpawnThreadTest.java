@@ -0,0 +1,113 @@
+package com.garbagemule.MobArena;
+
+import com.garbagemule.MobArena.framework.Arena;
+import com.garbagemule.MobArena.waves.MACreature;
+import com.garbagemule.MobArena.waves.Wave;
+import com.garbagemule.MobArena.waves.WaveManager;
+import com.garbagemule.MobArena.waves.enums.WaveType;
+import org.bukkit.Location;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.bukkit.entity.LivingEntity;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MASpawnThreadTest {
+
+    private MemoryConfiguration settings;
+    private Set<LivingEntity> monsters;
+    private Wave wave;
+    private MACreature creature;
+    private Location spawnpoint;
+
+    private MASpawnThread subject;
+
+    @Before
+    public void setup() {
+        MobArena plugin = mock(MobArena.class);
+        when(plugin.getLogger()).thenReturn(mock(Logger.class));
+
+        settings = new MemoryConfiguration();
+        settings.set("spawns-per-tick", 1);
+
+        WaveManager waveManager = mock(WaveManager.class);
+        when(waveManager.getFinalWave()).thenReturn(10);
+
+        monsters = new HashSet<>();
+        MonsterManager monsterManager = mock(MonsterManager.class);
+        when(monsterManager.getMonsters()).thenReturn(monsters);
+        doAnswer(invocation -> monsters.add(invocation.getArgument(0)))
+            .when(monsterManager).addMonster(any(LivingEntity.class));
+
+        Arena arena = mock(Arena.class);
+        when(arena.getSettings()).thenReturn(settings);
+        when(arena.getWaveManager()).thenReturn(waveManager);
+        when(arena.getMonsterManager()).thenReturn(monsterManager);
+        when(arena.getPlayersInArena()).thenReturn(Collections.emptySet());
+        when(arena.isRunning()).thenReturn(true);
+
+        wave = mock(Wave.class);
+        when(wave.getType()).thenReturn(WaveType.DEFAULT);
+        when(wave.getHealthMultiplier()).thenReturn(1D);
+        LivingEntity first = monster();
+        LivingEntity second = monster();
+        LivingEntity third = monster();
+        creature = mock(MACreature.class);
+        when(creature.spawn(any(), any(), any())).thenReturn(first, second, third);
+        spawnpoint = mock(Location.class);
+
+        subject = new MASpawnThread(plugin, arena);
+    }
+
+    @Test
+    public void waveIsClearWithNothingQueued() {
+        assertThat(subject.isWaveClear(), equalTo(true));
+    }
+
+    @Test
+    public void waveIsNotClearWhileQueueIsPartiallyDrained() {
+        subject.queueSpawn(wave, creature, spawnpoint);
+        subject.queueSpawn(wave, creature, spawnpoint);
+        subject.queueSpawn(wave, creature, spawnpoint);
+
+        subject.drainSpawnQueue();
+        subject.drainSpawnQueue();
+
+        assertThat(monsters.size(), equalTo(2));
+        assertThat(subject.isWaveClear(), equalTo(false));
+    }
+
+    @Test
+    public void waveIsClearOnceQueueIsDrained() {
+        subject.queueSpawn(wave, creature, spawnpoint);
+        subject.queueSpawn(wave, creature, spawnpoint);
+
+        subject.drainSpawnQueue();
+        subject.drainSpawnQueue();
+
+        assertThat(monsters.size(), equalTo(2));
+        assertThat(subject.isWaveClear(), equalTo(true));
+    }
+
+    private static LivingEntity monster() {
+        AttributeInstance maxHealth = mock(AttributeInstance.class);
+        when(maxHealth.getValue()).thenReturn(20D);
+        LivingEntity monster = mock(LivingEntity.class);
+        when(monster.getAttribute(Attribute.GENERIC_MAX_HEALTH)).thenReturn(maxHealth);
+        return monster;
+    }
+
+}
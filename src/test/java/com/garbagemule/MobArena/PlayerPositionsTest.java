@@ -0,0 +1,122 @@
+package com.garbagemule.MobArena;
+
+import com.garbagemule.MobArena.framework.Arena;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PlayerPositionsTest {
+
+    private World world;
+    private Set<Player> players;
+    private PlayerPositions subject;
+
+    @Before
+    public void setup() {
+        world = mock(World.class);
+        players = new HashSet<>();
+
+        Arena arena = mock(Arena.class);
+        when(arena.getWorld()).thenReturn(world);
+        when(arena.getPlayersInArena()).thenReturn(players);
+
+        subject = new PlayerPositions(arena);
+    }
+
+    @Test
+    public void nearestFindsClosestPlayerInRange() {
+        Player near = player(3, 0, 0);
+        player(5, 0, 0);
+        player(-8, 0, 0);
+
+        Player result = subject.nearest(at(0, 0, 0), 10);
+
+        assertThat(result, equalTo(near));
+    }
+
+    @Test
+    public void nearestIgnoresPlayersOutOfRange() {
+        player(20, 0, 0);
+
+        Player result = subject.nearest(at(0, 0, 0), 10);
+
+        assertThat(result, nullValue());
+    }
+
+    @Test
+    public void kNearestOrdersByDistance() {
+        Player a = player(1, 0, 0);
+        Player b = player(0, 2, 0);
+        player(0, 0, 3);
+        player(50, 0, 0);
+
+        assertThat(subject.nearest(at(0, 0, 0), 2, 10), contains(a, b));
+    }
+
+    @Test
+    public void withinAndBeyondSplitPlayers() {
+        Player a = player(1, 0, 0);
+        Player b = player(4, 0, 0);
+        Player c = player(9, 0, 0);
+
+        assertThat(subject.within(at(0, 0, 0), 4), containsInAnyOrder(a, b));
+        assertThat(subject.beyond(at(0, 0, 0), 4), containsInAnyOrder(c));
+    }
+
+    @Test
+    public void queriesInOtherWorldsFindNothing() {
+        player(1, 0, 0);
+
+        Location elsewhere = new Location(mock(World.class), 0, 0, 0);
+
+        assertThat(subject.within(elsewhere, 10), empty());
+    }
+
+    @Test
+    public void staysUntilInvalidated() {
+        player(1, 0, 0);
+        subject.within(at(0, 0, 0), 10);
+
+        Player late = player(2, 0, 0);
+        assertThat(subject.within(at(0, 0, 0), 10).contains(late), equalTo(false));
+
+        subject.invalidate();
+        assertThat(subject.within(at(0, 0, 0), 10).contains(late), equalTo(true));
+    }
+
+    private Location at(double x, double y, double z) {
+        return new Location(world, x, y, z);
+    }
+
+    private Player player(double x, double y, double z) {
+        Player player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        when(player.getLocation(any())).thenAnswer(invocation -> {
+            Location loc = invocation.getArgument(0);
+            loc.setWorld(world);
+            loc.setX(x);
+            loc.setY(y);
+            loc.setZ(z);
+            return loc;
+        });
+        players.add(player);
+        return player;
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.garbagemule.MobArena;
+
+import com.garbagemule.MobArena.region.SpawnpointGrid;
+import com.garbagemule.MobArena.waves.MACreature;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class SpawnPlanTest {
+
+    private World world;
+    private Logger log;
+    private MACreature zombie;
+
+    @Before
+    public void setup() {
+        world = mock(World.class);
+        log = mock(Logger.class);
+        zombie = mock(MACreature.class);
+    }
+
+    @Test
+    public void assignsNearbySpawnpointsRoundRobin() {
+        Location near1 = new Location(world, 0, 64, 0);
+        Location near2 = new Location(world, 5, 64, 0);
+        Location far = new Location(world, 500, 64, 500);
+        SpawnPlan.Snapshot snapshot = snapshot(Arrays.asList(near1, far, near2), new Location(world, 1, 64, 1));
+
+        SpawnPlan result = SpawnPlan.build(snapshot);
+
+        assertThat(result.size(), equalTo(3));
+        assertThat(Arrays.asList(result.getSpawnpoint(0), result.getSpawnpoint(1), result.getSpawnpoint(2)), equalTo(Arrays.asList(near1, near2, near1)));
+    }
+
+    @Test
+    public void fallsBackToAllSpawnpointsWhenNoneAreNearby() {
+        Location far = new Location(world, 500, 64, 500);
+        SpawnPlan.Snapshot snapshot = snapshot(Collections.singletonList(far), new Location(world, 0, 64, 0));
+
+        SpawnPlan result = SpawnPlan.build(snapshot);
+
+        assertThat(result.size(), equalTo(3));
+        assertThat(result.getSpawnpoint(2), equalTo(far));
+        verify(log).warning(argThat(startsWith("The following locations in arena 'castle' are not covered")));
+    }
+
+    @Test
+    public void spawnsNothingWithoutSpawnpoints() {
+        SpawnPlan.Snapshot snapshot = snapshot(Collections.emptyList(), new Location(world, 0, 64, 0));
+
+        SpawnPlan result = SpawnPlan.build(snapshot);
+
+        assertThat(result.size(), equalTo(0));
+        verify(log).warning("Arena 'castle' has no spawnpoints for wave 1, so no monsters will spawn.");
+    }
+
+    private SpawnPlan.Snapshot snapshot(List<Location> spawnpoints, Location player) {
+        SpawnPlan.Snapshot snapshot = new SpawnPlan.Snapshot();
+        snapshot.wave = 1;
+        snapshot.monsters = Collections.singletonMap(zombie, 3);
+        snapshot.grid = SpawnpointGrid.build(spawnpoints);
+        snapshot.filter = null;
+        snapshot.candidates = snapshot.grid.getSpawnpoints();
+        snapshot.players = Collections.singletonList(player);
+        snapshot.playerIds = new ArrayList<>();
+        snapshot.pickers = new ArrayList<>();
+        snapshot.log = log;
+        snapshot.arenaName = "castle";
+        return snapshot;
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.garbagemule.MobArena;
+
+import org.bukkit.entity.Player;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Player statistics for tests and benchmarks, backed by stub players.
+ */
+public class StatisticsFixtures {
+
+    public static ArenaPlayerStatistics stats(String name) {
+        Player player = mock(Player.class, withSettings().stubOnly());
+        when(player.getName()).thenReturn(name);
+        ArenaClass arenaClass = mock(ArenaClass.class, withSettings().stubOnly());
+        when(arenaClass.getConfigName()).thenReturn("Knight");
+        ArenaPlayer ap = mock(ArenaPlayer.class, withSettings().stubOnly());
+        when(ap.getPlayer()).thenReturn(player);
+        when(ap.getArenaClass()).thenReturn(arenaClass);
+        return new ArenaPlayerStatistics(ap);
+    }
+
+}
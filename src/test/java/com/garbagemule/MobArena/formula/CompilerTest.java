@@ -0,0 +1,141 @@
+package com.garbagemule.MobArena.formula;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+
+@RunWith(Enclosed.class)
+public class CompilerTest {
+
+    static Environment env;
+    static Lexer lexer;
+    static Parser parser;
+    static Compiler subject;
+
+    static void init() {
+        env = Environment.createDefault();
+        env.registerVariable("x", a -> 3);
+        env.registerVariable("y", a -> 7.5);
+        env.registerUnaryFunction("half", value -> value / 2);
+        env.registerBinaryOperator("@", 3, true, (a, b) -> a * 10 + b);
+        lexer = new Lexer(env);
+        parser = new Parser(env);
+        subject = new Compiler();
+    }
+
+    static Formula tree(String input) {
+        return parser.parse(input, lexer.tokenize(input));
+    }
+
+    @RunWith(Parameterized.class)
+    public static class MatchesTree {
+
+        @Before
+        public void setup() {
+            init();
+        }
+
+        @Parameters(name = "{0}")
+        public static Iterable<Object[]> data() {
+            return Arrays.asList(new Object[][]{
+                {"2 * 3 + <x>"},
+                {"-<x> ^ 2"},
+                {"+<y> - -<x>"},
+                {"(<x> + 1) * 20 * 4"},
+                {"max(1, floor(<x> / 2)) * 10"},
+                {"min(ceil(<y> / 2) + 1, 13) * <x> ^ 0.65"},
+                {"sqrt(abs(<x> - 10)) % 3 + round(<y>)"},
+                {"sin(<x>) + cos(<y>) - tan(pi / <x>)"},
+                {"half(<y>) @ <x>"},
+            });
+        }
+
+        String input;
+
+        public MatchesTree(String input) {
+            this.input = input;
+        }
+
+        @Test
+        public void test() {
+            Formula tree = tree(input);
+            Formula compiled = subject.compile(tree);
+
+            assertThat(compiled.evaluate(null), equalTo(tree.evaluate(null)));
+        }
+
+    }
+
+    public static class ConstantFolding {
+
+        @Before
+        public void setup() {
+            init();
+        }
+
+        @Test
+        public void foldsConstantExpressionToValue() {
+            Formula result = subject.compile(tree("2 * 3 + pi"));
+
+            assertThat(result, instanceOf(ValueFormula.class));
+            assertThat(result.evaluate(null), equalTo(6 + Math.PI));
+        }
+
+        @Test
+        public void foldsConstantSubexpressions() {
+            Formula result = subject.compile(tree("2 * 3 + <x>"));
+
+            assertThat(result, instanceOf(CompiledFormula.class));
+            assertThat(((CompiledFormula) result).size(), equalTo(3));
+        }
+
+        @Test
+        public void leavesCustomOperationsUnfolded() {
+            Formula result = subject.compile(tree("half(4) @ 2"));
+
+            assertThat(result, instanceOf(CompiledFormula.class));
+            assertThat(result.evaluate(null), equalTo(22.0));
+        }
+
+        @Test
+        public void callsCustomFunctionOnEveryEvaluation() {
+            int[] calls = {0};
+            env.registerUnaryFunction("count", value -> value + ++calls[0]);
+
+            Formula result = subject.compile(tree("count(10) * 2"));
+
+            assertThat(result.evaluate(null), equalTo(22.0));
+            assertThat(result.evaluate(null), equalTo(24.0));
+        }
+
+        @Test
+        public void evaluatesNestedFormulas() {
+            Formula inner = subject.compile(tree("<x> * 2 + 1"));
+            env.registerVariable("inner", inner::evaluate);
+
+            Formula result = subject.compile(tree("(<x> + 1) * (<inner> - <y>)"));
+
+            assertThat(result.evaluate(null), equalTo((3 + 1) * (3 * 2 + 1 - 7.5)));
+        }
+
+        @Test
+        public void leavesPlainVariablesAlone() {
+            Formula variable = env.getVariable("x");
+
+            Formula result = subject.compile(tree("+<x>"));
+
+            assertThat(result, equalTo(variable));
+        }
+
+    }
+
+}
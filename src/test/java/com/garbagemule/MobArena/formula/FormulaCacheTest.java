@@ -0,0 +1,43 @@
+package com.garbagemule.MobArena.formula;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+public class FormulaCacheTest {
+
+    @Test
+    public void normalizeCollapsesWhitespace() {
+        String result = FormulaCache.normalize("  max(1,\t <live-players>  / 2)\n");
+
+        assertThat(result, equalTo("max(1, <live-players> / 2)"));
+    }
+
+    @Test
+    public void normalizeKeepsTokensSeparate() {
+        String result = FormulaCache.normalize("1  2");
+
+        assertThat(result, equalTo("1 2"));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        FormulaCache subject = new FormulaCache(2);
+        Formula a = new ValueFormula(1);
+        Formula b = new ValueFormula(2);
+        Formula c = new ValueFormula(3);
+
+        subject.put("a", a);
+        subject.put("b", b);
+        subject.get("a");
+        subject.put("c", c);
+
+        assertThat(subject.get("a"), equalTo(a));
+        assertThat(subject.get("b"), nullValue());
+        assertThat(subject.get("c"), equalTo(c));
+        assertThat(subject.size(), equalTo(2));
+    }
+
+}
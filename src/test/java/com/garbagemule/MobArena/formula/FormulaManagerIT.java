@@ -369,4 +369,58 @@ public class FormulaManagerIT {
 
     }
 
+    /**
+     * Parsed formulas are cached, so each test needs a fresh manager.
+     */
+    public static class Caching {
+
+        FormulaManager subject;
+
+        @Before
+        public void setup() {
+            subject = FormulaManager.createDefault();
+        }
+
+        @Test
+        public void sameSourceReturnsSameFormula() {
+            Formula first = subject.parse("1 + <current-wave>");
+            Formula second = subject.parse("1 + <current-wave>");
+
+            assertThat(second, sameInstance(first));
+        }
+
+        @Test
+        public void whitespaceIsIgnored() {
+            Formula first = subject.parse("1 + <current-wave>");
+            Formula second = subject.parse("  1   +\t<current-wave> ");
+
+            assertThat(second, sameInstance(first));
+        }
+
+        @Test
+        public void registeringVariableClearsCache() {
+            subject.registerVariable("bob", a -> 1);
+            Formula before = subject.parse("<bob>");
+
+            subject.registerVariable("bob", a -> 2);
+            Formula after = subject.parse("<bob>");
+
+            assertThat(before.evaluate(arena), equalTo(1.0));
+            assertThat(after.evaluate(arena), equalTo(2.0));
+        }
+
+        @Test
+        public void registeringConstantClearsCache() {
+            subject.registerConstant("bob", 1);
+            Formula before = subject.parse("bob * 2");
+
+            subject.registerConstant("bob", 2);
+            Formula after = subject.parse("bob * 2");
+
+            assertThat(before.evaluate(arena), equalTo(2.0));
+            assertThat(after.evaluate(arena), equalTo(4.0));
+        }
+
+    }
+
 }
@@ -0,0 +1,83 @@
+package com.garbagemule.MobArena.healthbar;
+
+import org.bukkit.Server;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ThrottledHealthBarTest {
+
+    private HealthBar bar;
+    private Plugin plugin;
+    private BukkitScheduler scheduler;
+
+    private ThrottledHealthBar subject;
+
+    @Before
+    public void setup() {
+        bar = mock(HealthBar.class);
+        plugin = mock(Plugin.class);
+        scheduler = mock(BukkitScheduler.class);
+        Server server = mock(Server.class);
+        when(plugin.getServer()).thenReturn(server);
+        when(server.getScheduler()).thenReturn(scheduler);
+        when(scheduler.runTaskLater(eq(plugin), any(Runnable.class), anyLong())).thenReturn(mock(BukkitTask.class));
+
+        // Long enough that the test never outlives it
+        subject = new ThrottledHealthBar(bar, plugin, 20 * 60);
+    }
+
+    @Test
+    public void firstUpdateIsImmediate() {
+        subject.setProgress(1);
+
+        verify(bar).setProgress(1);
+    }
+
+    @Test
+    public void coalescesUpdatesWithinInterval() {
+        subject.setProgress(1);
+        subject.setProgress(0.9);
+        subject.setProgress(0.8);
+
+        verify(bar, never()).setProgress(0.9);
+        verify(bar, never()).setProgress(0.8);
+
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(1)).runTaskLater(eq(plugin), captor.capture(), anyLong());
+        captor.getValue().run();
+
+        verify(bar).setProgress(0.8);
+    }
+
+    @Test
+    public void lowHealthIsImmediate() {
+        subject.setProgress(1);
+        subject.setProgress(0.2);
+
+        verify(bar).setProgress(0.2);
+    }
+
+    @Test
+    public void deathIsImmediate() {
+        subject.setProgress(0.2);
+        subject.setProgress(0.1);
+        subject.setProgress(0);
+
+        verify(bar, never()).setProgress(0.1);
+        verify(bar).setProgress(0);
+    }
+
+}
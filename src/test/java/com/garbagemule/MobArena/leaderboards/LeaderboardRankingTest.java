@@ -0,0 +1,72 @@
+package com.garbagemule.MobArena.leaderboards;
+
+import com.garbagemule.MobArena.ArenaPlayerStatistics;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static com.garbagemule.MobArena.StatisticsFixtures.stats;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+public class LeaderboardRankingTest {
+
+    private LeaderboardRanking subject;
+    private ArenaPlayerStatistics alice;
+    private ArenaPlayerStatistics bob;
+    private ArenaPlayerStatistics carol;
+
+    @Before
+    public void setup() {
+        subject = new LeaderboardRanking(ArenaPlayerStatistics.waveComparator());
+        alice = stats("Alice");
+        bob = stats("Bob");
+        carol = stats("Carol");
+    }
+
+    @Test
+    public void resetSortsEntries() {
+        bob.inc(Stats.LAST_WAVE);
+
+        subject.reset(Arrays.asList(alice, bob, carol));
+
+        assertThat(subject.getRanked().get(0), equalTo(bob));
+    }
+
+    @Test
+    public void refreshReportsNoChanges() {
+        subject.reset(Arrays.asList(alice, bob, carol));
+
+        boolean result = subject.refresh();
+
+        assertThat(result, equalTo(false));
+    }
+
+    @Test
+    public void refreshRepositionsChangedEntries() {
+        subject.reset(Arrays.asList(alice, bob, carol));
+        carol.inc(Stats.LAST_WAVE);
+        carol.inc(Stats.LAST_WAVE);
+        bob.inc(Stats.LAST_WAVE);
+
+        boolean result = subject.refresh();
+
+        assertThat(result, equalTo(true));
+        assertThat(subject.getRanked(), contains(carol, bob, alice));
+    }
+
+    @Test
+    public void refreshOnlyReportsChangesOnce() {
+        subject.reset(Arrays.asList(alice, bob, carol));
+        alice.inc(Stats.KILLS);
+        subject.refresh();
+
+        boolean result = subject.refresh();
+
+        assertThat(result, equalTo(false));
+        assertThat(subject.getRanked().get(0), equalTo(alice));
+    }
+
+}
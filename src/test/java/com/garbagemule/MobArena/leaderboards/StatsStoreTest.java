@@ -0,0 +1,133 @@
+package com.garbagemule.MobArena.leaderboards;
+
+import com.garbagemule.MobArena.ArenaPlayerStatistics;
+import com.garbagemule.MobArena.framework.Arena;
+import org.bukkit.entity.Player;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static com.garbagemule.MobArena.StatisticsFixtures.stats;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class StatsStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path dir;
+    private Logger log;
+    private Arena arena;
+    private Player player;
+    private UUID playerId;
+
+    private StatsStore subject;
+
+    @Before
+    public void setup() {
+        dir = folder.getRoot().toPath();
+        log = mock(Logger.class);
+        arena = mock(Arena.class);
+        when(arena.getSlug()).thenReturn("castle");
+        playerId = UUID.randomUUID();
+        player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(playerId);
+
+        subject = new StatsStore(dir, 10, log);
+    }
+
+    @After
+    public void teardown() {
+        subject.close();
+    }
+
+    @Test
+    public void replaySkipsLogLinesAlreadyInSnapshot() throws IOException {
+        // The server died after writing the snapshot, but before the log
+        // that went into it was deleted.
+        write("stats.csv", "#seq=2", line(0, 2));
+        write("stats.log", line(1, 1), line(2, 1), line(3, 1));
+
+        subject.load();
+
+        assertThat(subject.get(arena, playerId).get(Stats.KILLS), equalTo(3));
+    }
+
+    @Test
+    public void sequenceContinuesAfterReplay() throws IOException, InterruptedException {
+        write("stats.csv", "#seq=2", line(0, 2));
+        write("stats.log", line(1, 1), line(2, 1), line(3, 1));
+        subject.load();
+
+        subject.record(arena, player, kills(1));
+        subject.flush();
+        StatsStore reloaded = new StatsStore(dir, 10, log);
+        reloaded.load();
+
+        assertThat(reloaded.get(arena, playerId).get(Stats.KILLS), equalTo(4));
+    }
+
+    @Test
+    public void compactsEveryInterval() throws IOException, InterruptedException {
+        for (int i = 1; i < StatsStore.COMPACT_INTERVAL; i++) {
+            subject.record(arena, player, kills(1));
+        }
+        subject.flush();
+
+        assertThat(Files.exists(dir.resolve("stats.log")), equalTo(true));
+        assertThat(Files.exists(dir.resolve("stats.csv")), equalTo(false));
+
+        subject.record(arena, player, kills(1));
+        subject.flush();
+
+        assertThat(Files.exists(dir.resolve("stats.log")), equalTo(false));
+        List<String> snapshot = Files.readAllLines(dir.resolve("stats.csv"), StandardCharsets.UTF_8);
+        assertThat(snapshot.get(0), equalTo("#seq=" + StatsStore.COMPACT_INTERVAL));
+        assertThat(snapshot.size(), equalTo(2));
+        assertThat(Files.exists(dir.resolve("stats.csv.tmp")), equalTo(false));
+    }
+
+    @Test
+    public void compactionKeepsTotals() throws IOException, InterruptedException {
+        for (int i = 0; i < StatsStore.COMPACT_INTERVAL + 5; i++) {
+            subject.record(arena, player, kills(2));
+        }
+        subject.flush();
+
+        StatsStore reloaded = new StatsStore(dir, 10, log);
+        reloaded.load();
+
+        int expected = (StatsStore.COMPACT_INTERVAL + 5) * 2;
+        assertThat(reloaded.get(arena, playerId).get(Stats.KILLS), equalTo(expected));
+    }
+
+    private void write(String name, String... lines) throws IOException {
+        Files.write(dir.resolve(name), Arrays.asList(lines), StandardCharsets.UTF_8);
+    }
+
+    private String line(long seq, int kills) {
+        // Kills, damage done, damage taken, swings, hits, last wave
+        return seq + ";castle;" + playerId + ";Alice;Knight;" + kills + ";0;0;0;0;1";
+    }
+
+    private static ArenaPlayerStatistics kills(int amount) {
+        ArenaPlayerStatistics result = stats("Alice");
+        result.add(Stats.KILLS, amount);
+        return result;
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.garbagemule.MobArena.leaderboards;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+public class StatsTopListTest {
+
+    private StatsTopList subject;
+    private StatsRecord alice;
+    private StatsRecord bob;
+    private StatsRecord carol;
+
+    @Before
+    public void setup() {
+        subject = new StatsTopList(Stats.KILLS, 2);
+        alice = record("Alice");
+        bob = record("Bob");
+        carol = record("Carol");
+    }
+
+    @Test
+    public void keepsBestRecordsFirst() {
+        kills(alice, 1);
+        subject.update(alice);
+        kills(bob, 3);
+        subject.update(bob);
+
+        assertThat(subject.getRecords(), contains(bob, alice));
+    }
+
+    @Test
+    public void dropsRecordsBeyondCapacity() {
+        kills(alice, 1);
+        subject.update(alice);
+        kills(bob, 3);
+        subject.update(bob);
+        kills(carol, 2);
+        subject.update(carol);
+
+        assertThat(subject.getRecords(), contains(bob, carol));
+        assertThat(subject.rankOf(alice), equalTo(-1));
+    }
+
+    @Test
+    public void repositionsUpdatedRecords() {
+        kills(alice, 1);
+        subject.update(alice);
+        kills(bob, 3);
+        subject.update(bob);
+        kills(alice, 5);
+        subject.update(alice);
+
+        assertThat(subject.getRecords(), contains(alice, bob));
+        assertThat(subject.rankOf(alice), equalTo(0));
+    }
+
+    private static StatsRecord record(String name) {
+        return new StatsRecord("castle", UUID.randomUUID(), name, "Knight");
+    }
+
+    private static void kills(StatsRecord record, int amount) {
+        int[] session = new int[Stats.values().length];
+        session[Stats.KILLS.ordinal()] = amount;
+        record.merge(record.getPlayerName(), record.getClassName(), session);
+    }
+
+}
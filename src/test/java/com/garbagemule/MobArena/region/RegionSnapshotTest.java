@@ -0,0 +1,256 @@
+package com.garbagemule.MobArena.region;
+
+import com.garbagemule.MobArena.repairable.Repairable;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RegionSnapshotTest {
+
+    private static final int MAGIC = 0x4D415253;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+    private BlockData stone;
+    private BlockData air;
+    private BlockData dirt;
+
+    @Before
+    public void setup() {
+        file = folder.getRoot().toPath().resolve("snapshots").resolve("castle.dat");
+        stone = blockData("minecraft:stone");
+        air = blockData("minecraft:air");
+        dirt = blockData("minecraft:dirt");
+    }
+
+    @Test
+    public void roundTripMatchesOriginalWorld() throws IOException {
+        World world = world(null);
+        RegionSnapshot original = RegionSnapshot.capture(world, 14, 0, 14, 17, 3, 17).get();
+
+        original.save(file);
+        RegionSnapshot loaded = RegionSnapshot.load(file, this::parse);
+
+        assertThat(loaded.getWorldName(), equalTo("world"));
+        assertThat(repairables(loaded, world), empty());
+    }
+
+    @Test
+    public void roundTripFindsChangedBlocks() throws IOException {
+        RegionSnapshot original = RegionSnapshot.capture(world(null), 14, 0, 14, 17, 3, 17).get();
+        original.save(file);
+        RegionSnapshot loaded = RegionSnapshot.load(file, this::parse);
+
+        List<Repairable> result = repairables(loaded, world(dirt));
+
+        assertThat(result.size(), equalTo(1));
+        Repairable repairable = result.get(0);
+        assertThat(Arrays.asList(repairable.getX(), repairable.getY(), repairable.getZ()), equalTo(Arrays.asList(16, 0, 16)));
+        assertThat(repairable.getData(), equalTo(stone));
+        assertThat(Files.exists(file.resolveSibling("castle.dat.tmp")), equalTo(false));
+    }
+
+    @Test
+    public void captureRejectsOversizeRegion() {
+        World world = mock(World.class);
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> RegionSnapshot.capture(world, -5000, 0, -5000, 5000, 255, 5000)
+        );
+        verify(world, never()).getChunkAt(anyInt(), anyInt());
+    }
+
+    @Test
+    public void volumeDoesNotOverflow() {
+        long result = RegionSnapshot.volume(
+            Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE,
+            Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE
+        );
+
+        assertThat(result, equalTo(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void loadRejectsWrongMagic() throws IOException {
+        try (DataOutputStream out = open()) {
+            out.writeInt(0xCAFEBABE);
+        }
+
+        assertThrows(IOException.class, () -> RegionSnapshot.load(file, this::parse));
+    }
+
+    @Test
+    public void loadRejectsTruncatedFile() throws IOException {
+        RegionSnapshot.capture(world(null), 14, 0, 14, 17, 3, 17).get().save(file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertThrows(IOException.class, () -> RegionSnapshot.load(file, this::parse));
+    }
+
+    @Test
+    public void loadRejectsOversizeRegion() throws IOException {
+        try (DataOutputStream out = open()) {
+            header(out, -100000, 0, -100000, 100000, 255, 100000);
+        }
+
+        assertThrows(IOException.class, () -> RegionSnapshot.load(file, this::parse));
+    }
+
+    @Test
+    public void loadRejectsSwappedCorners() throws IOException {
+        try (DataOutputStream out = open()) {
+            header(out, 10, 0, 10, 0, 0, 0);
+        }
+
+        assertThrows(IOException.class, () -> RegionSnapshot.load(file, this::parse));
+    }
+
+    @Test
+    public void loadRejectsBadPaletteSize() throws IOException {
+        try (DataOutputStream out = open()) {
+            header(out, 0, 0, 0, 1, 1, 1);
+            out.writeInt(-1);
+        }
+
+        assertThrows(IOException.class, () -> RegionSnapshot.load(file, this::parse));
+    }
+
+    @Test
+    public void loadRejectsInvalidBlockData() throws IOException {
+        try (DataOutputStream out = open()) {
+            header(out, 0, 0, 0, 1, 1, 1);
+            out.writeInt(1);
+            out.writeUTF("minecraft:nonsense");
+        }
+
+        assertThrows(IOException.class, () -> RegionSnapshot.load(file, this::parse));
+    }
+
+    @Test
+    public void loadRejectsRunPastEnd() throws IOException {
+        try (DataOutputStream out = open()) {
+            header(out, 0, 0, 0, 1, 1, 1);
+            out.writeInt(1);
+            out.writeUTF("minecraft:stone");
+            // Eight blocks in the region, but a run of nine
+            out.writeByte(9);
+            out.writeByte(0);
+        }
+
+        assertThrows(IOException.class, () -> RegionSnapshot.load(file, this::parse));
+    }
+
+    @Test
+    public void loadRejectsIndexOutsidePalette() throws IOException {
+        try (DataOutputStream out = open()) {
+            header(out, 0, 0, 0, 1, 1, 1);
+            out.writeInt(1);
+            out.writeUTF("minecraft:stone");
+            out.writeByte(8);
+            out.writeByte(1);
+        }
+
+        assertThrows(IOException.class, () -> RegionSnapshot.load(file, this::parse));
+    }
+
+    private DataOutputStream open() throws IOException {
+        Files.createDirectories(file.getParent());
+        return new DataOutputStream(new GZIPOutputStream(Files.newOutputStream(file)));
+    }
+
+    private static void header(DataOutputStream out, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(1);
+        out.writeUTF("world");
+        out.writeInt(minX);
+        out.writeInt(minY);
+        out.writeInt(minZ);
+        out.writeInt(maxX);
+        out.writeInt(maxY);
+        out.writeInt(maxZ);
+    }
+
+    /**
+     * A world of stone below y=2 and air above, spanning the four chunks
+     * from 0, 0 to 1, 1. If a replacement is given, it takes the place of
+     * the stone block at 16, 0, 16.
+     */
+    private World world(BlockData replacement) {
+        World world = mock(World.class);
+        when(world.getName()).thenReturn("world");
+        for (int cx = 0; cx <= 1; cx++) {
+            for (int cz = 0; cz <= 1; cz++) {
+                int baseX = cx << 4;
+                int baseZ = cz << 4;
+                ChunkSnapshot snapshot = mock(ChunkSnapshot.class);
+                when(snapshot.getBlockData(anyInt(), anyInt(), anyInt())).thenAnswer(call -> {
+                    int x = baseX + (Integer) call.getArgument(0);
+                    int y = call.getArgument(1);
+                    int z = baseZ + (Integer) call.getArgument(2);
+                    if (replacement != null && x == 16 && y == 0 && z == 16) {
+                        return replacement;
+                    }
+                    return (y < 2) ? stone : air;
+                });
+                Chunk chunk = mock(Chunk.class);
+                when(chunk.getChunkSnapshot(false, false, false)).thenReturn(snapshot);
+                when(world.getChunkAt(cx, cz)).thenReturn(chunk);
+            }
+        }
+        return world;
+    }
+
+    private static List<Repairable> repairables(RegionSnapshot snapshot, World world) {
+        List<Repairable> result = new ArrayList<>();
+        Iterator<List<Repairable>> batches = snapshot.diff(world);
+        while (batches.hasNext()) {
+            result.addAll(batches.next());
+        }
+        return result;
+    }
+
+    private BlockData parse(String data) {
+        for (BlockData candidate : Arrays.asList(stone, air, dirt)) {
+            if (candidate.getAsString().equals(data)) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException(data);
+    }
+
+    private static BlockData blockData(String value) {
+        BlockData data = mock(BlockData.class);
+        when(data.getAsString()).thenReturn(value);
+        return data;
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.garbagemule.MobArena.region;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.mockito.Mockito.mock;
+
+public class SpawnpointGridTest {
+
+    private World world;
+    private World other;
+
+    @Before
+    public void setup() {
+        world = mock(World.class);
+        other = mock(World.class);
+    }
+
+    @Test
+    public void findsSpawnpointsNearPlayers() {
+        Location near = new Location(world, 10, 64, 10);
+        Location far = new Location(world, 100, 64, 100);
+        SpawnpointGrid subject = SpawnpointGrid.build(Arrays.asList(near, far));
+
+        List<Location> result = new ArrayList<>();
+        subject.query(Collections.singletonList(new Location(world, 0, 64, 0)), null, result);
+
+        assertThat(result, contains(near));
+    }
+
+    @Test
+    public void findsSpawnpointsInNeighbouringCells() {
+        Location across = new Location(world, -1, 64, -1);
+        SpawnpointGrid subject = SpawnpointGrid.build(Collections.singletonList(across));
+
+        List<Location> result = new ArrayList<>();
+        subject.query(Collections.singletonList(new Location(world, 1, 64, 1)), null, result);
+
+        assertThat(result, contains(across));
+    }
+
+    @Test
+    public void keepsGridOrderWithoutDuplicates() {
+        Location a = new Location(world, 0, 64, 0);
+        Location b = new Location(world, 5, 64, 0);
+        Location c = new Location(world, 10, 64, 0);
+        SpawnpointGrid subject = SpawnpointGrid.build(Arrays.asList(a, b, c));
+
+        List<Location> result = new ArrayList<>();
+        List<Location> players = Arrays.asList(new Location(world, 10, 64, 0), new Location(world, 0, 64, 0));
+        subject.query(players, null, result);
+
+        assertThat(result, contains(a, b, c));
+    }
+
+    @Test
+    public void onlyAddsFilteredSpawnpoints() {
+        Location a = new Location(world, 0, 64, 0);
+        Location b = new Location(world, 5, 64, 0);
+        SpawnpointGrid subject = SpawnpointGrid.build(Arrays.asList(a, b));
+
+        List<Location> result = new ArrayList<>();
+        subject.query(Collections.singletonList(a), new HashSet<>(Collections.singletonList(b)), result);
+
+        assertThat(result, contains(b));
+    }
+
+    @Test
+    public void ignoresPlayersInOtherWorlds() {
+        SpawnpointGrid subject = SpawnpointGrid.build(Collections.singletonList(new Location(world, 0, 64, 0)));
+
+        List<Location> result = new ArrayList<>();
+        subject.query(Collections.singletonList(new Location(other, 0, 64, 0)), null, result);
+
+        assertThat(result, empty());
+    }
+
+}
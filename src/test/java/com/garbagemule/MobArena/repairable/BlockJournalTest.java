@@ -0,0 +1,63 @@
+package com.garbagemule.MobArena.repairable;
+
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.data.BlockData;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BlockJournalTest {
+
+    private BlockJournal subject;
+
+    @Before
+    public void setup() {
+        subject = new BlockJournal();
+    }
+
+    @Test
+    public void keepsOnlyTheFirstStatePerBlock() {
+        BlockData stone = mock(BlockData.class);
+        BlockData dirt = mock(BlockData.class);
+
+        assertThat(subject.record(state(1, 2, 3, stone)), equalTo(true));
+        assertThat(subject.record(state(1, 2, 3, dirt)), equalTo(false));
+
+        List<Repairable> result = subject.drain(mock(World.class));
+        assertThat(result.size(), equalTo(1));
+        assertThat(result.get(0).getData(), sameInstance(stone));
+    }
+
+    @Test
+    public void drainsInRecordingOrder() {
+        BlockData stone = mock(BlockData.class);
+        subject.record(state(5, 64, -5, stone));
+        subject.record(state(-5, 64, 5, stone));
+
+        List<Repairable> result = subject.drain(mock(World.class));
+
+        assertThat(result.get(0).getX(), equalTo(5));
+        assertThat(result.get(0).getZ(), equalTo(-5));
+        assertThat(result.get(1).getX(), equalTo(-5));
+        assertThat(result.get(1).getZ(), equalTo(5));
+        assertThat(subject.isEmpty(), equalTo(true));
+    }
+
+    private static BlockState state(int x, int y, int z, BlockData data) {
+        BlockState state = mock(BlockState.class);
+        when(state.getX()).thenReturn(x);
+        when(state.getY()).thenReturn(y);
+        when(state.getZ()).thenReturn(z);
+        when(state.getBlockData()).thenReturn(data);
+        return state;
+    }
+
+}
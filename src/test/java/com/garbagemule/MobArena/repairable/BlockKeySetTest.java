@@ -0,0 +1,75 @@
+package com.garbagemule.MobArena.repairable;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class BlockKeySetTest {
+
+    private BlockKeySet subject;
+
+    @Before
+    public void setup() {
+        subject = new BlockKeySet();
+    }
+
+    @Test
+    public void keysRoundTrip() {
+        int[][] coords = {{0, 0, 0}, {-1, 5, -1}, {1234567, 255, -7654321}, {-30000000, 0, 30000000}};
+        for (int[] c : coords) {
+            long key = BlockKeySet.key(c[0], c[1], c[2]);
+
+            assertThat(BlockKeySet.keyX(key), equalTo(c[0]));
+            assertThat(BlockKeySet.keyY(key), equalTo(c[1]));
+            assertThat(BlockKeySet.keyZ(key), equalTo(c[2]));
+        }
+    }
+
+    @Test
+    public void addsEachKeyOnce() {
+        long key = BlockKeySet.key(1, 2, 3);
+
+        assertThat(subject.add(key), equalTo(true));
+        assertThat(subject.add(key), equalTo(false));
+        assertThat(subject.size(), equalTo(1));
+    }
+
+    @Test
+    public void keepsTrackOfManyKeys() {
+        Set<Long> expected = new HashSet<>();
+        for (int x = -20; x < 20; x++) {
+            for (int z = -20; z < 20; z++) {
+                long key = BlockKeySet.key(x, 64, z);
+                subject.add(key);
+                expected.add(key);
+            }
+        }
+
+        // Remove every other key to punch holes in the probe sequences
+        int i = 0;
+        for (Long key : new HashSet<>(expected)) {
+            if (i++ % 2 == 0) {
+                assertThat(subject.remove(key), equalTo(true));
+                expected.remove(key);
+            }
+        }
+
+        Set<Long> actual = new HashSet<>();
+        subject.forEach(actual::add);
+        assertThat(actual, equalTo(expected));
+        for (long key : expected) {
+            assertThat(subject.contains(key), equalTo(true));
+        }
+    }
+
+    @Test
+    public void removeReportsMissingKeys() {
+        assertThat(subject.remove(BlockKeySet.key(1, 2, 3)), equalTo(false));
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.garbagemule.MobArena.repairable;
+
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RestoreSchedulerTest {
+
+    private Plugin plugin;
+    private BukkitScheduler scheduler;
+
+    private RestoreScheduler subject;
+
+    @Before
+    public void setup() {
+        plugin = mock(Plugin.class);
+        scheduler = mock(BukkitScheduler.class);
+        Server server = mock(Server.class);
+        when(plugin.getServer()).thenReturn(server);
+        when(server.getScheduler()).thenReturn(scheduler);
+        when(scheduler.runTaskTimer(eq(plugin), any(Runnable.class), anyLong(), anyLong())).thenReturn(mock(BukkitTask.class));
+
+        subject = new RestoreScheduler(plugin);
+    }
+
+    @Test
+    public void repairsRightAwayWithoutLimits() {
+        Repairable water = repairable(Material.WATER);
+        Repairable stone = repairable(Material.STONE);
+        Repairable dirt = repairable(Material.DIRT);
+
+        subject.add(Arrays.asList(water, stone, dirt));
+
+        InOrder order = inOrder(water, stone, dirt);
+        order.verify(stone).repair();
+        order.verify(dirt).repair();
+        order.verify(water).repair();
+        assertThat(subject.isRestoring(), equalTo(false));
+    }
+
+    @Test
+    public void repairsBatchesInOrder() {
+        Repairable water = repairable(Material.WATER);
+        Repairable stone = repairable(Material.STONE);
+        Repairable dirt = repairable(Material.DIRT);
+
+        List<List<Repairable>> batches = Arrays.asList(
+            Arrays.asList(water, stone),
+            Collections.singletonList(dirt)
+        );
+        subject.addBatches(batches.iterator());
+
+        InOrder order = inOrder(water, stone, dirt);
+        order.verify(stone).repair();
+        order.verify(water).repair();
+        order.verify(dirt).repair();
+        assertThat(subject.isRestoring(), equalTo(false));
+    }
+
+    @Test
+    public void emptyBatchesCountAgainstPerTickLimit() {
+        List<List<Repairable>> batches = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batches.add(Collections.emptyList());
+        }
+        Iterator<List<Repairable>> iterator = batches.iterator();
+        subject.setLimits(1, 0);
+
+        subject.addBatches(iterator);
+        Runnable tick = task();
+        tick.run();
+        tick.run();
+
+        // One batch per tick, so only two of them are diffed
+        assertThat(remaining(iterator).size(), equalTo(98));
+    }
+
+    @Test
+    public void heldSchedulerIsRestoringUntilReleased() {
+        subject.hold();
+
+        assertThat(subject.isRestoring(), equalTo(true));
+
+        subject.release();
+
+        assertThat(subject.isRestoring(), equalTo(false));
+    }
+
+    @Test
+    public void holdDoesNotBlockRepairs() {
+        Repairable stone = repairable(Material.STONE);
+        subject.hold();
+
+        subject.add(Collections.singletonList(stone));
+
+        verify(stone).repair();
+        assertThat(subject.isRestoring(), equalTo(true));
+    }
+
+    @Test
+    public void idleSchedulerIsDone() {
+        assertThat(subject.getProgress(), equalTo(1.0));
+        assertThat(subject.getRemaining(), equalTo(0));
+    }
+
+    private Runnable task() {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).runTaskTimer(eq(plugin), captor.capture(), anyLong(), anyLong());
+        return captor.getValue();
+    }
+
+    private static <T> List<T> remaining(Iterator<T> iterator) {
+        List<T> result = new ArrayList<>();
+        iterator.forEachRemaining(result::add);
+        return result;
+    }
+
+    private static Repairable repairable(Material type) {
+        Repairable r = mock(Repairable.class);
+        when(r.getType()).thenReturn(type);
+        return r;
+    }
+
+}
@@ -2,6 +2,7 @@ package com.garbagemule.MobArena.signs;
 
 import com.garbagemule.MobArena.framework.Arena;
 import com.garbagemule.MobArena.waves.WaveManager;
+import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 import org.junit.Before;
 import org.junit.Test;
@@ -170,6 +171,61 @@ public class RendersTemplateTest {
         assertThat(result, equalTo(base));
     }
 
+    @Test
+    public void rendersOnlyFirstListEntryOnLine() {
+        Player ready = mock(Player.class);
+        when(ready.getName()).thenReturn("Bob");
+        Arena arena = mock(Arena.class);
+        when(arena.configName()).thenReturn("castle");
+        when(arena.isRunning()).thenReturn(false);
+        when(arena.getReadyPlayersInLobby()).thenReturn(Collections.singleton(ready));
+        Template template = new Template.Builder("template")
+            .withBase(new String[]{"<ready-1><ready-1>", "", "", ""})
+            .build();
+
+        String[] result = subject.render(template, arena);
+
+        String[] expected = {"Bob<ready-1>", "", "", ""};
+        assertThat(result, equalTo(expected));
+    }
+
+    @Test
+    public void translatesColorCodesAfterRenderingVariables() {
+        Arena arena = arena("atown", false, false);
+        Template template = new Template.Builder("template")
+            .withBase(new String[]{"&<arena-name>", "<final-wave>", "", ""})
+            .build();
+
+        String[] result = subject.render(template, arena);
+
+        String[] expected = {ChatColor.GREEN + "town", "<final-wave>", "", ""};
+        assertThat(result, equalTo(expected));
+    }
+
+    @Test
+    public void buildsPlayerListsOncePerContext() {
+        Player notready = mock(Player.class);
+        when(notready.getName()).thenReturn("garbagemule");
+        Arena arena = mock(Arena.class);
+        when(arena.configName()).thenReturn("castle");
+        when(arena.isRunning()).thenReturn(false);
+        when(arena.getNonreadyPlayers()).thenReturn(Collections.singletonList(notready));
+        Template first = new Template.Builder("first")
+            .withBase(new String[]{"<notready-1>", "<notready-2>", "", ""})
+            .build();
+        Template second = new Template.Builder("second")
+            .withBase(new String[]{"", "", "", "<notready-1>"})
+            .build();
+        RenderContext context = new RenderContext(arena);
+
+        subject.render(first, context);
+        String[] result = subject.render(second, context);
+
+        String[] expected = {"", "", "", "garbagemule"};
+        assertThat(result, equalTo(expected));
+        verify(arena, times(1)).getNonreadyPlayers();
+    }
+
     private Arena arena(String name, boolean running, boolean lobby) {
         Arena arena = mock(Arena.class);
         when(arena.configName()).thenReturn(name);
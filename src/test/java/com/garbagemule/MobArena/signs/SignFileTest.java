@@ -12,25 +12,32 @@ import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.logging.Logger;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.*;
+import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.StrictStubs.class)
 public class SignFileTest {
 
     Path file;
+    SignSerializer serializer;
+    Logger log;
 
     SignFile subject;
 
     @Before
     public void setup() throws IOException {
         file = Files.createTempFile("SignFileTest-", ".tmp");
-        subject = new SignFile(file);
+        serializer = new SignSerializer();
+        log = mock(Logger.class);
+        subject = new SignFile(file, serializer, log);
     }
 
     @After
     public void teardown() throws IOException {
+        subject.close();
         Files.delete(file);
     }
 
@@ -95,4 +102,69 @@ public class SignFileTest {
         assertThat(result, equalTo(Collections.singletonList(line2)));
     }
 
+    @Test
+    public void appendReturnsConflictingLine() throws IOException {
+        String line1 = "cafebabe-ea75-dead-beef-deadcafebabe;world;1;2;3;castle;join;status";
+        String line2 = "cafebabe-ea75-dead-beef-deadcafebabe;world;1;2;3;jungle;leave;out";
+
+        subject.append(line1);
+        subject.save();
+        String result = subject.append(line2);
+        subject.save();
+
+        assertThat(result, equalTo(line1));
+        assertThat(subject.lines(), equalTo(Collections.singletonList(line2)));
+    }
+
+    @Test
+    public void eraseReturnsNullIfNoMatch() throws IOException {
+        String line = "cafebabe-ea75-dead-beef-deadcafebabe;world;1;2;3;castle;join;status";
+
+        String result = subject.erase(line);
+
+        assertThat(result, nullValue());
+    }
+
+    @Test
+    public void changesSurviveReload() throws IOException {
+        String line1 = "cafebabe-ea75-dead-beef-deadcafebabe;world;1;2;3;castle;join;status";
+        String line2 = "cafebabe-ea75-dead-beef-deadcafebabe;world;4;5;6;castle;leave;status";
+        String line3 = "cafebabe-ea75-dead-beef-deadcafebabe;world;4;5;6;jungle;info;status";
+
+        subject.append(line1);
+        subject.append(line2);
+        subject.save();
+        subject.erase(line1);
+        subject.save();
+        subject.append(line3);
+        subject.save();
+        subject.close();
+        SignFile reloaded = new SignFile(file, serializer, log);
+        List<String> result = reloaded.lines();
+        reloaded.close();
+
+        assertThat(result, equalTo(Collections.singletonList(line3)));
+    }
+
+    @Test
+    public void compactionKeepsOnlyLiveLines() throws IOException {
+        String prefix = "cafebabe-ea75-dead-beef-deadcafebabe;world;";
+        String live = prefix + "0;0;0;castle;join;status";
+
+        subject.append(live);
+        subject.save();
+        for (int i = 1; i <= 100; i++) {
+            String line = prefix + i + ";0;0;castle;join;status";
+            subject.append(line);
+            subject.save();
+            subject.erase(line);
+            subject.save();
+        }
+        subject.close();
+        List<String> result = Files.readAllLines(file);
+
+        assertThat(result.size() < 100, equalTo(true));
+        assertThat(result, hasItem(live));
+    }
+
 }
@@ -104,6 +104,30 @@ public class SignRendererTest {
         verify(target).setLine(3, lines[3]);
     }
 
+    @Test
+    public void skipsSignUpdateIfLinesAreUnchanged() {
+        Location location = mock(Location.class);
+        Block block = mock(Block.class);
+        Sign target = mock(Sign.class);
+        when(location.getBlock()).thenReturn(block);
+        when(block.getState()).thenReturn(target);
+        String templateId = "cool-sign";
+        Template template = mock(Template.class);
+        String arenaId = "castle";
+        Arena arena = mock(Arena.class);
+        when(templateStore.findById(templateId)).thenReturn(Optional.of(template));
+        when(arenaMaster.getArenaWithName(arenaId)).thenReturn(arena);
+        when(rendersTemplate.render(template, arena))
+            .thenReturn(new String[]{"this", "is", "a", "sign"});
+        ArenaSign sign = new ArenaSign(location, templateId, arenaId, "join");
+
+        subject.render(sign);
+        subject.render(sign);
+
+        verify(target, times(1)).update();
+        verify(location, times(1)).getBlock();
+    }
+
     @Test
     public void rendersErrorMessageInEventIfTemplateNotFound() {
         String templateId = "cool-sign";
@@ -75,6 +75,38 @@ public class SignStoreTest {
         assertThat(result, hasItem(sign2));
     }
 
+    @Test
+    public void findByArenaIdExcludesRemovedSigns() {
+        World world = mock(World.class);
+        Location location1 = mock(Location.class);
+        Location location2 = mock(Location.class);
+        when(location2.getWorld()).thenReturn(world);
+        ArenaSign sign1 = new ArenaSign(location1, "cool-sign", "castle", "join");
+        ArenaSign sign2 = new ArenaSign(location2, "lame-sign", "castle", "leave");
+
+        subject.add(sign1);
+        subject.add(sign2);
+        subject.removeByLocation(location1);
+        subject.removeByWorld(world);
+        List<ArenaSign> result = subject.findByArenaId("castle");
+
+        assertThat(result.isEmpty(), equalTo(true));
+    }
+
+    @Test
+    public void findByArenaIdReplacesSignAtSameLocation() {
+        Location location = mock(Location.class);
+        ArenaSign sign1 = new ArenaSign(location, "cool-sign", "castle", "join");
+        ArenaSign sign2 = new ArenaSign(location, "lame-sign", "castle", "leave");
+
+        subject.add(sign1);
+        subject.add(sign2);
+        List<ArenaSign> result = subject.findByArenaId("castle");
+
+        assertThat(result.size(), equalTo(1));
+        assertThat(result, hasItem(sign2));
+    }
+
     @Test
     public void removeReturnsNullIfSignDoesNotExist() {
         Location location = mock(Location.class);
@@ -6,8 +6,6 @@ import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.List;
 import java.util.logging.Logger;
 
 import static org.mockito.Mockito.*;
@@ -47,40 +45,17 @@ public class SignWriterTest {
     }
 
     @Test
-    public void writeCallsEraseOnConflicts() throws IOException {
+    public void writeLogsWarningOnConflict() throws IOException {
         ArenaSign sign = new ArenaSign(null, "cool-sign", "castle", "join");
         String line = "some arbitrary serialization";
-        String c1 = "some conflicting line";
-        String c2 = "some non-conflicting line";
-        String c3 = "some other conflicting line";
+        String conflict = "some conflicting line";
         when(serializer.serialize(sign)).thenReturn(line);
-        when(serializer.equal(c1, line)).thenReturn(true);
-        when(serializer.equal(c2, line)).thenReturn(false);
-        when(serializer.equal(c3, line)).thenReturn(true);
-        when(file.lines()).thenReturn(Arrays.asList(c1, c2, c3));
+        when(file.append(line)).thenReturn(conflict);
 
         subject.write(sign);
 
-        verify(file).erase(c1);
-        verify(file).erase(c3);
-    }
-
-    @Test
-    public void writeLogsWarningOnConflicts() throws IOException {
-        ArenaSign sign = new ArenaSign(null, "cool-sign", "castle", "join");
-        String line = "some arbitrary serialization";
-        String c1 = "some conflicting line";
-        String c2 = "some non-conflicting line";
-        String c3 = "some other conflicting line";
-        when(serializer.serialize(sign)).thenReturn(line);
-        when(serializer.equal(c1, line)).thenReturn(true);
-        when(serializer.equal(c2, line)).thenReturn(false);
-        when(serializer.equal(c3, line)).thenReturn(true);
-        when(file.lines()).thenReturn(Arrays.asList(c1, c2, c3));
-
-        subject.write(sign);
-
-        verify(log, times(2)).warning(anyString());
+        verify(log).warning(anyString());
+        verify(file).save();
     }
 
     @Test
@@ -95,20 +70,16 @@ public class SignWriterTest {
     }
 
     @Test
-    public void eraseCallsEraseWithIdentifiedLineOnly() throws IOException {
+    public void eraseCallsEraseWithSerializedSign() throws IOException {
         ArenaSign sign = new ArenaSign(null, "cool-sign", "castle", "join");
         String line = "right-id;wrong-name;some other stuff";
-        String c1 = "wrong-id;wrong-name;some stuff";
-        String c2 = "right-id;right-name;some other stuff";
-        String c3 = "wrong-id;wrong-name;some more stuff";
+        String stored = "right-id;right-name;some other stuff";
         when(serializer.serialize(sign)).thenReturn(line);
-        when(serializer.equal(anyString(), anyString())).thenReturn(false);
-        when(serializer.equal(c2, line)).thenReturn(true);
-        when(file.lines()).thenReturn(Arrays.asList(c1, c2, c3));
+        when(file.erase(line)).thenReturn(stored);
 
         subject.erase(sign);
 
-        verify(file).erase(c2);
+        verify(file).erase(line);
         verify(file).save();
         verifyNoMoreInteractions(file);
     }
@@ -117,13 +88,9 @@ public class SignWriterTest {
     public void successfulEraseLogsNothing() throws IOException {
         ArenaSign sign = new ArenaSign(null, "cool-sign", "castle", "join");
         String line = "right-id;wrong-name;some other stuff";
-        String candiate1 = "wrong-id;wrong-name;some stuff";
-        String candiate2 = "right-id;right-name;some other stuff";
-        String candiate3 = "wrong-id;wrong-name;some more stuff";
+        String stored = "right-id;right-name;some other stuff";
         when(serializer.serialize(sign)).thenReturn(line);
-        when(serializer.equal(anyString(), anyString())).thenReturn(false);
-        when(serializer.equal(candiate2, line)).thenReturn(true);
-        when(file.lines()).thenReturn(Arrays.asList(candiate1, candiate2, candiate3));
+        when(file.erase(line)).thenReturn(stored);
 
         subject.erase(sign);
 
@@ -134,24 +101,20 @@ public class SignWriterTest {
     public void eraseBailsOnNoMatch() throws IOException {
         ArenaSign sign = new ArenaSign(null, "cool-sign", "castle", "join");
         String line = "right-id;right-name;some right stuff";
-        List<String> candidates = Arrays.asList("a", "b", "c");
         when(serializer.serialize(sign)).thenReturn(line);
-        when(serializer.equal(anyString(), anyString())).thenReturn(false);
-        when(file.lines()).thenReturn(candidates);
+        when(file.erase(line)).thenReturn(null);
 
         subject.erase(sign);
 
-        verify(file, never()).erase(anyString());
+        verify(file, never()).save();
     }
 
     @Test
     public void eraseLogsWarningOnNoMatch() throws IOException {
         ArenaSign sign = new ArenaSign(null, "cool-sign", "castle", "join");
         String line = "right-id;right-name;some right stuff";
-        List<String> candidates = Arrays.asList("a", "b", "c");
         when(serializer.serialize(sign)).thenReturn(line);
-        when(serializer.equal(anyString(), anyString())).thenReturn(false);
-        when(file.lines()).thenReturn(candidates);
+        when(file.erase(line)).thenReturn(null);
 
         subject.erase(sign);
 
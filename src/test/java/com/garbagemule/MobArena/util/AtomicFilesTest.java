@@ -0,0 +1,82 @@
+package com.garbagemule.MobArena.util;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.fail;
+
+public class AtomicFilesTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+    private Path tmp;
+
+    @Before
+    public void setup() {
+        file = folder.getRoot().toPath().resolve("data").resolve("file.txt");
+        tmp = file.resolveSibling("file.txt.tmp");
+    }
+
+    @Test
+    public void createsMissingFile() throws IOException {
+        AtomicFiles.write(file, Arrays.asList("a", "b"));
+
+        assertThat(Files.readAllLines(file, StandardCharsets.UTF_8), contains("a", "b"));
+        assertThat(Files.exists(tmp), equalTo(false));
+    }
+
+    @Test
+    public void replacesExistingFile() throws IOException {
+        AtomicFiles.write(file, Arrays.asList("a", "b"));
+
+        AtomicFiles.write(file, Collections.singletonList("c"));
+
+        assertThat(Files.readAllLines(file, StandardCharsets.UTF_8), contains("c"));
+    }
+
+    @Test
+    public void contentsMayCloseTheStream() throws IOException {
+        AtomicFiles.write(file, raw -> {
+            try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(raw))) {
+                out.writeInt(42);
+            }
+        });
+
+        assertThat(Files.size(file) > 0, equalTo(true));
+    }
+
+    @Test
+    public void failureKeepsOldContentsAndRemovesTemporaryFile() throws IOException {
+        AtomicFiles.write(file, Collections.singletonList("old"));
+
+        try {
+            AtomicFiles.write(file, out -> {
+                out.write("new".getBytes(StandardCharsets.UTF_8));
+                throw new IOException("disk full");
+            });
+            fail("expected an IOException");
+        } catch (IOException e) {
+            assertThat(e.getMessage(), equalTo("disk full"));
+        }
+
+        assertThat(Files.readAllLines(file, StandardCharsets.UTF_8), contains("old"));
+        assertThat(Files.exists(tmp), equalTo(false));
+    }
+
+}
@@ -0,0 +1,236 @@
+package com.garbagemule.MobArena.util.inventory;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class InventoryJournalTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path dir;
+    private Path file;
+    private Logger log;
+    private List<InventoryJournal> journals;
+
+    private Player alice;
+    private Player bob;
+
+    @Before
+    public void setup() {
+        dir = folder.getRoot().toPath().resolve("data");
+        file = dir.resolve("inventories.dat");
+        log = mock(Logger.class);
+        journals = new ArrayList<>();
+
+        alice = player();
+        bob = player();
+    }
+
+    @After
+    public void teardown() {
+        journals.forEach(InventoryJournal::close);
+    }
+
+    @Test
+    public void replaysPut() throws IOException {
+        InventoryJournal subject = open();
+        subject.put(alice, new ItemStack[4]);
+        assertThat(subject.flush(), equalTo(true));
+
+        InventoryJournal reloaded = open();
+
+        assertThat(reloaded.restore(alice), equalTo(true));
+        verify(alice.getInventory()).setContents(any(ItemStack[].class));
+    }
+
+    @Test
+    public void replaysTombstone() throws IOException {
+        InventoryJournal subject = open();
+        subject.put(alice, new ItemStack[4]);
+        subject.put(bob, new ItemStack[4]);
+        subject.remove(alice);
+        assertThat(subject.flush(), equalTo(true));
+
+        InventoryJournal reloaded = open();
+
+        assertThat(reloaded.restore(alice), equalTo(false));
+        assertThat(reloaded.restore(bob), equalTo(true));
+    }
+
+    @Test
+    public void dropsTornTail() throws IOException {
+        InventoryJournal subject = open();
+        subject.put(alice, new ItemStack[4]);
+        subject.flush();
+        subject.put(bob, new ItemStack[4]);
+        subject.flush();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        InventoryJournal reloaded = open();
+
+        assertThat(reloaded.restore(alice), equalTo(true));
+        assertThat(reloaded.restore(bob), equalTo(false));
+    }
+
+    @Test
+    public void dropsTailWithBadChecksum() throws IOException {
+        InventoryJournal subject = open();
+        subject.put(alice, new ItemStack[4]);
+        subject.flush();
+        subject.put(bob, new ItemStack[4]);
+        subject.flush();
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(file, bytes);
+        InventoryJournal reloaded = open();
+
+        assertThat(reloaded.restore(alice), equalTo(true));
+        assertThat(reloaded.restore(bob), equalTo(false));
+        verify(log).warning("Skipping corrupt tail of inventory backup journal");
+    }
+
+    @Test
+    public void compactsOnLoad() throws IOException {
+        InventoryJournal single = open();
+        single.put(alice, new ItemStack[4]);
+        single.flush();
+        long expected = Files.size(file);
+        single.remove(alice);
+        single.flush();
+
+        InventoryJournal subject = open();
+        subject.put(alice, new ItemStack[4]);
+        subject.put(bob, new ItemStack[4]);
+        subject.put(alice, new ItemStack[4]);
+        subject.remove(bob);
+        subject.flush();
+        assertThat(Files.size(file) > expected, equalTo(true));
+
+        open();
+
+        assertThat(Files.size(file), equalTo(expected));
+        assertThat(Files.exists(dir.resolve("inventories.dat.tmp")), equalTo(false));
+    }
+
+    @Test
+    public void flushFailsUntilWriteSucceeds() throws IOException {
+        // A plain file where the data folder should be makes every write fail
+        Files.createFile(dir);
+        InventoryJournal subject = new InventoryJournal(dir, log);
+        journals.add(subject);
+        subject.put(alice, new ItemStack[4]);
+
+        assertThat(subject.flush(), equalTo(false));
+        assertThat(subject.flush(), equalTo(false));
+
+        Files.delete(dir);
+
+        assertThat(subject.flush(), equalTo(true));
+        InventoryJournal reloaded = open();
+        assertThat(reloaded.restore(alice), equalTo(true));
+    }
+
+    @Test
+    public void badItemOnlyDropsItsOwnBackup() throws IOException {
+        ItemStack broken = mock(ItemStack.class);
+        when(broken.clone()).thenReturn(broken);
+        when(broken.serialize()).thenThrow(new IllegalStateException("broken"));
+        InventoryJournal subject = open();
+        subject.put(bob, new ItemStack[4]);
+        subject.flush();
+
+        subject.put(bob, new ItemStack[]{broken});
+        subject.put(alice, new ItemStack[4]);
+
+        assertThat(subject.flush(), equalTo(false));
+        InventoryJournal reloaded = open();
+        assertThat(reloaded.restore(alice), equalTo(true));
+        assertThat(reloaded.restore(bob), equalTo(false));
+
+        // The player left, so there is nothing left to back up
+        subject.remove(bob);
+        assertThat(subject.flush(), equalTo(true));
+    }
+
+    @Test
+    public void writerPicksUpRecordsQueuedDuringDrain() throws Exception {
+        CountDownLatch draining = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ItemStack slow = mock(ItemStack.class);
+        when(slow.clone()).thenReturn(slow);
+        when(slow.serialize()).thenAnswer(call -> {
+            draining.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            throw new IllegalStateException("broken");
+        });
+        InventoryJournal subject = open();
+
+        // Bob is queued while the writer is still busy with Alice
+        subject.put(alice, new ItemStack[]{slow});
+        assertThat(draining.await(5, TimeUnit.SECONDS), equalTo(true));
+        subject.put(bob, new ItemStack[4]);
+        release.countDown();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (subject.pending() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(subject.pending(), equalTo(0));
+        InventoryJournal reloaded = open();
+        assertThat(reloaded.restore(bob), equalTo(true));
+    }
+
+    @Test
+    public void restoreWithoutBackupDoesNothing() throws IOException {
+        InventoryJournal subject = open();
+
+        assertThat(subject.restore(alice), equalTo(false));
+        verify(alice.getInventory(), never()).setContents(any(ItemStack[].class));
+    }
+
+    private InventoryJournal open() throws IOException {
+        InventoryJournal journal = new InventoryJournal(dir, log);
+        journals.add(journal);
+        journal.load();
+        return journal;
+    }
+
+    private static Player player() {
+        Player player = mock(Player.class);
+        when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        PlayerInventory inventory = mock(PlayerInventory.class);
+        when(player.getInventory()).thenReturn(inventory);
+        return player;
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.garbagemule.MobArena.waves;
+
+import com.garbagemule.MobArena.MobArena;
+import com.garbagemule.MobArena.formula.FormulaMacros;
+import com.garbagemule.MobArena.formula.FormulaManager;
+import com.garbagemule.MobArena.framework.Arena;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.logging.Logger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class WaveManagerTest {
+
+    private ConfigurationSection section;
+    private Arena arena;
+
+    @Before
+    public void setup() {
+        MobArena plugin = mock(MobArena.class);
+        when(plugin.getFormulaManager()).thenReturn(FormulaManager.createDefault());
+        when(plugin.getFormulaMacros()).thenReturn(mock(FormulaMacros.class));
+        when(plugin.getLogger()).thenReturn(Logger.getLogger("WaveManagerTest"));
+
+        arena = mock(Arena.class);
+        when(arena.getPlugin()).thenReturn(plugin);
+        when(arena.configName()).thenReturn("test");
+
+        MemoryConfiguration config = new MemoryConfiguration();
+        config.set("settings.final-wave", 0);
+        section = config.createSection("waves");
+        recurrent("every", 1, 1, 1);
+        recurrent("third", 2, 3, 3);
+        recurrent("fourth", 3, 4, 4);
+        single("boss", 5);
+    }
+
+    @Test
+    public void picksHighestPriorityRecurrentWave() {
+        WaveManager subject = new WaveManager(arena, section);
+        subject.reset();
+
+        assertThat(names(subject, 13), equalTo(
+            "every,every,third,fourth,boss,third,every,fourth,third,every,every,fourth,every"
+        ));
+    }
+
+    @Test
+    public void getNextMatchesNext() {
+        WaveManager subject = new WaveManager(arena, section);
+        subject.reset();
+
+        for (int i = 0; i < 13; i++) {
+            String expected = subject.getNext().getName();
+            assertThat(subject.next().getName(), equalTo(expected));
+        }
+    }
+
+    @Test
+    public void resetStartsOverWithSingleWaves() {
+        WaveManager subject = new WaveManager(arena, section);
+        subject.reset();
+        names(subject, 13);
+
+        subject.reset();
+
+        assertThat(subject.getWaveNumber(), equalTo(0));
+        assertThat(names(subject, 5), equalTo("every,every,third,fourth,boss"));
+    }
+
+    @Test
+    public void resetPicksUpChangesAfterInvalidate() {
+        WaveManager subject = new WaveManager(arena, section);
+        subject.reset();
+        names(subject, 3);
+
+        recurrent("second", 4, 2, 2);
+        subject.reset();
+        assertThat(names(subject, 2), equalTo("every,every"));
+
+        subject.invalidate();
+        subject.reset();
+        assertThat(names(subject, 2), equalTo("every,second"));
+    }
+
+    private void recurrent(String name, int priority, int frequency, int wave) {
+        ConfigurationSection node = section.createSection("recurrent." + name);
+        node.set("type", "default");
+        node.set("priority", priority);
+        node.set("frequency", frequency);
+        node.set("wave", wave);
+        node.set("monsters.zombie", 1);
+    }
+
+    private void single(String name, int wave) {
+        ConfigurationSection node = section.createSection("single." + name);
+        node.set("type", "default");
+        node.set("wave", wave);
+        node.set("monsters.zombie", 1);
+    }
+
+    private static String names(WaveManager subject, int count) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                result.append(",");
+            }
+            result.append(subject.next().getName());
+        }
+        return result.toString();
+    }
+
+}